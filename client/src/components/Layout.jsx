@@ -2,7 +2,8 @@ import React, { useState } from 'react'
 import { Layout as AntLayout, Menu, Button } from 'antd'
 import { useNavigate, useLocation } from 'react-router-dom'
 import { HomeOutlined, ShoppingOutlined, UserOutlined, LoginOutlined, LogoutOutlined } from '@ant-design/icons'
-import { isAuthenticated, removeToken } from '../utils/auth'
+import api from '../utils/api'
+import { getRefreshToken, isAuthenticated, removeToken } from '../utils/auth'
 import './Layout.css'
 
 const { Header, Content, Footer } = AntLayout
@@ -12,7 +13,13 @@ const Layout = ({ children }) => {
   const location = useLocation()
   const authenticated = isAuthenticated()
 
-  const handleLogout = () => {
+  const handleLogout = async () => {
+    try {
+      // 吊销访问Token和刷新Token，失败时仍然在本地登出
+      await api.post('/auth/logout', { refreshToken: getRefreshToken() })
+    } catch (error) {
+      console.error('登出错误:', error)
+    }
     removeToken()
     navigate('/')
     window.location.reload()
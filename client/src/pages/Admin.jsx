@@ -14,7 +14,10 @@ const Admin = () => {
   const navigate = useNavigate()
   const [users, setUsers] = useState([])
   const [products, setProducts] = useState([])
+  const [productCursor, setProductCursor] = useState(null)
   const [orders, setOrders] = useState([])
+  const [orderCursor, setOrderCursor] = useState(null)
+  const [ordersLoading, setOrdersLoading] = useState(false)
   const [loading, setLoading] = useState(false)
   const [userModalVisible, setUserModalVisible] = useState(false)
   const [productModalVisible, setProductModalVisible] = useState(false)
@@ -51,11 +54,17 @@ const Admin = () => {
     }
   }
 
-  const fetchProducts = async () => {
+  // 产品按创建时间倒序分页加载，传入游标时追加下一页
+  const fetchProducts = async (after = null) => {
     setLoading(true)
     try {
-      const data = await api.get('/products')
-      setProducts(data)
+      const params = { limit: 100 }
+      if (after) {
+        params.after = after
+      }
+      const data = await api.get('/products/page', { params })
+      setProducts(after ? (prev) => [...prev, ...data.items] : data.items)
+      setProductCursor(data.hasMore ? data.nextCursor : null)
     } catch (error) {
       console.error('加载产品列表失败:', error)
       message.error(error.message || '加载产品列表失败')
@@ -64,13 +73,22 @@ const Admin = () => {
     }
   }
 
-  const fetchOrders = async () => {
+  // 订单按创建时间倒序分页加载，传入游标时追加下一页
+  const fetchOrders = async (after = null) => {
+    setOrdersLoading(true)
     try {
-      const data = await api.get('/orders')
-      setOrders(data)
+      const params = { limit: 50 }
+      if (after) {
+        params.after = after
+      }
+      const data = await api.get('/orders/page', { params })
+      setOrders(after ? (prev) => [...prev, ...data.items] : data.items)
+      setOrderCursor(data.hasMore ? data.nextCursor : null)
     } catch (error) {
       console.error('加载订单列表失败:', error)
       message.error(error.message || '加载订单列表失败')
+    } finally {
+      setOrdersLoading(false)
     }
   }
 
@@ -156,17 +174,29 @@ const Admin = () => {
     setUserModalVisible(true)
   }
 
-  const handleEditProduct = (product) => {
-    setEditingProduct(product)
-    productForm.setFieldsValue(product)
-    setProductModalVisible(true)
+  // 分页列表只含产品摘要，编辑前加载包含描述的完整产品
+  const handleEditProduct = async (product) => {
+    try {
+      const detail = await api.get(`/products/${product.id}`)
+      setEditingProduct(detail)
+      productForm.setFieldsValue(detail)
+      setProductModalVisible(true)
+    } catch (error) {
+      console.error('加载产品详情失败:', error)
+      message.error(error.message || '加载产品详情失败')
+    }
   }
 
-  const handleUpdateOrderStatus = async (id, status) => {
+  // 携带版本号更新，订单已被他人修改时后端拒绝并提示刷新
+  const handleUpdateOrderStatus = async (record, status) => {
     try {
-      await api.put(`/orders/${id}/status`, null, { params: { status } })
+      const updated = await api.put(`/orders/${record.id}/status`, null, {
+        params: { status, version: record.version }
+      })
       message.success('订单状态更新成功')
-      fetchOrders()
+      setOrders((prev) => prev.map((order) => (
+        order.id === record.id ? { ...order, status: updated.status, version: updated.version } : order
+      )))
     } catch (error) {
       console.error('更新订单状态失败:', error)
       const errorMessage = error.message || '更新失败'
@@ -268,7 +298,7 @@ const Admin = () => {
       render: (_, record) => (
         <Select
           value={record.status}
-          onChange={(value) => handleUpdateOrderStatus(record.id, value)}
+          onChange={(value) => handleUpdateOrderStatus(record, value)}
           style={{ width: 120 }}
         >
           <Option value="PENDING">待处理</Option>
@@ -299,7 +329,15 @@ const Admin = () => {
             dataSource={products}
             rowKey="id"
             loading={loading}
+            pagination={false}
           />
+          {productCursor && (
+            <div style={{ marginTop: 16, textAlign: 'center' }}>
+              <Button onClick={() => fetchProducts(productCursor)} loading={loading}>
+                加载更多
+              </Button>
+            </div>
+          )}
         </TabPane>
         <TabPane tab="用户管理" key="users">
           <div style={{ marginBottom: 16 }}>
@@ -322,7 +360,16 @@ const Admin = () => {
             columns={orderColumns}
             dataSource={orders}
             rowKey="id"
+            loading={ordersLoading}
+            pagination={false}
           />
+          {orderCursor && (
+            <div style={{ marginTop: 16, textAlign: 'center' }}>
+              <Button onClick={() => fetchOrders(orderCursor)} loading={ordersLoading}>
+                加载更多
+              </Button>
+            </div>
+          )}
         </TabPane>
       </Tabs>
 
@@ -393,6 +440,9 @@ const Admin = () => {
           <Form.Item name="price" label="价格" rules={[{ required: true }]}>
             <InputNumber min={0} precision={2} style={{ width: '100%' }} />
           </Form.Item>
+          <Form.Item name="stock" label="库存" extra="留空表示不限库存；编辑时留空保持当前库存不变">
+            <InputNumber min={0} precision={0} style={{ width: '100%' }} />
+          </Form.Item>
           <Form.Item name="description" label="描述">
             <TextArea rows={4} />
           </Form.Item>
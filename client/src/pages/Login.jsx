@@ -14,9 +14,9 @@ const Login = () => {
       // api拦截器会自动提取ApiResponse的data字段
       const response = await api.post('/auth/login', values)
       
-      // response 现在直接是 AuthResponse 对象 { token, username, role }
+      // response 现在直接是 AuthResponse 对象 { token, refreshToken, expiresIn, username, role }
       if (response && response.token) {
-        setToken(response.token)
+        setToken(response.token, response.refreshToken)
         message.success(`登录成功！欢迎，${response.username || '用户'}`)
         
         // 根据角色跳转
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react'
+import React, { useState, useEffect, useRef } from 'react'
 import { useParams, useNavigate } from 'react-router-dom'
 import { Card, Image, Typography, Button, Form, Input, InputNumber, message, Spin, Divider } from 'antd'
 import api from '../utils/api'
@@ -13,6 +13,8 @@ const ProductDetail = () => {
   const [product, setProduct] = useState(null)
   const [loading, setLoading] = useState(false)
   const [form] = Form.useForm()
+  // 同一次提交的重试复用幂等键，提交成功后更换
+  const idempotencyKey = useRef(crypto.randomUUID())
 
   useEffect(() => {
     fetchProduct()
@@ -44,7 +46,10 @@ const ProductDetail = () => {
         contactPhone: values.contactPhone,
         contactEmail: values.contactEmail,
         requirements: values.requirements
+      }, {
+        headers: { 'Idempotency-Key': idempotencyKey.current }
       })
+      idempotencyKey.current = crypto.randomUUID()
       message.success('订单提交成功！我们会尽快联系您')
       form.resetFields()
     } catch (error) {
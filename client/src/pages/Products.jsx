@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react'
-import { Card, Row, Col, Input, Select, Spin, message, Image } from 'antd'
+import { Button, Card, Row, Col, Input, Select, Spin, message, Image } from 'antd'
 import { useNavigate } from 'react-router-dom'
 import api from '../utils/api'
 import './Products.css'
@@ -7,31 +7,41 @@ import './Products.css'
 const { Search } = Input
 const { Option } = Select
 
+const PAGE_LIMIT = 20
+
 const Products = () => {
   const [products, setProducts] = useState([])
   const [loading, setLoading] = useState(false)
   const [categories, setCategories] = useState([])
   const [selectedCategory, setSelectedCategory] = useState('')
+  const [keyword, setKeyword] = useState('')
+  const [cursor, setCursor] = useState(null)
   const navigate = useNavigate()
 
   useEffect(() => {
     fetchProducts()
-  }, [selectedCategory])
+  }, [selectedCategory, keyword])
 
-  const fetchProducts = async () => {
+  // 按游标分页加载产品，传入游标时追加下一页；分类选项取自已加载的产品
+  const fetchProducts = async (after = null) => {
     setLoading(true)
     try {
-      const params = {}
+      const params = { limit: PAGE_LIMIT }
       if (selectedCategory) {
         params.category = selectedCategory
-      } else {
+      } else if (!keyword) {
         params.available = true
       }
-      const data = await api.get('/products', { params })
-      setProducts(data)
-      
-      const uniqueCategories = [...new Set(data.map(p => p.category))]
-      setCategories(uniqueCategories)
+      if (keyword) {
+        params.keyword = keyword
+      }
+      if (after) {
+        params.after = after
+      }
+      const data = await api.get('/products/page', { params })
+      setProducts(after ? (prev) => [...prev, ...data.items] : data.items)
+      setCursor(data.hasMore ? data.nextCursor : null)
+      setCategories((prev) => [...new Set([...prev, ...data.items.map(p => p.category)])])
     } catch (error) {
       console.error('加载产品失败:', error)
       message.error(error.message || '加载产品失败')
@@ -40,21 +50,8 @@ const Products = () => {
     }
   }
 
-  const handleSearch = async (value) => {
-    if (!value) {
-      fetchProducts()
-      return
-    }
-    setLoading(true)
-    try {
-      const data = await api.get('/products', { params: { keyword: value } })
-      setProducts(data)
-    } catch (error) {
-      console.error('搜索失败:', error)
-      message.error(error.message || '搜索失败')
-    } finally {
-      setLoading(false)
-    }
+  const handleSearch = (value) => {
+    setKeyword(value.trim())
   }
 
   return (
@@ -119,6 +116,11 @@ const Products = () => {
             </Col>
           ))}
         </Row>
+        {cursor && (
+          <div className="products-load-more">
+            <Button onClick={() => fetchProducts(cursor)} loading={loading}>加载更多</Button>
+          </div>
+        )}
       </Spin>
     </div>
   )
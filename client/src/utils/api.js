@@ -1,4 +1,5 @@
 import axios from 'axios'
+import { getRefreshToken, getToken, removeToken, setToken } from './auth'
 
 const api = axios.create({
   baseURL: '/api',
@@ -10,7 +11,7 @@ const api = axios.create({
 // 请求拦截器
 api.interceptors.request.use(
   (config) => {
-    const token = localStorage.getItem('token')
+    const token = getToken()
     if (token) {
       config.headers.Authorization = `Bearer ${token}`
     }
@@ -21,6 +22,42 @@ api.interceptors.request.use(
   }
 )
 
+// 正在进行的刷新请求，多个请求同时遇到访问Token过期时只刷新一次（刷新Token只能使用一次）
+let refreshing = null
+
+const refreshAccessToken = () => {
+  if (!refreshing) {
+    // 不经过拦截器，避免刷新失败时递归刷新
+    refreshing = axios.post('/api/auth/refresh', { refreshToken: getRefreshToken() })
+      .then((response) => {
+        const { token, refreshToken } = response.data.data
+        setToken(token, refreshToken)
+        return token
+      })
+      .finally(() => {
+        refreshing = null
+      })
+  }
+  return refreshing
+}
+
+// 访问Token过期或被吊销：401，或响应头 WWW-Authenticate 标明 invalid_token
+const isTokenRejected = (error) => {
+  const { response, config } = error
+  if (!response || !config || config._retried || !getToken() || !getRefreshToken()) {
+    return false
+  }
+  if (config.url && config.url.startsWith('/auth/')) {
+    return false
+  }
+  return response.status === 401 || /invalid_token/.test(response.headers['www-authenticate'] || '')
+}
+
+const redirectToLogin = () => {
+  removeToken()
+  window.location.href = '/login'
+}
+
 // 响应拦截器
 api.interceptors.response.use(
   (response) => {
@@ -40,7 +77,20 @@ api.interceptors.response.use(
     // 兼容非统一格式的响应（直接返回原数据）
     return apiResponse
   },
-  (error) => {
+  async (error) => {
+    // 访问Token过期时用刷新Token换取新的Token，重试一次原请求
+    if (isTokenRejected(error)) {
+      error.config._retried = true
+      try {
+        const token = await refreshAccessToken()
+        error.config.headers.Authorization = `Bearer ${token}`
+        return api(error.config)
+      } catch (refreshError) {
+        redirectToLogin()
+        return Promise.reject(new Error('登录已过期，请重新登录'))
+      }
+    }
+    
     // 处理 HTTP 错误响应
     if (error.response) {
       const apiResponse = error.response.data
@@ -50,8 +100,7 @@ api.interceptors.response.use(
         const errorMessage = apiResponse.message || '请求失败'
         
         if (apiResponse.code === 401) {
-          localStorage.removeItem('token')
-          window.location.href = '/login'
+          redirectToLogin()
         }
         
         return Promise.reject(new Error(errorMessage))
@@ -59,8 +108,7 @@ api.interceptors.response.use(
       
       // 处理标准 HTTP 错误
       if (error.response.status === 401) {
-        localStorage.removeItem('token')
-        window.location.href = '/login'
+        redirectToLogin()
       }
     }
     
@@ -1,16 +1,23 @@
-export const setToken = (token) => {
+export const setToken = (token, refreshToken) => {
   localStorage.setItem('token', token)
+  if (refreshToken) {
+    localStorage.setItem('refreshToken', refreshToken)
+  }
 }
 
 export const getToken = () => {
   return localStorage.getItem('token')
 }
 
+export const getRefreshToken = () => {
+  return localStorage.getItem('refreshToken')
+}
+
 export const removeToken = () => {
   localStorage.removeItem('token')
+  localStorage.removeItem('refreshToken')
 }
 
 export const isAuthenticated = () => {
   return !!getToken()
 }
-
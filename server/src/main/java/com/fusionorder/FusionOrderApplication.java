@@ -2,14 +2,16 @@ package com.fusionorder;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * FusionOrder 应用主类
- * SpringBoot 应用程序的入口点
+ * SpringBoot 应用程序的入口点，启用定时任务（订单异步受理写库等）
  * 
  * @author FusionOrder Team
  */
 @SpringBootApplication
+@EnableScheduling
 public class FusionOrderApplication {
     
     /**
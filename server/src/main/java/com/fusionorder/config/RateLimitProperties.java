@@ -0,0 +1,83 @@
+package com.fusionorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置
+ * 按路由配置每个客户端的令牌桶，请求按顺序匹配第一条路由，未匹配的请求不限流
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最多跟踪的客户端令牌桶数，超出时淘汰最久未使用的
+     */
+    private int maximumClients = 100000;
+
+    /**
+     * 令牌桶空闲保留时间（秒），每次请求都会顺延，超过此时间没有请求时重新从满桶开始
+     */
+    private long idleTtlSeconds = 600;
+
+    /**
+     * 是否以 X-Forwarded-For 识别客户端，只应在可信反向代理之后开启
+     * 从最右侧的地址开始向左跳过可信代理，取第一个不是可信代理的地址；左侧的地址可由客户端伪造，不会被采用
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * 可信代理的地址或网段（CIDR，如 10.0.0.0/8），为空时取 X-Forwarded-For 最右侧的地址
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * 限流路由
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * 限流路由
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * 路由名称，不同路由的令牌桶相互独立
+         */
+        private String name;
+
+        /**
+         * 路径模式（Ant风格，不含context-path），如 /orders/**
+         */
+        private String pattern;
+
+        /**
+         * 限流的HTTP方法，为空表示全部方法
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 桶容量，即允许的突发请求数
+         */
+        private int capacity;
+
+        /**
+         * 每秒补充的令牌数，即持续请求速率
+         */
+        private double refillPerSecond;
+    }
+}
@@ -1,20 +1,22 @@
 package com.fusionorder.config;
 
 import com.fusionorder.filter.JwtAuthenticationFilter;
+import com.fusionorder.filter.RateLimitFilter;
+import com.fusionorder.util.AdaptivePasswordEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
 
@@ -35,6 +37,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    /**
+     * 限流过滤器
+     */
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     /**
      * 配置安全过滤器链
      * 设置认证规则、CORS、JWT过滤器等
@@ -59,6 +67,7 @@ public class SecurityConfig {
                 // 其他请求允许访问（由方法级权限控制）
                 .anyRequest().permitAll()
             )
+            .addFilterAfter(rateLimitFilter, CorsFilter.class)  // 限流放在CORS之后，429响应也带跨域头，且早于JWT解析
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);  // 添加JWT过滤器
         
         return http.build();
@@ -79,6 +88,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         // 允许的请求头
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // 允许前端读取的响应头（条件请求使用的ETag、幂等重放标记、限流重试间隔、Token失效标记）
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Idempotent-Replayed", "Retry-After", "WWW-Authenticate"));
         // 允许携带凭证（Cookie等）
         configuration.setAllowCredentials(true);
         
@@ -89,13 +100,14 @@ public class SecurityConfig {
 
     /**
      * 配置密码编码器
-     * 使用BCrypt算法加密密码
+     * 使用BCrypt算法加密密码，工作因子与配置不一致的已有密码在登录时重新加密
      * 
+     * @param strength BCrypt工作因子
      * @return PasswordEncoder密码编码器
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AdaptivePasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new AdaptivePasswordEncoder(strength);
     }
 }
 
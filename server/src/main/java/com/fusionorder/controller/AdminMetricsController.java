@@ -0,0 +1,133 @@
+package com.fusionorder.controller;
+
+import com.fusionorder.dto.ApiResponse;
+import com.fusionorder.dto.CacheStatsDTO;
+import com.fusionorder.dto.PasswordHashingStatsDTO;
+import com.fusionorder.dto.RateLimitStatsDTO;
+import com.fusionorder.filter.RateLimitFilter;
+import com.fusionorder.service.PasswordHashingService;
+import com.fusionorder.service.ProductCache;
+import com.fusionorder.service.VerifiedTokenCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 运行指标控制器
+ * 提供进程内缓存等运行时指标的查询接口，仅管理员可访问
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/metrics")
+@RequiredArgsConstructor
+@Tag(name = "运行指标", description = "缓存命中率等运行时指标查询接口，仅管理员可访问")
+public class AdminMetricsController {
+
+    /**
+     * 产品目录缓存
+     */
+    private final ProductCache productCache;
+
+    /**
+     * 限流过滤器
+     */
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * 已验证Token缓存
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * 密码哈希服务
+     */
+    private final PasswordHashingService passwordHashingService;
+
+    /**
+     * 获取产品缓存统计信息
+     * 仅管理员可访问
+     *
+     * @return 产品缓存统计信息
+     */
+    @GetMapping("/product-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取产品缓存统计", description = "查看产品缓存的容量、命中、未命中、淘汰次数，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<List<CacheStatsDTO>>> getProductCacheStats() {
+        log.info("管理员查询产品缓存统计");
+        return ResponseEntity.ok(ApiResponse.success(productCache.stats()));
+    }
+
+    /**
+     * 获取已验证Token缓存统计信息
+     * 仅管理员可访问
+     *
+     * @return Token缓存统计信息
+     */
+    @GetMapping("/token-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取Token缓存统计", description = "查看已验证Token缓存的容量、命中、未命中、淘汰、过期次数，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<CacheStatsDTO>> getTokenCacheStats() {
+        log.info("管理员查询Token缓存统计");
+        return ResponseEntity.ok(ApiResponse.success(verifiedTokenCache.stats()));
+    }
+
+    /**
+     * 获取限流统计信息
+     * 仅管理员可访问
+     *
+     * @return 被拒绝的请求数和令牌桶缓存统计
+     */
+    @GetMapping("/rate-limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取限流统计", description = "查看被限流拒绝的请求数和客户端令牌桶数量，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<RateLimitStatsDTO>> getRateLimitStats() {
+        log.info("管理员查询限流统计");
+        return ResponseEntity.ok(ApiResponse.success(rateLimitFilter.stats()));
+    }
+
+    /**
+     * 获取密码哈希线程池统计信息
+     * 仅管理员可访问
+     *
+     * @return 线程池队列深度、拒绝次数和哈希耗时
+     */
+    @GetMapping("/password-hashing")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "获取密码哈希统计", description = "查看密码哈希线程池的排队数、拒绝和超时次数、排队时间和哈希耗时，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<PasswordHashingStatsDTO>> getPasswordHashingStats() {
+        log.info("管理员查询密码哈希统计");
+        return ResponseEntity.ok(ApiResponse.success(passwordHashingService.stats()));
+    }
+}
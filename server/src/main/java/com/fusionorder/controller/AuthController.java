@@ -3,6 +3,7 @@ package com.fusionorder.controller;
 import com.fusionorder.dto.ApiResponse;
 import com.fusionorder.dto.AuthRequest;
 import com.fusionorder.dto.AuthResponse;
+import com.fusionorder.dto.RefreshTokenRequest;
 import com.fusionorder.dto.UserDTO;
 import com.fusionorder.entity.User;
 import com.fusionorder.service.AuthService;
@@ -16,12 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * 认证控制器
- * 提供用户注册和登录功能
+ * 提供用户注册、登录、刷新Token和登出功能
  * 
  * @author FusionOrder Team
  */
@@ -29,7 +31,7 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
-@Tag(name = "认证管理", description = "用户注册和登录接口")
+@Tag(name = "认证管理", description = "用户注册、登录、刷新Token和登出接口")
 public class AuthController {
     
     /**
@@ -67,13 +69,13 @@ public class AuthController {
 
     /**
      * 用户登录
-     * 验证用户名密码，返回JWT Token
+     * 验证用户名密码，返回访问Token和刷新Token
      * 
      * @param request 登录请求（用户名和密码）
      * @return 认证响应（包含Token和用户信息）
      */
     @PostMapping("/login")
-    @Operation(summary = "用户登录", description = "验证用户名和密码，返回JWT Token用于后续接口认证")
+    @Operation(summary = "用户登录", description = "验证用户名和密码，返回短期访问Token用于后续接口认证，以及用于续期的刷新Token")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "登录成功", 
                 content = @Content(schema = @Schema(implementation = ApiResponse.class))),
@@ -87,5 +89,48 @@ public class AuthController {
         log.info("用户登录成功, username: {}, role: {}", response.getUsername(), response.getRole());
         return ResponseEntity.ok(ApiResponse.success("登录成功", response));
     }
-}
 
+    /**
+     * 刷新访问Token
+     * 刷新Token只能使用一次，响应中返回新的刷新Token
+     * 
+     * @param request 刷新请求（刷新Token）
+     * @return 认证响应（包含新的Token和用户信息）
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "刷新Token", description = "凭刷新Token换取新的访问Token和刷新Token，原刷新Token随即失效；重复使用已失效的刷新Token会使该登录的全部刷新Token失效")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "刷新成功", 
+                content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "刷新Token无效、已过期或已使用，或账户不可用，需要重新登录")
+    })
+    public ResponseEntity<ApiResponse<AuthResponse>> refresh(
+            @Parameter(description = "刷新请求，包含刷新Token") 
+            @Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request.getRefreshToken());
+        return ResponseEntity.ok(ApiResponse.success("刷新成功", response));
+    }
+
+    /**
+     * 登出
+     * 吊销请求头中的访问Token和请求体中的刷新Token
+     * 
+     * @param authorization Authorization请求头，可为空
+     * @param request 登出请求（刷新Token），可为空
+     * @return 登出结果
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "用户登出", description = "吊销当前访问Token，并使刷新Token所在登录的全部刷新Token失效；Token无效时同样返回成功")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "登出成功")
+    })
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @Parameter(description = "访问Token，格式为 Bearer {token}") 
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @Parameter(description = "登出请求，包含刷新Token") 
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(accessToken, request == null ? null : request.getRefreshToken());
+        return ResponseEntity.ok(ApiResponse.success("登出成功", null));
+    }
+}
@@ -0,0 +1,83 @@
+package com.fusionorder.controller;
+
+import com.fusionorder.dto.ApiResponse;
+import com.fusionorder.exception.BusinessException;
+import com.fusionorder.util.JwtKeyring;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT签名密钥控制器
+ * 发布验证Token用的公钥集合（JWKS），提供手动轮换签名密钥的接口
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "JWT密钥", description = "公钥集合发布和签名密钥轮换接口")
+public class JwksController {
+
+    /**
+     * 签名密钥环
+     */
+    private final JwtKeyring keyring;
+
+    /**
+     * 获取公钥集合
+     * 包含当前签名密钥和仍在保留期内的退役密钥，其他服务按Token头部的 kid 选择公钥验证
+     *
+     * @return JWKS文档
+     */
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "获取JWT公钥集合", description = "返回JWKS格式的验证公钥，使用HS256签名时为空集合")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功")
+    })
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        Map<String, Object> jwks = keyring.isEnabled() ? keyring.jwks() : Map.of("keys", List.of());
+        // 轮换后新公钥最迟在缓存过期后被其他服务获取，缓存时间应远小于Token有效期
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(jwks);
+    }
+
+    /**
+     * 轮换签名密钥
+     * 新密钥立即用于签发，原密钥签发的Token在过期前仍可验证
+     * 仅管理员可访问
+     *
+     * @return 新密钥的ID
+     */
+    @PostMapping("/admin/jwt/keys/rotate")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "轮换JWT签名密钥", description = "生成新的签名密钥，已签发的Token不受影响，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "轮换成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "当前使用HS256签名，不支持轮换"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<String>> rotateKey() {
+        if (!keyring.isEnabled()) {
+            throw new BusinessException("当前使用HS256签名，不支持密钥轮换");
+        }
+        String kid = keyring.rotate();
+        log.info("管理员轮换JWT签名密钥, kid: {}", kid);
+        return ResponseEntity.ok(ApiResponse.success("密钥轮换成功", kid));
+    }
+}
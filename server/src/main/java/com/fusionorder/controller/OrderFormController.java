@@ -1,9 +1,26 @@
 package com.fusionorder.controller;
 
 import com.fusionorder.dto.ApiResponse;
+import com.fusionorder.dto.BulkUpdateResult;
+import com.fusionorder.dto.CursorPage;
+import com.fusionorder.dto.IntakeStatusDTO;
 import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.dto.OrderLineRequest;
+import com.fusionorder.dto.OrderQuery;
+import com.fusionorder.dto.OrderStatsDTO;
+import com.fusionorder.dto.OrderStatusBulkRequest;
+import com.fusionorder.dto.OrderSubmissionDTO;
+import com.fusionorder.dto.OrderSubmissionRequest;
 import com.fusionorder.entity.OrderForm;
+import com.fusionorder.exception.ConflictException;
+import com.fusionorder.service.IdempotencyService;
+import com.fusionorder.service.OrderArchiveService;
+import com.fusionorder.service.OrderExportService;
 import com.fusionorder.service.OrderFormService;
+import com.fusionorder.service.OrderIntakeService;
+import com.fusionorder.service.OrderStatsService;
+import com.fusionorder.service.OrderSubmissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +31,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 订单表单控制器
@@ -34,32 +64,84 @@ import java.util.List;
 @Tag(name = "订单管理", description = "订单表单相关的增删改查接口，支持订单提交、状态更新等功能")
 public class OrderFormController {
     
+    /**
+     * 导出文件名中的时间戳格式
+     */
+    private static final DateTimeFormatter EXPORT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    
     /**
      * 订单表单服务
      */
     private final OrderFormService orderFormService;
+    
+    /**
+     * 订单异步受理服务
+     */
+    private final OrderIntakeService orderIntakeService;
+    
+    /**
+     * 订单导出服务
+     */
+    private final OrderExportService orderExportService;
+    
+    /**
+     * 订单统计服务
+     */
+    private final OrderStatsService orderStatsService;
+    
+    /**
+     * 幂等请求服务
+     */
+    private final IdempotencyService idempotencyService;
+    
+    /**
+     * 订单归档服务
+     */
+    private final OrderArchiveService orderArchiveService;
+    
+    /**
+     * 订单提交服务
+     */
+    private final OrderSubmissionService orderSubmissionService;
 
     /**
      * 创建订单表单
      * 所有用户可访问，用于提交订货信息
+     * 异步受理模式下写入本地日志后即返回202和受理编号，订单随后批量写入数据库
+     * 携带幂等键的重复请求返回首次的响应，不会重复创建订单
      * 
      * @param orderForm 订单表单信息
+     * @param idempotencyKey 幂等键（可选）
      * @return 创建的订单表单信息
      */
     @PostMapping
     @Operation(summary = "创建订单表单", description = "提交订货信息，所有用户可访问")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "订单提交成功"),
-        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数验证失败或产品不存在")
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "订单已受理（异步受理模式）"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数验证失败、产品不存在或幂等键已用于不同的请求内容"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "同一幂等键的请求仍在处理中")
     })
     public ResponseEntity<ApiResponse<OrderFormDTO>> createOrderForm(
             @Parameter(description = "订单表单信息，包含产品ID、数量、联系方式等") 
-            @Valid @RequestBody OrderForm orderForm) {
+            @Valid @RequestBody OrderForm orderForm,
+            @Parameter(description = "幂等键（可选），重试时携带同一键，重复请求返回首次创建的订单") 
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("创建订单表单, productId: {}, quantity: {}, contactName: {}", 
                 orderForm.getProduct().getId(), orderForm.getQuantity(), orderForm.getContactName());
-        OrderFormDTO orderFormDTO = orderFormService.createOrderForm(orderForm);
-        log.info("创建订单表单成功, orderFormId: {}", orderFormDTO.getId());
-        return ResponseEntity.ok(ApiResponse.success("订单提交成功", orderFormDTO));
+        boolean async = orderIntakeService.isAsync();
+        String fingerprint = IdempotencyService.fingerprint(orderForm.getProduct().getId(), orderForm.getQuantity(),
+                orderForm.getContactName(), orderForm.getContactPhone(), orderForm.getContactEmail(),
+                orderForm.getRequirements());
+        IdempotencyService.Outcome<OrderFormDTO> outcome = idempotencyService.execute("orders", idempotencyKey,
+                fingerprint, OrderFormDTO.class,
+                () -> async ? orderIntakeService.accept(orderForm) : orderFormService.createOrderForm(orderForm));
+        OrderFormDTO orderFormDTO = outcome.response();
+        log.info("创建订单表单成功, orderFormId: {}, intakeRef: {}, replayed: {}", 
+                orderFormDTO.getId(), orderFormDTO.getIntakeRef(), outcome.replayed());
+        return ResponseEntity.status(async ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(ApiResponse.success("订单提交成功", orderFormDTO));
     }
 
     /**
@@ -69,18 +151,18 @@ public class OrderFormController {
      * 
      * @param productId 产品ID（可选）
      * @param status 订单状态（可选）
-     * @return 订单表单列表
+     * @return 订单摘要列表（不含客户需求，详情请查询单个订单）
      */
     @GetMapping
     @Operation(summary = "获取订单列表", description = "支持按产品ID、订单状态筛选，所有用户可访问")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功")
     })
-    public ResponseEntity<ApiResponse<List<OrderFormDTO>>> getAllOrderForms(
+    public ResponseEntity<ApiResponse<List<OrderFormSummaryDTO>>> getAllOrderForms(
             @Parameter(description = "产品ID（可选）") @RequestParam(required = false) Long productId,
             @Parameter(description = "订单状态（可选）") @RequestParam(required = false) OrderForm.OrderStatus status) {
         
-        List<OrderFormDTO> orderForms;
+        List<OrderFormSummaryDTO> orderForms;
         
         if (productId != null) {
             log.info("按产品ID查询订单, productId: {}", productId);
@@ -99,6 +181,258 @@ public class OrderFormController {
         return ResponseEntity.ok(ApiResponse.success(orderForms));
     }
 
+    /**
+     * 游标分页查询订单
+     * 产品、状态、创建时间范围、联系人信息可任意组合，按创建时间倒序
+     * 需要管理员权限
+     * 
+     * @param productId 产品ID（可选）
+     * @param status 订单状态（可选）
+     * @param createdFrom 创建时间起点（可选，含）
+     * @param createdTo 创建时间终点（可选，不含）
+     * @param contact 联系人姓名、电话或邮箱（可选）
+     * @param after 上一页返回的游标
+     * @param limit 每页数量
+     * @return 订单摘要分页结果
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "分页查询订单", description = "基于游标的分页查询，支持产品、状态、创建时间范围、联系人组合筛选，时间范围覆盖归档期时包含归档订单，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "查询条件、游标或分页参数错误"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<OrderFormSummaryDTO>>> getOrderFormPage(
+            @Parameter(description = "产品ID（可选）") @RequestParam(required = false) Long productId,
+            @Parameter(description = "订单状态（可选）") @RequestParam(required = false) OrderForm.OrderStatus status,
+            @Parameter(description = "创建时间起点（可选，含），格式 yyyy-MM-ddTHH:mm:ss") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "创建时间终点（可选，不含），格式 yyyy-MM-ddTHH:mm:ss") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "联系人姓名、电话或邮箱（可选）") @RequestParam(required = false) String contact,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") 
+            @RequestParam(required = false) String after,
+            @Parameter(description = "每页数量，默认20，最大100") 
+            @RequestParam(required = false) Integer limit) {
+        OrderQuery query = buildQuery(productId, status, createdFrom, createdTo, contact);
+        log.info("分页查询订单, query: {}, after: {}, limit: {}", query, after, limit);
+        CursorPage<OrderFormSummaryDTO> page = orderFormService.getOrderFormPage(query, after, limit);
+        log.info("分页查询到 {} 个订单, hasMore: {}", page.getItems().size(), page.getHasMore());
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    /**
+     * 导出订单
+     * 仅管理员可访问，筛选条件与分页查询相同，按创建时间正序流式写出全部结果
+     * 
+     * @param productId 产品ID（可选）
+     * @param status 订单状态（可选）
+     * @param createdFrom 创建时间起点（可选，含）
+     * @param createdTo 创建时间终点（可选，不含）
+     * @param contact 联系人姓名、电话或邮箱（可选）
+     * @param format 导出格式，默认CSV
+     * @return 导出文件流
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "导出订单", description = "按分页查询相同的筛选条件导出全部订单（含客户需求），以CSV或NDJSON流式返回，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "导出成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "查询条件错误"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "产品ID（可选）") @RequestParam(required = false) Long productId,
+            @Parameter(description = "订单状态（可选）") @RequestParam(required = false) OrderForm.OrderStatus status,
+            @Parameter(description = "创建时间起点（可选，含），格式 yyyy-MM-ddTHH:mm:ss") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "创建时间终点（可选，不含），格式 yyyy-MM-ddTHH:mm:ss") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "联系人姓名、电话或邮箱（可选）") @RequestParam(required = false) String contact,
+            @Parameter(description = "导出格式：CSV 或 NDJSON，默认CSV") 
+            @RequestParam(defaultValue = "CSV") OrderExportService.Format format) {
+        OrderQuery query = buildQuery(productId, status, createdFrom, createdTo, contact);
+        // 开始写出响应前校验，校验失败仍按统一格式返回400
+        query.validate();
+        log.info("导出订单, query: {}, format: {}", query, format);
+        
+        String timestamp = LocalDateTime.now().format(EXPORT_FILE_TIMESTAMP);
+        boolean csv = format == OrderExportService.Format.CSV;
+        String filename = "orders-" + timestamp + (csv ? ".csv" : ".ndjson");
+        MediaType contentType = csv
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        StreamingResponseBody body = output -> orderExportService.export(query, format, output);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * 查询订单统计
+     * 仅管理员可访问，从每日汇总表按日期、产品、状态聚合，耗时与分组数相关而与订单数无关
+     * 
+     * @param from 下单日期起点（可选，含）
+     * @param to 下单日期终点（可选，含）
+     * @param productId 产品ID（可选）
+     * @param status 订单状态（可选）
+     * @param groupBy 分组维度，默认按状态
+     * @return 订单统计结果
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "查询订单统计", description = "按下单日期、产品、状态分组统计订单数和订货量，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "日期范围错误"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<OrderStatsDTO>> getOrderStats(
+            @Parameter(description = "下单日期起点（可选，含），格式 yyyy-MM-dd") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "下单日期终点（可选，含），格式 yyyy-MM-dd") 
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "产品ID（可选）") @RequestParam(required = false) Long productId,
+            @Parameter(description = "订单状态（可选）") @RequestParam(required = false) OrderForm.OrderStatus status,
+            @Parameter(description = "分组维度，可多选：DATE、PRODUCT、STATUS，默认STATUS") 
+            @RequestParam(defaultValue = "STATUS") Set<OrderStatsService.Dimension> groupBy) {
+        log.info("查询订单统计, from: {}, to: {}, productId: {}, status: {}, groupBy: {}", 
+                from, to, productId, status, groupBy);
+        OrderStatsDTO stats = orderStatsService.getStats(from, to, productId, status, groupBy);
+        log.info("查询订单统计成功, buckets: {}, totalOrders: {}", stats.getBuckets().size(), stats.getTotalOrders());
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+
+    /**
+     * 重建订单统计
+     * 仅管理员可访问，从订单表全量重新汇总，用于校正统计
+     * 
+     * @return 重建后的汇总行数
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "重建订单统计", description = "从在线订单表和归档表全量重建每日汇总表，重建期间订单写入会等待，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "重建成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<Integer>> rebuildOrderStats() {
+        log.info("重建订单统计");
+        int rows = orderStatsService.rebuild();
+        log.info("重建订单统计成功, rows: {}", rows);
+        return ResponseEntity.ok(ApiResponse.success("订单统计重建成功", rows));
+    }
+
+    /**
+     * 归档订单
+     * 仅管理员可访问，立即执行一次归档，将超过保留期的已完成、已取消订单分批移入归档表
+     * 
+     * @return 归档的订单数
+     */
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "归档订单", description = "立即将超过保留期的已完成、已取消订单分批移入归档表，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "归档成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "归档任务正在执行")
+    })
+    public ResponseEntity<ApiResponse<Integer>> archiveOrders() {
+        log.info("归档订单");
+        int archived = orderArchiveService.archive();
+        if (archived < 0) {
+            throw new ConflictException("归档任务正在执行，请稍后重试");
+        }
+        log.info("归档订单成功, archived: {}", archived);
+        return ResponseEntity.ok(ApiResponse.success("订单归档成功", archived));
+    }
+
+    /**
+     * 提交多产品订单
+     * 所有用户可访问，一次提交多个产品，每个产品生成一个订单行，整单成功或整单失败
+     * 不经过异步受理，始终同步写入；携带幂等键的重复请求返回首次的响应
+     * 
+     * @param request 订单提交请求
+     * @param idempotencyKey 幂等键（可选）
+     * @return 订单提交信息，包含全部订单行
+     */
+    @PostMapping("/submissions")
+    @Operation(summary = "提交多产品订单", description = "一次提交多个产品，共用联系方式，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "订单提交成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数验证失败、产品不存在或幂等键已用于不同的请求内容"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "同一幂等键的请求仍在处理中")
+    })
+    public ResponseEntity<ApiResponse<OrderSubmissionDTO>> submitOrder(
+            @Parameter(description = "订单提交信息，包含联系方式和订单行") 
+            @Valid @RequestBody OrderSubmissionRequest request,
+            @Parameter(description = "幂等键（可选），重试时携带同一键，重复请求返回首次提交的订单") 
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        log.info("提交多产品订单, lines: {}, contactName: {}", request.getLines().size(), request.getContactName());
+        List<Object> parts = new ArrayList<>(Arrays.asList(request.getContactName(), request.getContactPhone(),
+                request.getContactEmail(), request.getRequirements()));
+        for (OrderLineRequest line : request.getLines()) {
+            parts.addAll(Arrays.asList(line.getProductId(), line.getQuantity(), line.getRequirements()));
+        }
+        String fingerprint = IdempotencyService.fingerprint(parts.toArray());
+        IdempotencyService.Outcome<OrderSubmissionDTO> outcome = idempotencyService.execute("order-submissions",
+                idempotencyKey, fingerprint, OrderSubmissionDTO.class, () -> orderSubmissionService.submit(request));
+        OrderSubmissionDTO submission = outcome.response();
+        log.info("提交多产品订单成功, submissionId: {}, replayed: {}", submission.getId(), outcome.replayed());
+        return ResponseEntity.ok()
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(outcome.replayed()))
+                .body(ApiResponse.success("订单提交成功", submission));
+    }
+
+    /**
+     * 根据ID获取订单提交详情
+     * 所有用户可访问，包含全部订单行（包括已归档的订单行）
+     * 
+     * @param id 提交ID
+     * @return 订单提交信息
+     */
+    @GetMapping("/submissions/{id}")
+    @Operation(summary = "获取订单提交详情", description = "根据提交ID获取订单头和全部订单行，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "订单提交不存在")
+    })
+    public ResponseEntity<ApiResponse<OrderSubmissionDTO>> getSubmissionById(
+            @Parameter(description = "提交ID", required = true) @PathVariable Long id) {
+        log.info("查询订单提交, submissionId: {}", id);
+        OrderSubmissionDTO submission = orderSubmissionService.getSubmissionById(id);
+        return ResponseEntity.ok(ApiResponse.success(submission));
+    }
+
+    /**
+     * 按受理编号查询异步受理的订单
+     * 所有用户可访问，受理编号即查询凭据
+     * 
+     * @param ref 创建订单时返回的受理编号
+     * @return 受理状态，写入数据库后包含订单ID和订单状态
+     */
+    @GetMapping("/intake/{ref}")
+    @Operation(summary = "查询受理状态", description = "按异步受理返回的受理编号查询订单是否已写入及其订单ID、状态，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "受理编号不存在")
+    })
+    public ResponseEntity<ApiResponse<IntakeStatusDTO>> getIntakeStatus(
+            @Parameter(description = "受理编号") @PathVariable String ref) {
+        log.info("查询受理状态, intakeRef: {}", ref);
+        IntakeStatusDTO status = orderIntakeService.getIntakeStatus(ref);
+        log.info("查询受理状态成功, intakeRef: {}, state: {}, orderFormId: {}", ref, status.getState(), status.getOrderId());
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+
     /**
      * 根据ID获取订单表单详情
      * 所有用户可访问
@@ -122,30 +456,60 @@ public class OrderFormController {
 
     /**
      * 更新订单状态
+     * 只允许按状态机变更，可携带版本号防止覆盖他人的修改
      * 需要管理员权限
      * 
      * @param id 订单表单ID
      * @param status 新状态
+     * @param version 期望的版本号（可选）
      * @return 更新后的订单表单信息
      */
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "更新订单状态", description = "更新订单状态，仅管理员可访问")
+    @Operation(summary = "更新订单状态", description = "按状态机更新订单状态（待处理→已确认→处理中→已完成，未完成前可取消），仅管理员可访问")
     @SecurityRequirement(name = "Bearer Authentication")
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "更新成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "状态不允许变更或版本冲突"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "订单不存在"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
     })
     public ResponseEntity<ApiResponse<OrderFormDTO>> updateOrderStatus(
             @Parameter(description = "订单ID") @PathVariable Long id,
-            @Parameter(description = "新状态") @RequestParam OrderForm.OrderStatus status) {
-        log.info("更新订单状态, orderFormId: {}, newStatus: {}", id, status);
-        OrderFormDTO updatedOrder = orderFormService.updateOrderFormStatus(id, status);
+            @Parameter(description = "新状态") @RequestParam OrderForm.OrderStatus status,
+            @Parameter(description = "期望的版本号（可选），与当前版本不一致时拒绝更新") 
+            @RequestParam(required = false) Long version) {
+        log.info("更新订单状态, orderFormId: {}, newStatus: {}, version: {}", id, status, version);
+        OrderFormDTO updatedOrder = orderFormService.updateOrderFormStatus(id, status, version);
         log.info("更新订单状态成功, orderFormId: {}, status: {}", id, updatedOrder.getStatus());
         return ResponseEntity.ok(ApiResponse.success("订单状态更新成功", updatedOrder));
     }
 
+    /**
+     * 批量更新订单状态
+     * 只有当前状态允许变更为目标状态的订单会被更新
+     * 需要管理员权限
+     * 
+     * @param request 批量变更请求
+     * @return 批量更新结果
+     */
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "批量更新订单状态", description = "以条件更新语句批量变更订单状态，不符合状态机的订单保持不变，仅管理员可访问")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "更新成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数验证失败"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> updateOrderStatuses(
+            @Parameter(description = "批量变更请求") @Valid @RequestBody OrderStatusBulkRequest request) {
+        log.info("批量更新订单状态, count: {}, newStatus: {}", request.getIds().size(), request.getStatus());
+        BulkUpdateResult result = orderFormService.updateOrderFormStatuses(request.getIds(), request.getStatus());
+        log.info("批量更新订单状态成功, matched: {}, updated: {}", result.getMatchedCount(), result.getUpdatedCount());
+        return ResponseEntity.ok(ApiResponse.success("订单状态批量更新成功", result));
+    }
+
     /**
      * 删除订单表单
      * 需要管理员权限
@@ -169,5 +533,15 @@ public class OrderFormController {
         log.info("删除订单成功, orderFormId: {}", id);
         return ResponseEntity.ok(ApiResponse.success("订单删除成功"));
     }
-}
 
+    private OrderQuery buildQuery(Long productId, OrderForm.OrderStatus status,
+                                  LocalDateTime createdFrom, LocalDateTime createdTo, String contact) {
+        OrderQuery query = new OrderQuery();
+        query.setProductId(productId);
+        query.setStatus(status);
+        query.setCreatedFrom(createdFrom);
+        query.setCreatedTo(createdTo);
+        query.setContact(contact);
+        return query;
+    }
+}
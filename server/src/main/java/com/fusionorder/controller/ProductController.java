@@ -1,9 +1,18 @@
 package com.fusionorder.controller;
 
 import com.fusionorder.dto.ApiResponse;
+import com.fusionorder.dto.BulkUpdateResult;
+import com.fusionorder.dto.CursorPage;
+import com.fusionorder.dto.ProductBulkUpdateRequest;
 import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.dto.ProductImportResult;
+import com.fusionorder.dto.ProductQuery;
+import com.fusionorder.dto.ProductSummaryDTO;
 import com.fusionorder.entity.Product;
+import com.fusionorder.service.InventoryService;
+import com.fusionorder.service.ProductImportService;
 import com.fusionorder.service.ProductService;
+import com.fusionorder.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +20,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -37,20 +53,39 @@ public class ProductController {
      * 产品服务
      */
     private final ProductService productService;
+    
+    /**
+     * 产品批量导入服务
+     */
+    private final ProductImportService productImportService;
+    
+    /**
+     * 库存服务
+     */
+    private final InventoryService inventoryService;
 
     /**
      * 获取产品列表
-     * 支持按关键词搜索、分类筛选、可用性筛选
+     * 关键词、分类、可用性、价格区间、排序可任意组合，由服务端一次完成筛选
      * 所有用户可访问
+     * 最多返回 {@link ProductService#MAX_LIST_ROWS} 个产品，响应携带 Deprecation 和指向分页接口的 Link 头
      * 
      * @param available 是否可用（true: 仅可用产品，false/null: 所有产品）
      * @param category 产品分类
-     * @param keyword 搜索关键词（产品名称）
-     * @return 产品列表
+     * @param keyword 搜索关键词
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param sort 排序方式
+     * @param ifNoneMatch 客户端缓存的ETag
+     * @return 产品列表，客户端缓存仍有效时返回304
+     * @deprecated 不分页接口只保留给旧客户端，请使用 {@link #getProductPage}
      */
+    @Deprecated
     @GetMapping
-    @Operation(summary = "获取产品列表", description = "支持按分类、关键词搜索、可用性筛选产品，所有用户可访问")
+    @Operation(summary = "获取产品列表（已废弃）", deprecated = true,
+            description = "支持按关键词、分类、可用性、价格区间组合筛选及排序，最多返回500个产品，请改用 /products/page 分页获取，所有用户可访问")
     @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "内容未变化"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功", 
                 content = @Content(schema = @Schema(implementation = ApiResponse.class))),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数错误")
@@ -60,30 +95,142 @@ public class ProductController {
             @RequestParam(required = false) Boolean available,
             @Parameter(description = "产品分类") 
             @RequestParam(required = false) String category,
-            @Parameter(description = "搜索关键词（产品名称）") 
-            @RequestParam(required = false) String keyword) {
-        
-        List<ProductDTO> products;
-        
-        if (keyword != null && !keyword.isEmpty()) {
-            log.info("搜索产品, keyword: {}", keyword);
-            products = productService.searchProducts(keyword);
-            log.info("搜索到 {} 个产品", products.size());
-        } else if (category != null && !category.isEmpty()) {
-            log.info("按分类查询产品, category: {}", category);
-            products = productService.getProductsByCategory(category);
-            log.info("查询到 {} 个产品", products.size());
-        } else if (Boolean.TRUE.equals(available)) {
-            log.info("查询可用产品");
-            products = productService.getAvailableProducts();
-            log.info("查询到 {} 个可用产品", products.size());
-        } else {
-            log.info("查询所有产品");
-            products = productService.getAllProducts();
-            log.info("查询到 {} 个产品", products.size());
+            @Parameter(description = "搜索关键词（产品名称、分类、描述）") 
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "最低价格") 
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "最高价格") 
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "排序方式（NEWEST: 最新，PRICE_ASC: 价格升序，PRICE_DESC: 价格降序）") 
+            @RequestParam(required = false) ProductQuery.SortOrder sort,
+            @Parameter(description = "客户端缓存的ETag") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductQuery query = buildQuery(available, category, keyword, minPrice, maxPrice, sort);
+        String etag = ETags.forList(productService.getCatalogVersion(), "list", query);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            log.debug("产品列表未变化, query: {}", query);
+            return notModified(etag);
+        }
+        log.info("查询产品列表, query: {}", query);
+        List<ProductDTO> products = productService.getProducts(query);
+        log.info("查询到 {} 个产品", products.size());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "<" + ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/products/page").toUriString() + ">; rel=\"successor-version\"")
+                .body(ApiResponse.success(products));
+    }
+
+    /**
+     * 游标分页获取产品列表
+     * 按指定排序返回，使用上一页返回的 nextCursor 获取下一页
+     * 所有用户可访问
+     * 
+     * @param available 是否仅查询可用产品
+     * @param category 产品分类
+     * @param keyword 搜索关键词
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param sort 排序方式
+     * @param after 上一页返回的游标
+     * @param limit 每页数量
+     * @param ifNoneMatch 客户端缓存的ETag
+     * @return 产品摘要分页结果（不含描述），客户端缓存仍有效时返回304
+     */
+    @GetMapping("/page")
+    @Operation(summary = "分页获取产品列表", description = "基于游标的分页查询，支持关键词、分类、可用性、价格区间组合筛选及排序，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "内容未变化"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "游标或分页参数错误")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummaryDTO>>> getProductPage(
+            @Parameter(description = "是否仅查询可用产品") 
+            @RequestParam(required = false) Boolean available,
+            @Parameter(description = "产品分类") 
+            @RequestParam(required = false) String category,
+            @Parameter(description = "搜索关键词（产品名称、分类、描述）") 
+            @RequestParam(required = false) String keyword,
+            @Parameter(description = "最低价格") 
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "最高价格") 
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "排序方式（NEWEST: 最新，PRICE_ASC: 价格升序，PRICE_DESC: 价格降序）") 
+            @RequestParam(required = false) ProductQuery.SortOrder sort,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") 
+            @RequestParam(required = false) String after,
+            @Parameter(description = "每页数量，默认20，最大100") 
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "客户端缓存的ETag") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ProductQuery query = buildQuery(available, category, keyword, minPrice, maxPrice, sort);
+        String etag = ETags.forList(productService.getCatalogVersion(), "page", query, after, limit);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            log.debug("产品分页未变化, query: {}, after: {}", query, after);
+            return notModified(etag);
+        }
+        log.info("分页查询产品, query: {}, after: {}, limit: {}", query, after, limit);
+        CursorPage<ProductSummaryDTO> page = productService.getProductPage(query, after, limit);
+        log.info("分页查询到 {} 个产品, hasMore: {}", page.getItems().size(), page.getHasMore());
+        return withETag(etag, page);
+    }
+
+    /**
+     * 分页搜索产品
+     * 在产品名称、分类、描述中匹配关键词，按相关度排序
+     * 所有用户可访问
+     * 
+     * @param keyword 搜索关键词
+     * @param after 上一页返回的游标
+     * @param limit 每页数量
+     * @param ifNoneMatch 客户端缓存的ETag
+     * @return 产品分页结果，客户端缓存仍有效时返回304
+     */
+    @GetMapping("/search")
+    @Operation(summary = "搜索产品", description = "按名称、分类、描述全文搜索产品，结果按相关度排序并分页，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "内容未变化"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "游标或分页参数错误")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<ProductDTO>>> searchProducts(
+            @Parameter(description = "搜索关键词") @RequestParam String keyword,
+            @Parameter(description = "上一页返回的游标，为空时查询第一页") 
+            @RequestParam(required = false) String after,
+            @Parameter(description = "每页数量，默认20，最大100") 
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "客户端缓存的ETag") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forList(productService.getCatalogVersion(), "search", keyword, after, limit);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            log.debug("产品搜索结果未变化, keyword: {}, after: {}", keyword, after);
+            return notModified(etag);
         }
-        
-        return ResponseEntity.ok(ApiResponse.success(products));
+        log.info("分页搜索产品, keyword: {}, after: {}, limit: {}", keyword, after, limit);
+        CursorPage<ProductDTO> page = productService.searchProductPage(keyword, after, limit);
+        log.info("分页搜索到 {} 个产品, hasMore: {}", page.getItems().size(), page.getHasMore());
+        return withETag(etag, page);
+    }
+
+    /**
+     * 获取产品当前可售库存
+     * 所有用户可访问，库存实时变化，不参与ETag缓存
+     * 
+     * @param id 产品ID
+     * @return 库存数量，为空表示不限库存
+     */
+    @GetMapping("/{id}/stock")
+    @Operation(summary = "获取产品库存", description = "查询产品当前可售库存，为空表示不限库存，所有用户可访问")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "产品不存在")
+    })
+    public ResponseEntity<ApiResponse<Integer>> getProductStock(
+            @Parameter(description = "产品ID") @PathVariable Long id) {
+        log.debug("查询产品库存, productId: {}", id);
+        return ResponseEntity.ok(ApiResponse.success(inventoryService.getStock(id)));
     }
 
     /**
@@ -91,20 +238,29 @@ public class ProductController {
      * 所有用户可访问
      * 
      * @param id 产品ID
-     * @return 产品信息
+     * @param ifNoneMatch 客户端缓存的ETag
+     * @return 产品信息，客户端缓存仍有效时返回304
      */
     @GetMapping("/{id}")
     @Operation(summary = "获取产品详情", description = "根据产品ID获取详细信息，所有用户可访问")
     @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "内容未变化"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "查询成功"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "产品不存在")
     })
     public ResponseEntity<ApiResponse<ProductDTO>> getProductById(
-            @Parameter(description = "产品ID") @PathVariable Long id) {
+            @Parameter(description = "产品ID") @PathVariable Long id,
+            @Parameter(description = "客户端缓存的ETag") 
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("查询产品详情, productId: {}", id);
         ProductDTO product = productService.getProductById(id);
+        String etag = ETags.forResource(product.getId(), product.getUpdatedAt());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            log.debug("产品详情未变化, productId: {}", id);
+            return notModified(etag);
+        }
         log.info("查询产品成功, productId: {}, name: {}", id, product.getName());
-        return ResponseEntity.ok(ApiResponse.success(product));
+        return withETag(etag, product);
     }
 
     /**
@@ -131,6 +287,41 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("产品创建成功", createdProduct));
     }
 
+    /**
+     * 批量导入产品
+     * 从请求体流式读取CSV或NDJSON，按SKU新增或更新，逐行报告失败原因
+     * 需要管理员或产品管理员权限
+     * 
+     * @param format 数据格式，未指定时根据Content-Type判断
+     * @param request HTTP请求，用于读取请求体
+     * @return 导入结果
+     * @throws IOException 读取请求体失败时抛出
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "批量导入产品", description = "请求体为带表头的CSV（sku,name,category,price,description,imageUrl,available）"
+            + "或每行一个JSON对象的NDJSON，按SKU新增或更新，需要管理员或产品管理员权限")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "导入完成（可能包含失败行）"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "表头缺少必需列或数据无法读取"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProducts(
+            @Parameter(description = "数据格式（CSV、NDJSON），未指定时根据Content-Type判断") 
+            @RequestParam(required = false) ProductImportService.Format format,
+            HttpServletRequest request) throws IOException {
+        if (format == null) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.toLowerCase().contains("json")
+                    ? ProductImportService.Format.NDJSON : ProductImportService.Format.CSV;
+        }
+        log.info("批量导入产品, format: {}, contentLength: {}", format, request.getContentLengthLong());
+        ProductImportResult result = productImportService.importProducts(request.getInputStream(), format);
+        log.info("批量导入产品完成, imported: {}, failed: {}", result.getImportedRows(), result.getFailedRows());
+        return ResponseEntity.ok(ApiResponse.success("产品导入完成", result));
+    }
+
     /**
      * 更新产品信息
      * 需要管理员或产品管理员权限
@@ -157,6 +348,31 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("产品更新成功", updatedProduct));
     }
 
+    /**
+     * 批量更新产品
+     * 按产品ID列表或筛选条件选定产品，批量修改价格、可用性、分类
+     * 需要管理员或产品管理员权限
+     * 
+     * @param request 批量更新请求
+     * @return 批量更新结果
+     */
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "批量更新产品", description = "按产品ID列表或筛选条件批量修改价格、可用性、分类，需要管理员或产品管理员权限")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "更新成功"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "参数验证失败"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "权限不足")
+    })
+    public ResponseEntity<ApiResponse<BulkUpdateResult>> bulkUpdateProducts(
+            @Parameter(description = "批量更新请求") @Valid @RequestBody ProductBulkUpdateRequest request) {
+        log.info("批量更新产品, ids: {}, filter: {}", request.getIds() == null ? null : request.getIds().size(), request.getFilter());
+        BulkUpdateResult result = productService.bulkUpdateProducts(request);
+        log.info("批量更新产品成功, matched: {}, updated: {}", result.getMatchedCount(), result.getUpdatedCount());
+        return ResponseEntity.ok(ApiResponse.success("产品批量更新成功", result));
+    }
+
     /**
      * 删除产品
      * 需要管理员或产品管理员权限
@@ -180,5 +396,57 @@ public class ProductController {
         log.info("删除产品成功, productId: {}", id);
         return ResponseEntity.ok(ApiResponse.success("产品删除成功"));
     }
-}
 
+    /**
+     * 由请求参数构建产品组合查询条件
+     * 
+     * @param available 是否仅查询可用产品
+     * @param category 产品分类
+     * @param keyword 搜索关键词
+     * @param minPrice 最低价格
+     * @param maxPrice 最高价格
+     * @param sort 排序方式
+     * @return 产品组合查询条件
+     */
+    private ProductQuery buildQuery(Boolean available, String category, String keyword,
+                                    BigDecimal minPrice, BigDecimal maxPrice, ProductQuery.SortOrder sort) {
+        ProductQuery query = new ProductQuery();
+        query.setAvailableOnly(Boolean.TRUE.equals(available));
+        query.setCategory(category);
+        query.setKeyword(keyword);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        if (sort != null) {
+            query.setSort(sort);
+        }
+        return query;
+    }
+
+    /**
+     * 返回带ETag的成功响应
+     * 使用 no-cache 要求浏览器每次携带 If-None-Match 重新验证
+     * 
+     * @param etag 当前ETag
+     * @param data 响应数据
+     * @return 成功响应
+     */
+    private <T> ResponseEntity<ApiResponse<T>> withETag(String etag, T data) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(data));
+    }
+
+    /**
+     * 返回304响应，不查询数据库也不序列化响应体
+     * 
+     * @param etag 当前ETag
+     * @return 304响应
+     */
+    private <T> ResponseEntity<ApiResponse<T>> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+}
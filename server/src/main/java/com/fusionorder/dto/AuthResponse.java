@@ -6,7 +6,7 @@ import lombok.NoArgsConstructor;
 
 /**
  * 认证响应数据传输对象
- * 用于返回用户登录后的认证信息，包含JWT Token和用户基本信息
+ * 用于返回用户登录、刷新后的认证信息，包含访问Token、刷新Token和用户基本信息
  * 
  * @author FusionOrder Team
  */
@@ -16,10 +16,20 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
     
     /**
-     * JWT Token，用于后续请求的身份验证
+     * JWT访问Token，用于后续请求的身份验证，有效期较短
      */
     private String token;
     
+    /**
+     * 刷新Token，访问Token过期后用于换取新的访问Token，只能使用一次
+     */
+    private String refreshToken;
+    
+    /**
+     * 访问Token有效期（秒）
+     */
+    private Long expiresIn;
+    
     /**
      * 用户名
      */
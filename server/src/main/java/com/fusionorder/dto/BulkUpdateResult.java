@@ -0,0 +1,26 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量更新结果
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResult {
+
+    /**
+     * 选定的记录数
+     */
+    private Integer matchedCount;
+
+    /**
+     * 实际更新的记录数
+     */
+    private Integer updatedCount;
+}
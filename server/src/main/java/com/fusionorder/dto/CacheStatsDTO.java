@@ -0,0 +1,57 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存统计数据传输对象
+ * 用于管理端查看进程内缓存的容量、命中率和淘汰情况
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 当前条目数
+     */
+    private Integer size;
+
+    /**
+     * 最大条目数
+     */
+    private Integer maximumSize;
+
+    /**
+     * 命中次数
+     */
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private Long missCount;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 因容量不足被淘汰的次数
+     */
+    private Long evictionCount;
+
+    /**
+     * 因过期被清理的次数
+     */
+    private Long expirationCount;
+}
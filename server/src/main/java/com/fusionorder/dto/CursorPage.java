@@ -0,0 +1,40 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 基于键集（keyset）的分页响应，客户端使用 nextCursor 获取下一页
+ *
+ * @param <T> 列表元素类型
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> items;
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+
+    /**
+     * 本次请求的每页数量
+     */
+    private Integer limit;
+}
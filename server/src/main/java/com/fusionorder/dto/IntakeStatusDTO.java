@@ -0,0 +1,58 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderForm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 异步受理状态
+ * 写入数据库后给出订单ID和订单状态
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntakeStatusDTO {
+
+    /**
+     * 受理编号
+     */
+    private String intakeRef;
+
+    /**
+     * 受理状态
+     */
+    private State state;
+
+    /**
+     * 订单ID，写入数据库后有值
+     */
+    private Long orderId;
+
+    /**
+     * 订单状态，写入数据库后有值
+     */
+    private OrderForm.OrderStatus orderStatus;
+
+    /**
+     * 受理状态枚举
+     */
+    public enum State {
+        /**
+         * 已受理，等待写入数据库
+         */
+        PENDING,
+
+        /**
+         * 已写入数据库
+         */
+        CREATED,
+
+        /**
+         * 无法写入数据库，已转入拒绝日志，预占的库存已归还
+         */
+        REJECTED
+    }
+}
@@ -1,6 +1,7 @@
 package com.fusionorder.dto;
 
 import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.OrderFormArchive;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -19,6 +20,11 @@ public class OrderFormDTO {
      */
     private Long id;
     
+    /**
+     * 异步受理编号，异步受理的订单写入数据库前id为空，以该编号标识
+     */
+    private String intakeRef;
+    
     /**
      * 产品ID
      */
@@ -29,6 +35,11 @@ public class OrderFormDTO {
      */
     private String productName;
     
+    /**
+     * 所属的订单提交ID，单独提交的订单为空
+     */
+    private Long submissionId;
+    
     /**
      * 订货数量
      */
@@ -59,6 +70,11 @@ public class OrderFormDTO {
      */
     private OrderForm.OrderStatus status;
     
+    /**
+     * 乐观锁版本号，更新状态时可作为期望版本号传回
+     */
+    private Long version;
+    
     /**
      * 创建时间
      */
@@ -73,16 +89,42 @@ public class OrderFormDTO {
     public static OrderFormDTO fromEntity(OrderForm orderForm) {
         OrderFormDTO dto = new OrderFormDTO();
         dto.setId(orderForm.getId());
+        dto.setIntakeRef(orderForm.getIntakeRef());
         dto.setProductId(orderForm.getProduct().getId());
         dto.setProductName(orderForm.getProduct().getName());
+        dto.setSubmissionId(orderForm.getSubmission() == null ? null : orderForm.getSubmission().getId());
         dto.setQuantity(orderForm.getQuantity());
         dto.setContactName(orderForm.getContactName());
         dto.setContactPhone(orderForm.getContactPhone());
         dto.setContactEmail(orderForm.getContactEmail());
         dto.setRequirements(orderForm.getRequirements());
         dto.setStatus(orderForm.getStatus());
+        dto.setVersion(orderForm.getVersion());
         dto.setCreatedAt(orderForm.getCreatedAt());
         return dto;
     }
-}
 
+    /**
+     * 从归档订单实体转换为DTO对象
+     * 
+     * @param archive 归档订单实体对象
+     * @return 订单表单DTO对象
+     */
+    public static OrderFormDTO fromArchive(OrderFormArchive archive) {
+        OrderFormDTO dto = new OrderFormDTO();
+        dto.setId(archive.getId());
+        dto.setIntakeRef(archive.getIntakeRef());
+        dto.setProductId(archive.getProduct().getId());
+        dto.setProductName(archive.getProduct().getName());
+        dto.setSubmissionId(archive.getSubmissionId());
+        dto.setQuantity(archive.getQuantity());
+        dto.setContactName(archive.getContactName());
+        dto.setContactPhone(archive.getContactPhone());
+        dto.setContactEmail(archive.getContactEmail());
+        dto.setRequirements(archive.getRequirements());
+        dto.setStatus(archive.getStatus());
+        dto.setVersion(archive.getVersion());
+        dto.setCreatedAt(archive.getCreatedAt());
+        return dto;
+    }
+}
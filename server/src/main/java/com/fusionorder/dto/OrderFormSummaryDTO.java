@@ -0,0 +1,70 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderForm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 订单摘要数据传输对象
+ * 用于订单列表展示，不包含客户需求大字段，由查询连同产品名称一次构造而不加载实体
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFormSummaryDTO {
+
+    /**
+     * 订单ID
+     */
+    private Long id;
+
+    /**
+     * 产品ID
+     */
+    private Long productId;
+
+    /**
+     * 产品名称
+     */
+    private String productName;
+
+    /**
+     * 订货数量
+     */
+    private Integer quantity;
+
+    /**
+     * 联系人姓名
+     */
+    private String contactName;
+
+    /**
+     * 联系人电话
+     */
+    private String contactPhone;
+
+    /**
+     * 联系人邮箱
+     */
+    private String contactEmail;
+
+    /**
+     * 订单状态
+     */
+    private OrderForm.OrderStatus status;
+
+    /**
+     * 乐观锁版本号，更新状态时可作为期望版本号传回
+     */
+    private Long version;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+}
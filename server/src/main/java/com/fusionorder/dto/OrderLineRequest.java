@@ -0,0 +1,32 @@
+package com.fusionorder.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 多产品订单中的一个订单行
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class OrderLineRequest {
+
+    /**
+     * 产品ID
+     */
+    @NotNull(message = "产品ID不能为空")
+    private Long productId;
+
+    /**
+     * 订货数量，最小值1
+     */
+    @NotNull(message = "订货数量不能为空")
+    @Min(value = 1, message = "订货数量必须大于0")
+    private Integer quantity;
+
+    /**
+     * 该产品的需求（可选），为空时使用整单需求
+     */
+    private String requirements;
+}
@@ -0,0 +1,62 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.exception.ValidationException;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 订单组合查询条件
+ * 产品、状态、创建时间范围、联系人信息可以任意组合，由一条动态查询在数据库中完成筛选
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class OrderQuery {
+
+    /**
+     * 产品ID
+     */
+    private Long productId;
+
+    /**
+     * 订单状态
+     */
+    private OrderForm.OrderStatus status;
+
+    /**
+     * 创建时间起点（含）
+     */
+    private LocalDateTime createdFrom;
+
+    /**
+     * 创建时间终点（不含）
+     */
+    private LocalDateTime createdTo;
+
+    /**
+     * 联系人信息，匹配联系人姓名、电话、邮箱
+     */
+    private String contact;
+
+    /**
+     * 是否指定了联系人信息
+     *
+     * @return true表示指定了联系人信息
+     */
+    public boolean hasContact() {
+        return contact != null && !contact.isBlank();
+    }
+
+    /**
+     * 校验查询条件
+     *
+     * @throws ValidationException 创建时间范围不合法时抛出
+     */
+    public void validate() {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new ValidationException("创建时间起点必须早于终点");
+        }
+    }
+}
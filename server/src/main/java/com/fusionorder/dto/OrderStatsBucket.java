@@ -0,0 +1,50 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderForm;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 订单统计分组数据传输对象
+ * 未参与分组的维度为空
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsBucket {
+
+    /**
+     * 下单日期
+     */
+    private LocalDate date;
+
+    /**
+     * 产品ID
+     */
+    private Long productId;
+
+    /**
+     * 产品名称
+     */
+    private String productName;
+
+    /**
+     * 订单状态
+     */
+    private OrderForm.OrderStatus status;
+
+    /**
+     * 订单数
+     */
+    private Long orderCount;
+
+    /**
+     * 订货总量
+     */
+    private Long totalQuantity;
+}
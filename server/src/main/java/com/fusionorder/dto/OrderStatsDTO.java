@@ -0,0 +1,33 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 订单统计结果数据传输对象
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsDTO {
+
+    /**
+     * 按请求维度分组的统计
+     */
+    private List<OrderStatsBucket> buckets;
+
+    /**
+     * 订单总数
+     */
+    private Long totalOrders;
+
+    /**
+     * 订货总量
+     */
+    private Long totalQuantity;
+}
@@ -0,0 +1,31 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderForm;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 订单状态批量变更请求
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class OrderStatusBulkRequest {
+
+    /**
+     * 要变更状态的订单ID列表
+     */
+    @NotEmpty(message = "订单ID列表不能为空")
+    @Size(max = 10000, message = "单次最多变更10000个订单")
+    private List<Long> ids;
+
+    /**
+     * 目标状态
+     */
+    @NotNull(message = "目标状态不能为空")
+    private OrderForm.OrderStatus status;
+}
@@ -0,0 +1,71 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.entity.OrderSubmission;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单提交数据传输对象
+ * 包含订单头和全部订单行
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class OrderSubmissionDTO {
+
+    /**
+     * 提交ID
+     */
+    private Long id;
+
+    /**
+     * 联系人姓名
+     */
+    private String contactName;
+
+    /**
+     * 联系人电话
+     */
+    private String contactPhone;
+
+    /**
+     * 联系人邮箱
+     */
+    private String contactEmail;
+
+    /**
+     * 整单需求
+     */
+    private String requirements;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 订单行，每行是一个独立流转状态的订单
+     */
+    private List<OrderFormDTO> lines;
+
+    /**
+     * 从实体对象转换为DTO对象
+     *
+     * @param submission 订单提交实体对象
+     * @param lines 订单行
+     * @return 订单提交DTO对象
+     */
+    public static OrderSubmissionDTO fromEntity(OrderSubmission submission, List<OrderFormDTO> lines) {
+        OrderSubmissionDTO dto = new OrderSubmissionDTO();
+        dto.setId(submission.getId());
+        dto.setContactName(submission.getContactName());
+        dto.setContactPhone(submission.getContactPhone());
+        dto.setContactEmail(submission.getContactEmail());
+        dto.setRequirements(submission.getRequirements());
+        dto.setCreatedAt(submission.getCreatedAt());
+        dto.setLines(lines);
+        return dto;
+    }
+}
@@ -0,0 +1,54 @@
+package com.fusionorder.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 多产品订单提交请求
+ * 一次提交多个产品，联系方式和整单需求由所有订单行共用
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class OrderSubmissionRequest {
+
+    /**
+     * 联系人姓名
+     */
+    @NotBlank(message = "联系人姓名不能为空")
+    @Size(max = 50, message = "联系人姓名长度不能超过50")
+    private String contactName;
+
+    /**
+     * 联系人电话
+     */
+    @NotBlank(message = "联系人电话不能为空")
+    @Size(max = 20, message = "联系人电话长度不能超过20")
+    private String contactPhone;
+
+    /**
+     * 联系人邮箱（可选）
+     */
+    @Email(message = "邮箱格式不正确")
+    @Size(max = 100, message = "联系人邮箱长度不能超过100")
+    private String contactEmail;
+
+    /**
+     * 整单需求（可选）
+     */
+    private String requirements;
+
+    /**
+     * 订单行
+     */
+    @NotEmpty(message = "订单行不能为空")
+    @Size(max = 100, message = "单次最多提交100个订单行")
+    @Valid
+    private List<OrderLineRequest> lines;
+}
@@ -0,0 +1,71 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 密码哈希线程池统计信息
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStatsDTO {
+
+    /**
+     * 当前配置的BCrypt工作因子
+     */
+    private Integer strength;
+
+    /**
+     * 哈希线程数
+     */
+    private Integer threads;
+
+    /**
+     * 正在执行的任务数
+     */
+    private Integer active;
+
+    /**
+     * 排队等待的任务数
+     */
+    private Integer queued;
+
+    /**
+     * 队列容量，排满后新请求直接拒绝
+     */
+    private Integer queueCapacity;
+
+    /**
+     * 启动以来完成的任务数
+     */
+    private Long completedCount;
+
+    /**
+     * 启动以来因队列已满被拒绝的任务数
+     */
+    private Long rejectedCount;
+
+    /**
+     * 启动以来等待超时的任务数
+     */
+    private Long timeoutCount;
+
+    /**
+     * 平均排队时间（毫秒）
+     */
+    private Double averageWaitMillis;
+
+    /**
+     * 平均哈希耗时（毫秒）
+     */
+    private Double averageHashMillis;
+
+    /**
+     * 最长哈希耗时（毫秒）
+     */
+    private Double maxHashMillis;
+}
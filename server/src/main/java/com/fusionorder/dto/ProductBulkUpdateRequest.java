@@ -0,0 +1,58 @@
+package com.fusionorder.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 产品批量更新请求
+ * 通过产品ID列表或筛选条件（二选一）选定产品，对价格、可用性、分类做部分更新，
+ * 未提供的字段保持不变
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class ProductBulkUpdateRequest {
+
+    /**
+     * 要更新的产品ID列表
+     */
+    @Size(max = 10000, message = "单次最多更新10000个产品")
+    private List<Long> ids;
+
+    /**
+     * 筛选条件，与ID列表二选一（排序字段被忽略）
+     */
+    private ProductQuery filter;
+
+    /**
+     * 新价格
+     */
+    @DecimalMin(value = "0.01", message = "产品价格必须大于0")
+    @Digits(integer = 8, fraction = 2, message = "产品价格最多8位整数、2位小数")
+    private BigDecimal price;
+
+    /**
+     * 新的可用状态
+     */
+    private Boolean available;
+
+    /**
+     * 新分类
+     */
+    @Size(min = 1, max = 50, message = "产品分类长度必须在1-50之间")
+    private String category;
+
+    /**
+     * 是否包含至少一个要更新的字段
+     *
+     * @return true表示包含更新字段
+     */
+    public boolean hasChanges() {
+        return price != null || available != null || category != null;
+    }
+}
@@ -20,6 +20,11 @@ public class ProductDTO {
      */
     private Long id;
     
+    /**
+     * 库存单位编码（SKU）
+     */
+    private String sku;
+    
     /**
      * 产品名称
      */
@@ -55,6 +60,11 @@ public class ProductDTO {
      */
     private LocalDateTime createdAt;
 
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+
     /**
      * 从实体对象转换为DTO对象
      * 
@@ -64,6 +74,7 @@ public class ProductDTO {
     public static ProductDTO fromEntity(Product product) {
         ProductDTO dto = new ProductDTO();
         dto.setId(product.getId());
+        dto.setSku(product.getSku());
         dto.setName(product.getName());
         dto.setCategory(product.getCategory());
         dto.setPrice(product.getPrice());
@@ -71,6 +82,28 @@ public class ProductDTO {
         dto.setImageUrl(product.getImageUrl());
         dto.setAvailable(product.getAvailable());
         dto.setCreatedAt(product.getCreatedAt());
+        dto.setUpdatedAt(product.getUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * 复制一个新的DTO对象
+     * 缓存中的对象为多个请求共享，返回给调用方前复制，调用方的修改不会影响缓存
+     * 
+     * @return 字段相同的新DTO对象
+     */
+    public ProductDTO copy() {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setSku(sku);
+        dto.setName(name);
+        dto.setCategory(category);
+        dto.setPrice(price);
+        dto.setDescription(description);
+        dto.setImageUrl(imageUrl);
+        dto.setAvailable(available);
+        dto.setCreatedAt(createdAt);
+        dto.setUpdatedAt(updatedAt);
         return dto;
     }
 }
@@ -0,0 +1,72 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 产品批量导入结果
+ * 汇总导入行数并逐行报告失败原因
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class ProductImportResult {
+
+    /**
+     * 读取的数据行数（不含表头和空行）
+     */
+    private int totalRows;
+
+    /**
+     * 成功写入（新增或更新）的行数
+     */
+    private int importedRows;
+
+    /**
+     * 失败的行数
+     */
+    private int failedRows;
+
+    /**
+     * 导入耗时（毫秒）
+     */
+    private long elapsedMillis;
+
+    /**
+     * 失败行明细，超过上限时只保留前面的部分
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 失败行明细是否因超过上限被截断
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * 导入失败的行
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * 行号，从1开始（CSV包含表头行）
+         */
+        private Integer line;
+
+        /**
+         * 该行的SKU
+         */
+        private String sku;
+
+        /**
+         * 失败原因
+         */
+        private String message;
+    }
+}
@@ -0,0 +1,65 @@
+package com.fusionorder.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 产品批量导入行
+ * 对应CSV的一行或NDJSON的一个对象，按SKU新增或更新产品
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class ProductImportRow {
+
+    /**
+     * 库存单位编码（SKU），作为新增或更新的依据
+     */
+    @NotBlank(message = "SKU不能为空")
+    @Size(max = 64, message = "SKU长度不能超过64")
+    private String sku;
+
+    /**
+     * 产品名称
+     */
+    @NotBlank(message = "产品名称不能为空")
+    @Size(max = 100, message = "产品名称长度不能超过100")
+    private String name;
+
+    /**
+     * 产品分类
+     */
+    @NotBlank(message = "产品分类不能为空")
+    @Size(max = 50, message = "产品分类长度不能超过50")
+    private String category;
+
+    /**
+     * 产品价格
+     */
+    @NotNull(message = "产品价格不能为空")
+    @DecimalMin(value = "0.01", message = "产品价格必须大于0")
+    @Digits(integer = 8, fraction = 2, message = "产品价格最多8位整数、2位小数")
+    private BigDecimal price;
+
+    /**
+     * 产品描述
+     */
+    private String description;
+
+    /**
+     * 产品图片URL
+     */
+    @Size(max = 255, message = "图片URL长度不能超过255")
+    private String imageUrl;
+
+    /**
+     * 产品是否可用，为空时默认可用
+     */
+    private Boolean available;
+}
@@ -0,0 +1,166 @@
+package com.fusionorder.dto;
+
+import com.fusionorder.exception.ValidationException;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 产品组合查询条件
+ * 关键词、分类、可用性、价格区间、排序可以任意组合，由一条动态查询在数据库中完成筛选
+ *
+ * @author FusionOrder Team
+ */
+@Data
+public class ProductQuery {
+
+    /**
+     * 搜索关键词（名称、分类、描述）
+     */
+    private String keyword;
+
+    /**
+     * 产品分类
+     */
+    private String category;
+
+    /**
+     * 是否仅查询可用产品
+     */
+    private boolean availableOnly;
+
+    /**
+     * 最低价格（含）
+     */
+    private BigDecimal minPrice;
+
+    /**
+     * 最高价格（含）
+     */
+    private BigDecimal maxPrice;
+
+    /**
+     * 排序方式，默认按创建时间倒序
+     */
+    private SortOrder sort = SortOrder.NEWEST;
+
+    /**
+     * 是否指定了关键词
+     *
+     * @return true表示指定了关键词
+     */
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+
+    /**
+     * 是否指定了分类
+     *
+     * @return true表示指定了分类
+     */
+    public boolean hasCategory() {
+        return category != null && !category.isEmpty();
+    }
+
+    /**
+     * 是否指定了价格区间
+     *
+     * @return true表示指定了最低或最高价格
+     */
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    /**
+     * 校验查询条件
+     *
+     * @throws ValidationException 价格区间不合法时抛出
+     */
+    public void validate() {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new ValidationException("最低价格不能大于最高价格");
+        }
+    }
+
+    /**
+     * 产品排序方式
+     * 每种排序都以ID作为第二排序键，保证键集分页的顺序稳定
+     */
+    public enum SortOrder {
+        /**
+         * 按创建时间倒序
+         */
+        NEWEST("createdAt", false),
+
+        /**
+         * 按价格升序
+         */
+        PRICE_ASC("price", true),
+
+        /**
+         * 按价格降序
+         */
+        PRICE_DESC("price", false);
+
+        /**
+         * 排序字段
+         */
+        private final String field;
+
+        /**
+         * 是否升序
+         */
+        private final boolean ascending;
+
+        SortOrder(String field, boolean ascending) {
+            this.field = field;
+            this.ascending = ascending;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        /**
+         * 转换为Spring Data排序对象
+         *
+         * @return 排序对象
+         */
+        public Sort toSort() {
+            Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+            return Sort.by(direction, field).and(Sort.by(direction, "id"));
+        }
+
+        /**
+         * 读取产品在排序字段上的值，用于生成游标
+         *
+         * @param product 产品摘要
+         * @return 排序字段值的字符串形式
+         */
+        public String sortValueOf(ProductSummaryDTO product) {
+            return "price".equals(field) ? product.getPrice().toPlainString() : product.getCreatedAt().toString();
+        }
+
+        /**
+         * 解析游标中的排序字段值
+         *
+         * @param value 排序字段值的字符串形式
+         * @return 可比较的排序字段值
+         * @throws ValidationException 格式不正确时抛出
+         */
+        public Comparable<?> parseSortValue(String value) {
+            try {
+                return "price".equals(field) ? new BigDecimal(value) : LocalDateTime.parse(value);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new ValidationException("分页游标格式不正确");
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 产品摘要数据传输对象
+ * 用于列表展示，不包含产品描述等大字段，由查询直接构造而不加载实体
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+
+    /**
+     * 产品ID
+     */
+    private Long id;
+
+    /**
+     * 库存单位编码（SKU）
+     */
+    private String sku;
+
+    /**
+     * 产品名称
+     */
+    private String name;
+
+    /**
+     * 产品分类
+     */
+    private String category;
+
+    /**
+     * 产品价格
+     */
+    private BigDecimal price;
+
+    /**
+     * 产品图片URL
+     */
+    private String imageUrl;
+
+    /**
+     * 产品是否可用
+     */
+    private Boolean available;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.fusionorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 限流统计信息
+ *
+ * @author FusionOrder Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitStatsDTO {
+
+    /**
+     * 启动以来被拒绝（返回429）的请求数
+     */
+    private Long rejectedCount;
+
+    /**
+     * 客户端令牌桶缓存统计
+     */
+    private CacheStatsDTO buckets;
+}
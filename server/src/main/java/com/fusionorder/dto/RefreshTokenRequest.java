@@ -0,0 +1,20 @@
+package com.fusionorder.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * 刷新Token请求数据传输对象
+ * 用于刷新访问Token和登出
+ * 
+ * @author FusionOrder Team
+ */
+@Data
+public class RefreshTokenRequest {
+    
+    /**
+     * 刷新Token，不能为空
+     */
+    @NotBlank(message = "刷新Token不能为空")
+    private String refreshToken;
+}
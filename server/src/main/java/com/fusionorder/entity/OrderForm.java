@@ -1,5 +1,6 @@
 package com.fusionorder.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -7,6 +8,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * 订单表单实体类
@@ -15,19 +18,36 @@ import java.time.LocalDateTime;
  * @author FusionOrder Team
  */
 @Entity
-@Table(name = "order_forms")
+@Table(name = "order_forms", indexes = {
+        @Index(name = "idx_order_forms_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_order_forms_product_created_at_id", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_order_forms_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_order_forms_product_status_created_at_id", columnList = "product_id, status, created_at, id"),
+        @Index(name = "idx_order_forms_status_updated_at", columnList = "status, updated_at"),
+        @Index(name = "idx_order_forms_submission_id", columnList = "submission_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_forms_intake_ref", columnNames = "intake_ref")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderForm {
     
     /**
-     * 订单ID，主键，自增
+     * 订单ID，主键，分段分配
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_forms")
+    @TableGenerator(name = "order_forms", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "order_forms", allocationSize = 100)
     private Long id;
     
+    /**
+     * 异步受理编号，仅异步受理的订单有值，用于重放时去重
+     */
+    @Column(name = "intake_ref", length = 36, updatable = false)
+    private String intakeRef;
+    
     /**
      * 关联的产品，多对一关系
      */
@@ -36,6 +56,14 @@ public class OrderForm {
     @NotNull(message = "产品不能为空")
     private Product product;
     
+    /**
+     * 所属的订单提交，多产品一次提交时有值，不接受客户端传入
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "submission_id", updatable = false)
+    @JsonIgnore
+    private OrderSubmission submission;
+    
     /**
      * 订货数量，不能为空，最小值1
      */
@@ -80,6 +108,13 @@ public class OrderForm {
     @Column(nullable = false, length = 20)
     private OrderStatus status = OrderStatus.PENDING;
     
+    /**
+     * 乐观锁版本号，每次修改递增
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
+    
     /**
      * 创建时间，自动设置
      */
@@ -111,6 +146,8 @@ public class OrderForm {
     
     /**
      * 订单状态枚举
+     * 状态只能按 PENDING → CONFIRMED → PROCESSING → COMPLETED 前进，未完成前可以取消，
+     * COMPLETED 和 CANCELLED 为终态
      */
     public enum OrderStatus {
         /**
@@ -136,7 +173,38 @@ public class OrderForm {
         /**
          * 已取消
          */
-        CANCELLED
+        CANCELLED;
+        
+        /**
+         * 判断能否从当前状态变更为目标状态
+         * 
+         * @param target 目标状态
+         * @return true表示允许变更
+         */
+        public boolean canTransitionTo(OrderStatus target) {
+            return switch (this) {
+                case PENDING -> target == CONFIRMED || target == CANCELLED;
+                case CONFIRMED -> target == PROCESSING || target == CANCELLED;
+                case PROCESSING -> target == COMPLETED || target == CANCELLED;
+                case COMPLETED, CANCELLED -> false;
+            };
+        }
+        
+        /**
+         * 获取可以变更为目标状态的全部来源状态，用于条件更新语句
+         * 
+         * @param target 目标状态
+         * @return 来源状态集合，目标状态不可达时为空
+         */
+        public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+            Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus status : values()) {
+                if (status.canTransitionTo(target)) {
+                    sources.add(status);
+                }
+            }
+            return sources;
+        }
     }
 }
 
@@ -0,0 +1,113 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档订单实体类
+ * 已完成、已取消且长期未变更的订单从 order_forms 移入本表，保留原订单ID和全部字段，只读；
+ * 字段名与 OrderForm 相同，订单查询条件可同时作用于两张表
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "order_forms_archive", indexes = {
+        @Index(name = "idx_order_forms_archive_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_order_forms_archive_product_created_at_id", columnList = "product_id, created_at, id"),
+        @Index(name = "idx_order_forms_archive_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_order_forms_archive_submission_id", columnList = "submission_id"),
+        @Index(name = "idx_order_forms_archive_intake_ref", columnList = "intake_ref")
+})
+@Data
+@NoArgsConstructor
+public class OrderFormArchive {
+    
+    /**
+     * 原订单ID
+     */
+    @Id
+    private Long id;
+    
+    /**
+     * 异步受理编号
+     */
+    @Column(name = "intake_ref", length = 36)
+    private String intakeRef;
+    
+    /**
+     * 关联的产品
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+    
+    /**
+     * 所属的订单提交ID
+     */
+    @Column(name = "submission_id")
+    private Long submissionId;
+    
+    /**
+     * 订货数量
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    /**
+     * 联系人姓名
+     */
+    @Column(name = "contact_name", nullable = false, length = 50)
+    private String contactName;
+    
+    /**
+     * 联系人电话
+     */
+    @Column(name = "contact_phone", nullable = false, length = 20)
+    private String contactPhone;
+    
+    /**
+     * 联系人邮箱
+     */
+    @Column(name = "contact_email", length = 100)
+    private String contactEmail;
+    
+    /**
+     * 客户需求
+     */
+    @Column(columnDefinition = "TEXT")
+    private String requirements;
+    
+    /**
+     * 订单状态，只会是 COMPLETED 或 CANCELLED
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderForm.OrderStatus status;
+    
+    /**
+     * 归档时的版本号
+     */
+    @Column(nullable = false)
+    private Long version;
+    
+    /**
+     * 创建时间
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * 最后更新时间
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * 归档时间
+     */
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
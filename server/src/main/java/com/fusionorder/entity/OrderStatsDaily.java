@@ -0,0 +1,73 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 订单每日统计实体类
+ * 按下单日期、产品、状态汇总的订单数和订货量，随订单的创建、状态变更、删除增量维护，
+ * 统计查询只扫描汇总行而不扫描订单表
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "order_stats_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_stats_daily_date_product_status",
+                columnNames = {"stat_date", "product_id", "status"})
+}, indexes = {
+        @Index(name = "idx_order_stats_daily_product_date", columnList = "product_id, stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsDaily {
+    
+    /**
+     * 统计行ID，主键，自增
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    /**
+     * 下单日期
+     */
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+    
+    /**
+     * 产品ID
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+    
+    /**
+     * 订单状态
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderForm.OrderStatus status;
+    
+    /**
+     * 订单数
+     */
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+    
+    /**
+     * 订货总量
+     */
+    @Column(name = "total_quantity", nullable = false)
+    private Long totalQuantity;
+    
+    /**
+     * 更新时间
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,74 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 订单提交实体类
+ * 客户一次提交多个产品时的订单头，保存公共的联系方式和需求；
+ * 每个产品一条 OrderForm 订单行，订单行各自流转状态
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "order_submissions")
+@Data
+@NoArgsConstructor
+public class OrderSubmission {
+    
+    /**
+     * 提交ID，主键，分段分配
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_submissions")
+    @TableGenerator(name = "order_submissions", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "order_submissions", allocationSize = 100)
+    private Long id;
+    
+    /**
+     * 联系人姓名
+     */
+    @Column(name = "contact_name", nullable = false, length = 50)
+    private String contactName;
+    
+    /**
+     * 联系人电话
+     */
+    @Column(name = "contact_phone", nullable = false, length = 20)
+    private String contactPhone;
+    
+    /**
+     * 联系人邮箱
+     */
+    @Column(name = "contact_email", length = 100)
+    private String contactEmail;
+    
+    /**
+     * 整单需求
+     */
+    @Column(columnDefinition = "TEXT")
+    private String requirements;
+    
+    /**
+     * 订单行数
+     */
+    @Column(name = "line_count", nullable = false)
+    private Integer lineCount;
+    
+    /**
+     * 创建时间，自动设置
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * 保存前自动设置创建时间
+     */
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -2,6 +2,7 @@ package com.fusionorder.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -19,19 +20,37 @@ import java.time.LocalDateTime;
  * @author FusionOrder Team
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_products_category_created_at_id", columnList = "category, created_at, id"),
+        @Index(name = "idx_products_available_created_at_id", columnList = "available, created_at, id"),
+        @Index(name = "idx_products_category_available_created_at_id", columnList = "category, available, created_at, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_category_price_id", columnList = "category, price, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_products_sku", columnNames = "sku")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     
     /**
-     * 产品ID，主键，自增
+     * 产品ID，主键，分段分配
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "products")
+    @TableGenerator(name = "products", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "products", allocationSize = 100)
     private Long id;
     
+    /**
+     * 库存单位编码（SKU），可为空，非空时唯一，批量导入按SKU新增或更新
+     */
+    @Column(length = 64)
+    @Size(max = 64, message = "SKU长度不能超过64")
+    private String sku;
+    
     /**
      * 产品名称，不能为空，最大长度100
      */
@@ -74,6 +93,22 @@ public class Product {
     @Column(nullable = false)
     private Boolean available = true;
     
+    /**
+     * 库存，为空表示不限库存，不能为负数
+     * 只在创建时随实体写入，之后由 InventoryService 以条件UPDATE修改，实体保存不会覆盖并发扣减的结果
+     */
+    @Column(updatable = false)
+    @Min(value = 0, message = "库存不能为负数")
+    private Integer stock;
+    
+    /**
+     * 库存代次，每次设置库存时加一
+     * 热点产品按代次领取和归还库存，设置库存之前领取的余量不再归还；由 InventoryService 维护，实体保存不写入
+     */
+    @Column(name = "stock_generation", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long stockGeneration;
+    
     /**
      * 创建时间，自动设置
      */
@@ -0,0 +1,78 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新Token实体类
+ * 只保存Token的SHA-256摘要，不保存原文；每次刷新后原Token作废并签发同一家族的新Token，
+ * 已作废的Token再次使用时视为泄露，整个家族一并作废
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+    @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+    @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+    
+    /**
+     * 刷新Token ID，主键，分段分配
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "refresh_tokens")
+    @TableGenerator(name = "refresh_tokens", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "refresh_tokens", allocationSize = 100)
+    private Long id;
+    
+    /**
+     * Token原文的SHA-256摘要（十六进制）
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64, updatable = false)
+    private String tokenHash;
+    
+    /**
+     * 所属用户ID
+     */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+    
+    /**
+     * Token家族ID，同一次登录轮换出的Token属于同一家族
+     */
+    @Column(name = "family_id", nullable = false, length = 36, updatable = false)
+    private String familyId;
+    
+    /**
+     * 过期时间
+     */
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+    
+    /**
+     * 作废时间（已刷新、已登出或已被吊销），有效的Token为空
+     */
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+    
+    /**
+     * 创建时间，自动设置
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    /**
+     * 保存前自动设置创建时间
+     */
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
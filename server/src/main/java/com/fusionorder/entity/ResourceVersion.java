@@ -0,0 +1,34 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 资源版本号实体类
+ * 每类可缓存资源一行，资源写操作在同一事务内递增版本号，
+ * 所有节点读取同一个版本号生成ETag
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "resource_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceVersion {
+    
+    /**
+     * 资源名称
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+    
+    /**
+     * 当前版本号
+     */
+    @Column(nullable = false)
+    private Long version;
+}
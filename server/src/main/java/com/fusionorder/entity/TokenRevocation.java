@@ -0,0 +1,73 @@
+package com.fusionorder.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token吊销记录实体类
+ * 吊销单个访问Token（登出）或某个用户在某一时刻之前签发的全部访问Token（禁用、改角色、改密码等）。
+ * 访问Token有效期很短，记录只需保留到被吊销的Token全部过期为止
+ * 
+ * @author FusionOrder Team
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+    @Index(name = "idx_token_revocations_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class TokenRevocation {
+    
+    /**
+     * 记录ID，主键，分段分配
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "token_revocations")
+    @TableGenerator(name = "token_revocations", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "token_revocations", allocationSize = 100)
+    private Long id;
+    
+    /**
+     * 吊销类型
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10, updatable = false)
+    private Type type;
+    
+    /**
+     * 吊销对象：TOKEN 为Token的jti，USER 为用户名
+     */
+    @Column(nullable = false, length = 64, updatable = false)
+    private String subject;
+    
+    /**
+     * 吊销时间，USER 类型吊销此前签发的全部Token
+     */
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+    
+    /**
+     * 记录失效时间，此后被吊销的Token均已过期，记录可以删除
+     */
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+    
+    /**
+     * 吊销类型枚举
+     */
+    public enum Type {
+        /**
+         * 单个Token
+         */
+        TOKEN,
+        
+        /**
+         * 用户在吊销时间之前签发的全部Token
+         */
+        USER
+    }
+}
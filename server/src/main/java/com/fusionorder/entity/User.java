@@ -24,10 +24,12 @@ import java.time.LocalDateTime;
 public class User {
     
     /**
-     * 用户ID，主键，自增
+     * 用户ID，主键，分段分配
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users")
+    @TableGenerator(name = "users", table = "id_allocations", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 100)
     private Long id;
     
     /**
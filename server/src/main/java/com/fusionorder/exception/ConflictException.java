@@ -0,0 +1,16 @@
+package com.fusionorder.exception;
+
+/**
+ * 冲突异常
+ * 当请求与正在处理的同一请求冲突时抛出此异常，客户端可稍后重试
+ */
+public class ConflictException extends RuntimeException {
+    
+    /**
+     * 构造函数
+     * @param message 错误消息
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.fusionorder.exception;
 
 import com.fusionorder.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -60,6 +61,31 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.badRequest(e.getMessage()));
     }
 
+    /**
+     * 处理冲突异常
+     * @param e ConflictException异常
+     * @return 统一响应格式
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Object>> handleConflict(ConflictException e) {
+        log.warn("请求冲突: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage()));
+    }
+
+    /**
+     * 处理服务繁忙异常
+     * @param e ServiceUnavailableException异常
+     * @return 统一响应格式，带 Retry-After 响应头
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceUnavailable(ServiceUnavailableException e) {
+        log.warn("服务繁忙: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
     /**
      * 处理参数校验异常
      * @param e MethodArgumentNotValidException异常
@@ -0,0 +1,16 @@
+package com.fusionorder.exception;
+
+/**
+ * 服务繁忙异常
+ * 当处理能力已满、请求被快速拒绝时抛出此异常，客户端可按 Retry-After 稍后重试
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    /**
+     * 构造函数
+     * @param message 错误消息
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
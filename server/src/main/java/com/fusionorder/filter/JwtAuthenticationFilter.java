@@ -1,11 +1,14 @@
 package com.fusionorder.filter;
 
-import com.fusionorder.util.JwtUtil;
+import com.fusionorder.service.TokenRevocationService;
+import com.fusionorder.service.VerifiedTokenCache;
+import com.fusionorder.util.JwtPrincipal;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,7 +20,8 @@ import java.util.Collections;
 
 /**
  * JWT认证过滤器
- * 在每个请求中验证JWT Token，并将用户信息设置到Spring Security上下文中
+ * 在每个请求中验证JWT Token，并将用户信息设置到Spring Security上下文中；
+ * Token无效、过期或已被吊销时按匿名请求处理，并在响应头 WWW-Authenticate 中标明，客户端据此刷新Token
  * 
  * @author FusionOrder Team
  */
@@ -25,10 +29,21 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
-     * JWT工具类，用于解析和验证Token
+     * Token无效时的认证质询（RFC 6750）
+     */
+    private static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+
+    /**
+     * 已验证Token缓存，用于解析和验证Token
+     */
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * 访问Token吊销服务，每个请求在内存中检查，不访问数据库
      */
     @Autowired
-    private JwtUtil jwtUtil;
+    private TokenRevocationService tokenRevocationService;
 
     /**
      * 过滤器核心方法
@@ -66,19 +81,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 如果存在Token，进行验证
             if (token != null && !token.isEmpty()) {
                 try {
-                    // 从Token中提取用户名
-                    String username = jwtUtil.getUsernameFromToken(token);
-                    
-                    // 验证Token是否有效（未过期且用户名匹配）
-                    if (username != null && jwtUtil.validateToken(token, username)) {
-                        // 从Token中提取角色信息
-                        String role = jwtUtil.getRoleFromToken(token);
-
-                        // 创建认证对象，设置用户名和角色
+                    // 验签并解析一次，得到用户名、角色和过期时间（过期的Token在解析时即被拒绝）；
+                    // 同一Token再次携带时直接使用缓存的结果
+                    JwtPrincipal principal = verifiedTokenCache.resolve(token);
+                    if (tokenRevocationService.isRevoked(principal)) {
+                        // 已吊销的Token（登出、账户被禁用或权限变更）按匿名请求处理
+                        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, INVALID_TOKEN_CHALLENGE);
+                    } else if (principal.username() != null) {
+                        // 创建认证对象，以解析结果作为认证主体
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                username,
+                                principal,
                                 null,  // 不需要密码凭证
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role()))
                         );
 
                         // 将认证信息设置到Spring Security上下文
@@ -88,6 +102,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // Token无效或过期，清除认证信息，继续处理请求
                     // 这样公开接口仍然可以访问
                     SecurityContextHolder.clearContext();
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, INVALID_TOKEN_CHALLENGE);
                 }
             }
             
@@ -0,0 +1,180 @@
+package com.fusionorder.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.config.RateLimitProperties;
+import com.fusionorder.dto.ApiResponse;
+import com.fusionorder.dto.RateLimitStatsDTO;
+import com.fusionorder.util.BoundedTtlCache;
+import com.fusionorder.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 限流过滤器
+ * 按路由、客户端地址分配令牌桶，令牌不足时直接返回429和 Retry-After，
+ * 请求不会进入JWT解析、业务处理和数据库访问，异常流量不会占满Tomcat线程和数据库连接。
+ * 令牌桶保存在分段加锁的有界缓存中，按空闲时间过期，客户端数量再多也不会无限占用内存
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * 限流配置
+     */
+    private final RateLimitProperties properties;
+
+    /**
+     * JSON序列化，输出429响应体
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 客户端令牌桶，键为 路由名称 + 客户端地址
+     */
+    private final BoundedTtlCache<String, TokenBucket> buckets;
+
+    /**
+     * 可信代理地址匹配器
+     */
+    private final List<IpAddressMatcher> trustedProxies;
+
+    /**
+     * 路径匹配器
+     */
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 被拒绝的请求数
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param properties 限流配置
+     * @param objectMapper JSON序列化
+     */
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.buckets = new BoundedTtlCache<>("rate-limit-buckets", properties.getMaximumClients(),
+                Duration.ofSeconds(properties.getIdleTtlSeconds()), true);
+        this.trustedProxies = properties.getTrustedProxies().stream().map(IpAddressMatcher::new).toList();
+    }
+
+    /**
+     * 获取限流统计信息
+     *
+     * @return 被拒绝的请求数和令牌桶缓存统计
+     */
+    public RateLimitStatsDTO stats() {
+        return new RateLimitStatsDTO(rejected.sum(), buckets.stats());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String client = clientAddress(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.getOrLoad(route.getName() + '|' + client,
+                key -> new TokenBucket(route.getCapacity(), route.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos == 0L) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.increment();
+        long retryAfter = Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("请求被限流, route: {}, client: {}, retryAfter: {}s", route.getName(), client, retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请稍后重试"));
+    }
+
+    /**
+     * 按顺序匹配第一条路由
+     */
+    private RateLimitProperties.Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod().toUpperCase(Locale.ROOT);
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (!route.getMethods().isEmpty()
+                    && route.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(method))) {
+                continue;
+            }
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 识别客户端地址
+     * 信任 X-Forwarded-For 时从最右侧向左跳过可信代理，最右侧的地址由直接相连的代理写入，客户端无法伪造
+     */
+    private String clientAddress(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        String forwarded = properties.isTrustForwardedFor() ? request.getHeader("X-Forwarded-For") : null;
+        if (forwarded == null || forwarded.isBlank()) {
+            return client;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 判断地址是否为可信代理，不是IP地址的值（如 unknown）不可信，也不做域名解析
+     */
+    private boolean isTrustedProxy(String address) {
+        boolean literal = address.chars().allMatch(c -> Character.digit(c, 16) >= 0 || c == '.' || c == ':');
+        if (!literal) {
+            return false;
+        }
+        return trustedProxies.stream().anyMatch(matcher -> matcher.matches(address));
+    }
+}
@@ -0,0 +1,38 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.entity.OrderFormArchive;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 归档订单数据访问层
+ * 归档表只读，写入由 OrderArchiveService 以批量语句完成
+ * 
+ * @author FusionOrder Team
+ */
+@Repository
+public interface OrderFormArchiveRepository extends JpaRepository<OrderFormArchive, Long>,
+        OrderFormArchiveRepositoryCustom {
+    
+    /**
+     * 根据原订单ID查询归档订单，同一条语句中抓取关联产品
+     * 
+     * @param id 原订单ID
+     * @return 归档订单
+     */
+    @EntityGraph(attributePaths = "product")
+    Optional<OrderFormArchive> findWithProductById(Long id);
+    
+    /**
+     * 查询一次提交中已归档的订单行，同一条语句中抓取关联产品
+     * 
+     * @param submissionId 订单提交ID
+     * @return 归档订单行列表
+     */
+    @EntityGraph(attributePaths = "product")
+    List<OrderFormArchive> findBySubmissionId(Long submissionId);
+}
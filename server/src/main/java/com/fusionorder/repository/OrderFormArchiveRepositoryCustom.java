@@ -0,0 +1,36 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderFormArchive;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 归档订单数据访问层扩展
+ * 与在线订单相同的投影查询和流式导出查询
+ *
+ * @author FusionOrder Team
+ */
+public interface OrderFormArchiveRepositoryCustom {
+
+    /**
+     * 按创建时间、ID倒序查询满足条件的归档订单摘要
+     *
+     * @param specification 查询规格
+     * @param limit 最大返回条数
+     * @return 订单摘要列表
+     */
+    List<OrderFormSummaryDTO> findNewestSummaries(Specification<OrderFormArchive> specification, int limit);
+
+    /**
+     * 按创建时间、ID正序流式读取满足条件的归档订单，用于导出
+     * 必须在事务内调用，并在使用完后关闭返回的流
+     *
+     * @param specification 查询规格
+     * @return 订单DTO流
+     */
+    Stream<OrderFormDTO> streamForExport(Specification<OrderFormArchive> specification);
+}
@@ -0,0 +1,35 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderFormArchive;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 归档订单数据访问层扩展实现
+ *
+ * @author FusionOrder Team
+ */
+public class OrderFormArchiveRepositoryImpl implements OrderFormArchiveRepositoryCustom {
+
+    /**
+     * 实体管理器
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderFormSummaryDTO> findNewestSummaries(Specification<OrderFormArchive> specification, int limit) {
+        return OrderProjections.findNewestSummaries(entityManager, OrderFormArchive.class, specification, limit);
+    }
+
+    @Override
+    public Stream<OrderFormDTO> streamForExport(Specification<OrderFormArchive> specification) {
+        return OrderProjections.streamForExport(entityManager, OrderFormArchive.class, specification);
+    }
+}
@@ -1,34 +1,159 @@
 package com.fusionorder.repository;
 
+import com.fusionorder.dto.OrderFormSummaryDTO;
 import com.fusionorder.entity.OrderForm;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 订单表单数据访问层
- * 提供订单表单数据的增删改查操作，包括按产品ID、状态查询
+ * 提供订单表单数据的增删改查操作，包括按产品ID、状态查询；
+ * 列表查询使用构造表达式直接返回订单摘要，不加载实体；
+ * 返回实体的查询通过实体图一并抓取关联产品，避免转换DTO时逐条加载产品（N+1查询）；
+ * 组合条件分页查询见 OrderFormRepositoryCustom 和 OrderFormSpecifications
  * 
  * @author FusionOrder Team
  */
 @Repository
-public interface OrderFormRepository extends JpaRepository<OrderForm, Long> {
+public interface OrderFormRepository extends JpaRepository<OrderForm, Long>, JpaSpecificationExecutor<OrderForm>,
+        OrderFormRepositoryCustom {
     
     /**
-     * 根据产品ID查询订单列表
+     * 订单摘要构造查询的公共部分
+     */
+    String SUMMARY_SELECT = "SELECT new com.fusionorder.dto.OrderFormSummaryDTO(o.id, p.id, p.name, o.quantity, o.contactName, "
+            + "o.contactPhone, o.contactEmail, o.status, o.version, o.createdAt) FROM OrderForm o JOIN o.product p ";
+    
+    /**
+     * 查询所有订单，同一条语句中抓取关联产品
+     * 
+     * @return 订单列表
+     */
+    @Override
+    @EntityGraph(attributePaths = "product")
+    List<OrderForm> findAll();
+    
+    /**
+     * 根据ID查询订单，同一条语句中抓取关联产品
+     * 用于订单详情和状态更新，避免转换DTO时再单独查询产品
+     * 
+     * @param id 订单ID
+     * @return 订单
+     */
+    @EntityGraph(attributePaths = "product")
+    Optional<OrderForm> findWithProductById(Long id);
+    
+    /**
+     * 根据ID查询并锁定订单（SELECT ... FOR UPDATE），锁持有到事务结束
+     * 用于需要读取变更前状态的更新和删除，保证读取到的状态在修改前不被并发改变
+     * 
+     * @param id 订单ID
+     * @return 订单
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OrderForm> findForUpdateById(Long id);
+    
+    /**
+     * 根据产品ID查询订单列表，同一条语句中抓取关联产品
      * 
      * @param productId 产品ID
      * @return 订单列表
      */
+    @EntityGraph(attributePaths = "product")
     List<OrderForm> findByProductId(Long productId);
     
     /**
-     * 根据订单状态查询订单列表
+     * 根据订单状态查询订单列表，同一条语句中抓取关联产品
      * 
      * @param status 订单状态
      * @return 订单列表
      */
+    @EntityGraph(attributePaths = "product")
     List<OrderForm> findByStatus(OrderForm.OrderStatus status);
+    
+    /**
+     * 查询一次提交的全部订单行，同一条语句中抓取关联产品
+     * 
+     * @param submissionId 订单提交ID
+     * @return 订单行列表，按ID排序
+     */
+    @EntityGraph(attributePaths = "product")
+    List<OrderForm> findBySubmissionIdOrderById(Long submissionId);
+    
+    /**
+     * 查询所有订单摘要
+     * 连同产品名称一次查出，只读取列表展示需要的列
+     * 
+     * @return 订单摘要列表
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY o.id")
+    List<OrderFormSummaryDTO> findAllSummaries();
+    
+    /**
+     * 根据产品ID查询订单摘要
+     * 
+     * @param productId 产品ID
+     * @return 订单摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.id = :productId ORDER BY o.id")
+    List<OrderFormSummaryDTO> findSummariesByProductId(@Param("productId") Long productId);
+    
+    /**
+     * 根据订单状态查询订单摘要
+     * 
+     * @param status 订单状态
+     * @return 订单摘要列表
+     */
+    @Query(SUMMARY_SELECT + "WHERE o.status = :status ORDER BY o.id")
+    List<OrderFormSummaryDTO> findSummariesByStatus(@Param("status") OrderForm.OrderStatus status);
+    
+    /**
+     * 条件更新单个订单状态
+     * 仅当订单当前状态属于允许的来源状态（且版本号匹配，如指定）时更新，一条语句完成校验和修改
+     * 
+     * @param id 订单ID
+     * @param status 目标状态
+     * @param sources 允许的来源状态
+     * @param expectedVersion 期望的版本号，为null时不校验
+     * @param now 更新时间
+     * @return 更新的行数，0表示订单不存在、状态不允许变更或版本号不匹配
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderForm o SET o.status = :status, o.updatedAt = :now, o.version = o.version + 1 "
+            + "WHERE o.id = :id AND o.status IN :sources AND (:expectedVersion IS NULL OR o.version = :expectedVersion)")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("status") OrderForm.OrderStatus status,
+                         @Param("sources") Collection<OrderForm.OrderStatus> sources,
+                         @Param("expectedVersion") Long expectedVersion,
+                         @Param("now") LocalDateTime now);
+    
+    /**
+     * 条件批量更新订单状态
+     * 只有当前状态属于允许的来源状态的订单会被更新
+     * 
+     * @param ids 订单ID集合
+     * @param status 目标状态
+     * @param sources 允许的来源状态
+     * @param now 更新时间
+     * @return 更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderForm o SET o.status = :status, o.updatedAt = :now, o.version = o.version + 1 "
+            + "WHERE o.id IN :ids AND o.status IN :sources")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("status") OrderForm.OrderStatus status,
+                           @Param("sources") Collection<OrderForm.OrderStatus> sources,
+                           @Param("now") LocalDateTime now);
 }
-
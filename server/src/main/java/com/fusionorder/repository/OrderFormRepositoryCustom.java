@@ -0,0 +1,38 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderForm;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 订单数据访问层扩展
+ * 提供 Spring Data 派生查询无法表达的动态投影查询和流式导出查询
+ *
+ * @author FusionOrder Team
+ */
+public interface OrderFormRepositoryCustom {
+
+    /**
+     * 按创建时间、ID倒序查询满足条件的订单摘要
+     * 连同产品名称一次查出，直接构造DTO而不加载实体
+     *
+     * @param specification 查询规格
+     * @param limit 最大返回数量
+     * @return 订单摘要列表
+     */
+    List<OrderFormSummaryDTO> findNewestSummaries(Specification<OrderForm> specification, int limit);
+
+    /**
+     * 按创建时间、ID正序流式读取满足条件的订单（含产品名称和客户需求），用于导出
+     * 使用只进游标逐行读取，不加载实体，内存占用与结果集大小无关；
+     * 必须在事务内调用，并在使用完后关闭返回的流
+     *
+     * @param specification 查询规格
+     * @return 订单DTO流
+     */
+    Stream<OrderFormDTO> streamForExport(Specification<OrderForm> specification);
+}
@@ -0,0 +1,36 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderForm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 订单数据访问层扩展实现
+ * 使用 Criteria API 生成投影查询和流式导出查询
+ *
+ * @author FusionOrder Team
+ */
+public class OrderFormRepositoryImpl implements OrderFormRepositoryCustom {
+
+    /**
+     * 实体管理器
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderFormSummaryDTO> findNewestSummaries(Specification<OrderForm> specification, int limit) {
+        return OrderProjections.findNewestSummaries(entityManager, OrderForm.class, specification, limit);
+    }
+
+    @Override
+    public Stream<OrderFormDTO> streamForExport(Specification<OrderForm> specification) {
+        return OrderProjections.streamForExport(entityManager, OrderForm.class, specification);
+    }
+}
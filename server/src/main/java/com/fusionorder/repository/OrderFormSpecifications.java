@@ -0,0 +1,81 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 订单动态查询条件
+ * 将 OrderQuery 中的各项条件组合为一条 Specification，配合 (created_at, id) 键集分页使用；
+ * OrderForm 与 OrderFormArchive 字段名相同，条件可作用于在线表和归档表
+ *
+ * @author FusionOrder Team
+ */
+public final class OrderFormSpecifications {
+
+    private OrderFormSpecifications() {
+    }
+
+    /**
+     * 根据组合查询条件生成查询规格
+     *
+     * @param query 组合查询条件
+     * @param <T> 订单实体类型
+     * @return 查询规格
+     */
+    public static <T> Specification<T> matching(OrderQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.getProductId() != null) {
+                predicates.add(cb.equal(root.get("product").get("id"), query.getProductId()));
+            }
+            if (query.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), query.getStatus()));
+            }
+            if (query.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), query.getCreatedFrom()));
+            }
+            if (query.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), query.getCreatedTo()));
+            }
+            if (query.hasContact()) {
+                String contact = query.getContact().trim();
+                String pattern = "%" + escapeLike(contact.toLowerCase(Locale.ROOT)) + "%";
+                // 电话、邮箱通常按开头输入，使用前缀匹配
+                String prefix = escapeLike(contact) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("contactName")), pattern, '\\'),
+                        cb.like(root.get("contactPhone"), prefix, '\\'),
+                        cb.like(root.get("contactEmail"), prefix, '\\')));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 键集分页条件：按 (createdAt, id) 倒序时只返回排在游标之后的记录
+     *
+     * @param createdAt 游标中最后一条记录的创建时间
+     * @param lastId 游标中最后一条记录的ID
+     * @param <T> 订单实体类型
+     * @return 查询规格
+     */
+    public static <T> Specification<T> before(LocalDateTime createdAt, Long lastId) {
+        return (root, criteriaQuery, cb) -> {
+            Path<LocalDateTime> field = root.get("createdAt");
+            Path<Long> id = root.get("id");
+            return cb.or(cb.lessThan(field, createdAt),
+                    cb.and(cb.equal(field, createdAt), cb.lessThan(id, lastId)));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
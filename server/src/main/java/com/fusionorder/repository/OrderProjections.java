@@ -0,0 +1,98 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 订单投影查询
+ * 在线订单表和归档订单表字段名相同，共用同一组 Criteria 投影查询
+ *
+ * @author FusionOrder Team
+ */
+final class OrderProjections {
+
+    private OrderProjections() {
+    }
+
+    /**
+     * 按创建时间、ID倒序查询满足条件的订单摘要
+     *
+     * @param entityManager 实体管理器
+     * @param entityClass 订单实体类型
+     * @param specification 查询规格
+     * @param limit 最大返回条数
+     * @param <T> 订单实体类型
+     * @return 订单摘要列表
+     */
+    static <T> List<OrderFormSummaryDTO> findNewestSummaries(EntityManager entityManager, Class<T> entityClass,
+                                                             Specification<T> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderFormSummaryDTO> query = cb.createQuery(OrderFormSummaryDTO.class);
+        Root<T> root = query.from(entityClass);
+        Join<T, Product> product = root.join("product");
+        query.select(cb.construct(OrderFormSummaryDTO.class,
+                root.get("id"), product.get("id"), product.get("name"), root.get("quantity"),
+                root.get("contactName"), root.get("contactPhone"), root.get("contactEmail"),
+                root.get("status"), root.get("version"), root.get("createdAt")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * 按创建时间、ID正序以只进游标流式读取满足条件的订单
+     *
+     * @param entityManager 实体管理器
+     * @param entityClass 订单实体类型
+     * @param specification 查询规格
+     * @param <T> 订单实体类型
+     * @return 订单DTO流，使用完后必须关闭
+     */
+    static <T> Stream<OrderFormDTO> streamForExport(EntityManager entityManager, Class<T> entityClass,
+                                                    Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        Join<T, Product> product = root.join("product");
+        query.multiselect(root.get("id"), root.get("intakeRef"), product.get("id"), product.get("name"),
+                root.get("quantity"), root.get("contactName"), root.get("contactPhone"), root.get("contactEmail"),
+                root.get("requirements"), root.get("status"), root.get("version"), root.get("createdAt"));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+        // MySQL驱动在只进、只读且fetchSize为Integer.MIN_VALUE时逐行流式返回结果，而不是一次读入全部结果集
+        return entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, Integer.MIN_VALUE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> {
+                    OrderFormDTO dto = new OrderFormDTO();
+                    dto.setId(tuple.get(0, Long.class));
+                    dto.setIntakeRef(tuple.get(1, String.class));
+                    dto.setProductId(tuple.get(2, Long.class));
+                    dto.setProductName(tuple.get(3, String.class));
+                    dto.setQuantity(tuple.get(4, Integer.class));
+                    dto.setContactName(tuple.get(5, String.class));
+                    dto.setContactPhone(tuple.get(6, String.class));
+                    dto.setContactEmail(tuple.get(7, String.class));
+                    dto.setRequirements(tuple.get(8, String.class));
+                    dto.setStatus(tuple.get(9, OrderForm.OrderStatus.class));
+                    dto.setVersion(tuple.get(10, Long.class));
+                    dto.setCreatedAt(tuple.get(11, LocalDateTime.class));
+                    return dto;
+                });
+    }
+}
@@ -0,0 +1,15 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.entity.OrderSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 订单提交数据访问层
+ * 订单行保存在订单表中，通过 submission_id 关联
+ * 
+ * @author FusionOrder Team
+ */
+@Repository
+public interface OrderSubmissionRepository extends JpaRepository<OrderSubmission, Long> {
+}
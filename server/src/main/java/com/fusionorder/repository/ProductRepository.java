@@ -2,18 +2,25 @@ package com.fusionorder.repository;
 
 import com.fusionorder.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * 产品数据访问层
- * 提供产品数据的增删改查操作，包括按分类、可用性、名称查询
+ * 提供产品数据的增删改查操作，包括按分类、可用性、名称查询，
+ * 组合条件查询通过 JpaSpecificationExecutor 配合 ProductSpecifications 完成，
+ * 批量更新等集合式操作见 ProductRepositoryCustom
  * 
  * @author FusionOrder Team
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductRepositoryCustom {
     
     /**
      * 根据分类查询产品列表
@@ -37,5 +44,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @return 匹配的产品列表
      */
     List<Product> findByNameContainingIgnoreCase(String name);
+    
+    /**
+     * 判断SKU是否已被使用
+     * 
+     * @param sku 库存单位编码
+     * @return true表示已存在
+     */
+    boolean existsBySku(String sku);
+    
+    /**
+     * 判断SKU是否已被其他产品使用
+     * 
+     * @param sku 库存单位编码
+     * @param id 当前产品ID
+     * @return true表示已被其他产品使用
+     */
+    boolean existsBySkuAndIdNot(String sku, Long id);
+    
+    /**
+     * 查询一批产品涉及的分类
+     * 
+     * @param ids 产品ID集合
+     * @return 去重后的分类列表
+     */
+    @Query("SELECT DISTINCT p.category FROM Product p WHERE p.id IN :ids")
+    List<String> findDistinctCategoriesByIdIn(@Param("ids") Collection<Long> ids);
 }
-
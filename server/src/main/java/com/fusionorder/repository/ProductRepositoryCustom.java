@@ -0,0 +1,51 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.ProductSummaryDTO;
+import com.fusionorder.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 产品数据访问层扩展
+ * 提供 Spring Data 派生查询无法表达的集合式操作
+ *
+ * @author FusionOrder Team
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * 查询满足条件的产品ID，只读取主键列
+     *
+     * @param specification 查询规格
+     * @return 产品ID列表
+     */
+    List<Long> findIds(Specification<Product> specification);
+
+    /**
+     * 查询满足条件的产品摘要，只读取列表展示需要的列，直接构造DTO而不加载实体
+     *
+     * @param specification 查询规格
+     * @param sort 排序
+     * @param limit 最大返回数量
+     * @return 产品摘要列表
+     */
+    List<ProductSummaryDTO> findSummaries(Specification<Product> specification, Sort sort, int limit);
+
+    /**
+     * 以一条UPDATE语句批量更新产品的价格、可用性、分类，参数为null的字段保持不变，
+     * 同时刷新更新时间；语句绕过持久化上下文，调用方需自行处理缓存
+     *
+     * @param ids 产品ID集合
+     * @param price 新价格
+     * @param available 新的可用状态
+     * @param category 新分类
+     * @param updatedAt 更新时间
+     * @return 更新的行数
+     */
+    int bulkUpdate(Collection<Long> ids, BigDecimal price, Boolean available, String category, LocalDateTime updatedAt);
+}
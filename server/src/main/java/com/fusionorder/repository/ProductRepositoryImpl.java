@@ -0,0 +1,78 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.ProductSummaryDTO;
+import com.fusionorder.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 产品数据访问层扩展实现
+ * 使用 Criteria API 生成投影查询和集合式更新语句
+ *
+ * @author FusionOrder Team
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    /**
+     * 实体管理器
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(root.get("id")).where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<ProductSummaryDTO> findSummaries(Specification<Product> specification, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummaryDTO> query = cb.createQuery(ProductSummaryDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductSummaryDTO.class,
+                root.get("id"), root.get("sku"), root.get("name"), root.get("category"), root.get("price"),
+                root.get("imageUrl"), root.get("available"), root.get("createdAt"), root.get("updatedAt")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int bulkUpdate(Collection<Long> ids, BigDecimal price, Boolean available, String category,
+                          LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Product> update = cb.createCriteriaUpdate(Product.class);
+        Root<Product> root = update.from(Product.class);
+        if (price != null) {
+            update.set(root.<BigDecimal>get("price"), price);
+        }
+        if (available != null) {
+            update.set(root.<Boolean>get("available"), available);
+        }
+        if (category != null) {
+            update.set(root.<String>get("category"), category);
+        }
+        update.set(root.<LocalDateTime>get("updatedAt"), updatedAt);
+        update.where(root.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,91 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.ProductQuery;
+import com.fusionorder.entity.Product;
+import com.fusionorder.util.SearchTokenizer;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 产品动态查询条件
+ * 将 ProductQuery 中的各项条件组合为一条 Specification，由数据库一次完成筛选、排序和键集分页
+ *
+ * @author FusionOrder Team
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * 根据组合查询条件生成查询规格
+     *
+     * @param query 组合查询条件
+     * @param candidateIds 搜索索引给出的关键词候选产品ID，为null时对名称、分类、描述做模糊匹配
+     * @return 查询规格
+     */
+    public static Specification<Product> matching(ProductQuery query, Collection<Long> candidateIds) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.hasKeyword()) {
+                if (candidateIds != null) {
+                    predicates.add(root.get("id").in(candidateIds));
+                } else {
+                    // 与搜索索引相同的语义：每个查询单词都要出现在名称、分类或描述中，没有可检索单词时不匹配
+                    List<String> words = SearchTokenizer.queryWords(query.getKeyword());
+                    if (words.isEmpty()) {
+                        predicates.add(cb.disjunction());
+                    }
+                    for (String word : words) {
+                        String pattern = "%" + word + "%";
+                        predicates.add(cb.or(
+                                cb.like(cb.lower(root.get("name")), pattern),
+                                cb.like(cb.lower(root.get("category")), pattern),
+                                cb.like(cb.lower(root.get("description")), pattern)));
+                    }
+                }
+            }
+            if (query.hasCategory()) {
+                predicates.add(cb.equal(root.get("category"), query.getCategory()));
+            }
+            if (query.isAvailableOnly()) {
+                predicates.add(cb.isTrue(root.get("available")));
+            }
+            if (query.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), query.getMinPrice()));
+            }
+            if (query.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), query.getMaxPrice()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * 键集分页条件：只返回排在游标之后的记录
+     * 升序时为 (field, id) &gt; (value, lastId)，降序时为 (field, id) &lt; (value, lastId)
+     *
+     * @param sort 排序方式
+     * @param sortValue 游标中最后一条记录的排序字段值
+     * @param lastId 游标中最后一条记录的ID
+     * @return 查询规格
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> after(ProductQuery.SortOrder sort, Comparable sortValue, Long lastId) {
+        return (root, criteriaQuery, cb) -> {
+            Path<Comparable> field = root.get(sort.getField());
+            Path<Long> id = root.get("id");
+            if (sort.isAscending()) {
+                return cb.or(cb.greaterThan(field, sortValue),
+                        cb.and(cb.equal(field, sortValue), cb.greaterThan(id, lastId)));
+            }
+            return cb.or(cb.lessThan(field, sortValue),
+                    cb.and(cb.equal(field, sortValue), cb.lessThan(id, lastId)));
+        };
+    }
+}
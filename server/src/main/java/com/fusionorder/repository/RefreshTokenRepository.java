@@ -0,0 +1,72 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 刷新Token数据访问层
+ * 
+ * @author FusionOrder Team
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * 根据Token摘要查找刷新Token
+     * 
+     * @param tokenHash Token原文的SHA-256摘要
+     * @return 刷新Token，如果不存在返回Optional.empty()
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * 作废一个仍有效的刷新Token
+     * 条件UPDATE保证同一Token并发刷新时只有一个请求成功
+     * 
+     * @param id 刷新Token ID
+     * @param now 作废时间
+     * @return 更新的行数，0表示Token已被作废
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * 作废一个家族的全部刷新Token
+     * 
+     * @param familyId Token家族ID
+     * @param now 作废时间
+     * @return 更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.familyId = :familyId AND t.usedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+    
+    /**
+     * 作废一个用户的全部刷新Token
+     * 
+     * @param userId 用户ID
+     * @param now 作废时间
+     * @return 更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.userId = :userId AND t.usedAt IS NULL")
+    int revokeByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    /**
+     * 删除已过期的刷新Token
+     * 
+     * @param now 当前时间
+     * @return 删除的行数
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
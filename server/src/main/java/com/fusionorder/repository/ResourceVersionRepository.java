@@ -0,0 +1,51 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.entity.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * 资源版本号数据访问层
+ * 
+ * @author FusionOrder Team
+ */
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+    
+    /**
+     * 查询资源当前版本号
+     * 
+     * @param name 资源名称
+     * @return 当前版本号
+     */
+    @Query("SELECT v.version FROM ResourceVersion v WHERE v.name = :name")
+    Optional<Long> findVersion(@Param("name") String name);
+    
+    /**
+     * 原子递增资源版本号
+     * 
+     * @param name 资源名称
+     * @return 更新的行数，资源不存在时为0
+     */
+    @Modifying
+    @Query("UPDATE ResourceVersion v SET v.version = v.version + 1 WHERE v.name = :name")
+    int increment(@Param("name") String name);
+    
+    /**
+     * 资源版本号记录不存在时创建，已存在时保持原值，多个节点同时执行也只会创建一行
+     * 
+     * @param name 资源名称
+     * @return 受影响的行数
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO resource_versions (name, version) VALUES (:name, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version", nativeQuery = true)
+    int createIfAbsent(@Param("name") String name);
+}
@@ -0,0 +1,46 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Token吊销记录数据访问层
+ * 
+ * @author FusionOrder Team
+ */
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    
+    /**
+     * 查找仍未失效的吊销记录，启动时加载到内存
+     * 
+     * @param now 当前时间
+     * @return 吊销记录列表
+     */
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+    
+    /**
+     * 查找指定时间之后产生的吊销记录，用于同步其他节点的吊销
+     * 
+     * @param since 起始时间
+     * @return 吊销记录列表
+     */
+    List<TokenRevocation> findByRevokedAtAfter(LocalDateTime since);
+    
+    /**
+     * 删除已失效的吊销记录
+     * 
+     * @param now 当前时间
+     * @return 删除的行数
+     */
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
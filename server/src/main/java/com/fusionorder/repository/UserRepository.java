@@ -2,6 +2,9 @@ package com.fusionorder.repository;
 
 import com.fusionorder.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -46,5 +49,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 如果存在返回true，否则返回false
      */
     Boolean existsByEmail(String email);
+    
+    /**
+     * 替换用户的加密密码
+     * 仅当密码仍是旧值时更新，期间密码被修改过则不覆盖
+     * 
+     * @param id 用户ID
+     * @param currentPassword 当前的加密密码
+     * @param newPassword 新的加密密码
+     * @return 更新的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int replacePassword(@Param("id") Long id,
+                        @Param("currentPassword") String currentPassword,
+                        @Param("newPassword") String newPassword);
 }
 
@@ -4,16 +4,23 @@ import com.fusionorder.dto.AuthRequest;
 import com.fusionorder.dto.AuthResponse;
 import com.fusionorder.entity.User;
 import com.fusionorder.exception.BusinessException;
+import com.fusionorder.exception.ServiceUnavailableException;
 import com.fusionorder.repository.UserRepository;
+import com.fusionorder.util.JwtPrincipal;
 import com.fusionorder.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 认证服务类
- * 负责用户登录认证，验证用户名密码并生成JWT Token
+ * 负责用户登录认证，验证用户名密码并生成短期访问Token和刷新Token；
+ * 访问Token过期后凭刷新Token换取新的Token，登出时吊销两者
  * 
  * @author FusionOrder Team
  */
@@ -28,22 +35,44 @@ public class AuthService {
     private final UserRepository userRepository;
     
     /**
-     * 密码编码器，用于验证密码
+     * 密码哈希服务，在专用线程池中验证密码
      */
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     
     /**
      * JWT工具类，用于生成Token
      */
     private final JwtUtil jwtUtil;
+    
+    /**
+     * 刷新Token服务
+     */
+    private final RefreshTokenService refreshTokenService;
+    
+    /**
+     * 访问Token吊销服务
+     */
+    private final TokenRevocationService tokenRevocationService;
+    
+    /**
+     * 已验证Token缓存，登出时解析并移除访问Token
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+    
+    /**
+     * 访问Token有效期（毫秒）
+     */
+    @Value("${jwt.expiration}")
+    private long expiration;
 
     /**
      * 用户登录
-     * 验证用户名和密码，如果验证通过则生成JWT Token返回
+     * 验证用户名和密码，如果验证通过则生成访问Token和新的刷新Token返回
      * 
      * @param request 登录请求（包含用户名和密码）
      * @return 认证响应（包含Token和用户信息）
      * @throws BusinessException 用户名或密码错误、账户被禁用时抛出
+     * @throws ServiceUnavailableException 登录请求过多、密码验证排队已满时抛出
      */
     public AuthResponse login(AuthRequest request) {
         log.info("用户登录尝试, username: {}", request.getUsername());
@@ -56,7 +85,7 @@ public class AuthService {
                 });
         
         // 验证密码
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             log.warn("登录失败：密码错误, username: {}", request.getUsername());
             throw new BusinessException("用户名或密码错误");
         }
@@ -67,11 +96,86 @@ public class AuthService {
             throw new BusinessException("账户已被禁用");
         }
         
-        // 生成JWT Token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+        // 工作因子与配置不一致时按当前配置重新加密
+        rehashIfNeeded(user, request.getPassword());
+        
+        // 生成访问Token和刷新Token
+        String refreshToken = refreshTokenService.issue(user.getId(), null);
         log.info("用户登录成功, username: {}, role: {}", user.getUsername(), user.getRole());
         
-        return new AuthResponse(token, user.getUsername(), user.getRole().name());
+        return buildResponse(user, refreshToken);
+    }
+
+    /**
+     * 刷新访问Token
+     * 刷新Token只能使用一次，成功后返回新的访问Token和新的刷新Token；
+     * 用户已被删除或禁用时刷新失败
+     * 
+     * @param refreshToken 刷新Token
+     * @return 认证响应（包含新的Token和用户信息）
+     * @throws BadCredentialsException 刷新Token无效、已过期、已使用，或用户不可用时抛出
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::getEnabled)
+                .orElseThrow(() -> {
+                    log.warn("刷新失败：用户不存在或已被禁用, userId: {}", rotation.userId());
+                    refreshTokenService.revokeUser(rotation.userId());
+                    return new BadCredentialsException("账户不可用，请重新登录");
+                });
+        log.debug("访问Token已刷新, username: {}", user.getUsername());
+        return buildResponse(user, rotation.refreshToken());
+    }
+
+    /**
+     * 登出
+     * 吊销当前访问Token，作废刷新Token所在的家族；无效或已过期的Token直接忽略
+     * 
+     * @param accessToken 访问Token，可为空
+     * @param refreshToken 刷新Token，可为空
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null && !accessToken.isEmpty()) {
+            try {
+                JwtPrincipal principal = verifiedTokenCache.resolve(accessToken);
+                tokenRevocationService.revokeToken(principal);
+                verifiedTokenCache.invalidate(accessToken);
+                log.info("用户登出, username: {}", principal.username());
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("登出时访问Token无效，忽略: {}", e.getMessage());
+            }
+        }
+        if (refreshToken != null && !refreshToken.isEmpty()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    /**
+     * 按当前工作因子重新加密密码
+     * 只在登录成功、明文密码可用时进行；线程池繁忙时跳过，下次登录再重新加密，不影响本次登录
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String encoded = passwordHashingService.encode(rawPassword);
+            if (userRepository.replacePassword(user.getId(), user.getPassword(), encoded) > 0) {
+                log.info("密码已按当前工作因子重新加密, username: {}", user.getUsername());
+            }
+        } catch (ServiceUnavailableException e) {
+            log.debug("密码哈希线程池繁忙，跳过重新加密, username: {}", user.getUsername());
+        }
+    }
+
+    /**
+     * 生成访问Token并组装认证响应
+     */
+    private AuthResponse buildResponse(User user, String refreshToken) {
+        String token = jwtUtil.generateToken(user.getUsername(), user.getRole().name());
+        return new AuthResponse(token, refreshToken, expiration / 1000, user.getUsername(), user.getRole().name());
     }
 }
 
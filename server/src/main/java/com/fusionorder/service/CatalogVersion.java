@@ -0,0 +1,135 @@
+package com.fusionorder.service;
+
+import com.fusionorder.repository.ResourceVersionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 产品目录版本号
+ * 数据库中的版本号随每次产品写操作在同一事务内递增；列表接口的ETag使用本节点已生效的版本号，
+ * 即本节点的产品缓存和搜索索引已经反映到该版本为止的全部写操作，ETag与本节点返回的内容始终对应。
+ * 本节点的写操作在提交并完成本地缓存失效、索引更新后生效；其他节点的写操作由定时同步发现，
+ * 清空本地缓存、重建搜索索引后生效，因此各节点同步完成后对同一份数据给出相同的ETag
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    /**
+     * 版本号记录名称
+     */
+    static final String NAME = "catalog";
+
+    /**
+     * 资源版本号数据访问层
+     */
+    private final ResourceVersionRepository resourceVersionRepository;
+
+    /**
+     * 产品目录缓存
+     */
+    private final ProductCache productCache;
+
+    /**
+     * 产品搜索倒排索引
+     */
+    private final ProductSearchIndex productSearchIndex;
+
+    /**
+     * 本节点已生效的版本号，只在持有对象锁时推进
+     */
+    private volatile long applied;
+
+    /**
+     * 构造函数
+     *
+     * @param resourceVersionRepository 资源版本号数据访问层
+     * @param productCache 产品目录缓存
+     * @param productSearchIndex 产品搜索倒排索引
+     */
+    public CatalogVersion(ResourceVersionRepository resourceVersionRepository, ProductCache productCache,
+                          ProductSearchIndex productSearchIndex) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.productCache = productCache;
+        this.productSearchIndex = productSearchIndex;
+    }
+
+    /**
+     * 启动时确保版本号记录存在，并以当前版本号作为起点（此时本地缓存为空）
+     */
+    @PostConstruct
+    public void init() {
+        resourceVersionRepository.createIfAbsent(NAME);
+        applied = resourceVersionRepository.findVersion(NAME).orElse(0L);
+    }
+
+    /**
+     * 获取本节点已生效的版本号
+     *
+     * @return 当前版本号
+     */
+    public long current() {
+        return applied;
+    }
+
+    /**
+     * 递增版本号
+     * 在产品写操作的事务内调用，与数据变更一起提交。
+     * 必须在注册缓存失效和索引更新之后调用，新版本号在它们执行完之后才在本节点生效
+     */
+    @Transactional
+    public void bump() {
+        resourceVersionRepository.increment(NAME);
+        long version = resourceVersionRepository.findVersion(NAME).orElse(0L);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(version);
+                }
+            });
+        } else {
+            advance(version);
+        }
+    }
+
+    /**
+     * 同步其他节点的写操作
+     * 数据库中的版本号比本节点新时，先清空本地缓存、重建搜索索引，再使新版本号生效；
+     * 间隔内的多次写操作合并为一次同步
+     */
+    @Scheduled(fixedDelayString = "${catalog.version.refresh-ms:1000}")
+    public void refresh() {
+        long version = resourceVersionRepository.findVersion(NAME).orElse(0L);
+        if (version <= applied) {
+            return;
+        }
+        log.info("产品目录已被修改，同步本地缓存和搜索索引, applied: {}, version: {}", applied, version);
+        productCache.evictAll();
+        productSearchIndex.rebuild();
+        synchronized (this) {
+            if (version > applied) {
+                applied = version;
+            }
+        }
+    }
+
+    /**
+     * 本节点的写操作提交后推进版本号
+     * 只有中间没有尚未同步的其他写操作时才推进，否则留给定时同步处理
+     *
+     * @param version 本次写操作产生的版本号
+     */
+    private synchronized void advance(long version) {
+        if (applied == version - 1) {
+            applied = version;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.fusionorder.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分段ID分配服务
+ * 实体主键由 Hibernate 的 {@code @TableGenerator}（pooled-lo 优化器）从 id_allocations 表按段领取；
+ * 本服务供JDBC批量写入路径使用同一个生成器预先分配主键，与实体保存领取互不重叠的ID段。
+ * 调用方应在开启写入事务之前分配，领取ID段时不与业务事务同时占用两个连接
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Component
+public class IdAllocator {
+
+    /**
+     * 分配记录的种子表：分配记录名称 -> 已有数据所在的表
+     * 首次启动时以这些表的最大ID加一为起点，兼容原有的自增主键数据
+     */
+    private static final Map<String, List<String>> SEED_TABLES = Map.of(
+            "products", List.of("products"),
+            "order_forms", List.of("order_forms", "order_forms_archive"),
+            "order_submissions", List.of("order_submissions"),
+            "users", List.of("users"),
+            "refresh_tokens", List.of("refresh_tokens"),
+            "token_revocations", List.of("token_revocations"));
+
+    /**
+     * 初始化分配记录，已存在时保持不变，多个节点同时初始化时只有一条生效
+     */
+    private static final String INIT_SQL = "INSERT IGNORE INTO id_allocations (name, next_val) VALUES (?, ?)";
+
+    /**
+     * JDBC数据访问模板，用于初始化分配记录
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Hibernate 会话工厂，提供实体的主键生成器
+     */
+    private final SessionFactoryImplementor sessionFactory;
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     * @param entityManagerFactory 实体管理器工厂
+     */
+    public IdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * 启动时为尚未初始化的分配记录写入起点
+     */
+    @PostConstruct
+    public void seed() {
+        SEED_TABLES.forEach((name, tables) -> {
+            long seed = 0L;
+            for (String table : tables) {
+                Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                seed = Math.max(seed, max == null ? 0L : max);
+            }
+            if (jdbcTemplate.update(INIT_SQL, name, seed + 1) > 0) {
+                log.info("初始化ID分配记录, name: {}, nextVal: {}", name, seed + 1);
+            }
+        });
+    }
+
+    /**
+     * 为实体预先分配一组主键
+     * 当前段用完时生成器通过独立连接领取新的一段，因此应在开启写入事务之前调用
+     *
+     * @param entityClass 使用表生成器的实体类型
+     * @param count 分配数量
+     * @return 主键数组
+     */
+    public long[] next(Class<?> entityClass, int count) {
+        Generator generator = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator beforeExecution)) {
+            throw new IllegalArgumentException(entityClass.getName() + " does not generate ids before insert");
+        }
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (int i = 0; i < count; i++) {
+                ids[i] = ((Number) beforeExecution.generate(implementor, null, null, EventType.INSERT)).longValue();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,147 @@
+package com.fusionorder.service;
+
+import com.fusionorder.exception.ConflictException;
+import com.fusionorder.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * 幂等请求服务
+ * 客户端以 Idempotency-Key 请求头标识一次逻辑请求，重试时携带同一键；
+ * 首次请求成功后保存响应，有效期内的重复请求直接返回原响应，不再访问数据库
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    /**
+     * 幂等键请求头
+     */
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * 重放响应标记响应头
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * 幂等键最大长度
+     */
+    private static final int MAX_KEY_LENGTH = 128;
+
+    /**
+     * 幂等记录存储
+     */
+    private final IdempotencyStore store;
+
+    /**
+     * 完成记录的存活时间
+     */
+    private final Duration ttl;
+
+    /**
+     * 处理中记录的存活时间
+     */
+    private final Duration pendingTtl;
+
+    /**
+     * 构造函数
+     *
+     * @param store 幂等记录存储
+     * @param ttlSeconds 完成记录的存活时间（秒）
+     * @param pendingTtlSeconds 处理中记录的存活时间（秒）
+     */
+    public IdempotencyService(IdempotencyStore store,
+                              @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${idempotency.pending-ttl-seconds:60}") long pendingTtlSeconds) {
+        this.store = store;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+    }
+
+    /**
+     * 以幂等方式执行请求
+     * 未携带幂等键时直接执行；键首次出现时执行并保存响应；
+     * 键已完成且请求内容相同时返回保存的响应；执行失败时释放键，允许重试
+     *
+     * @param scope 幂等键作用域，区分不同接口
+     * @param key 幂等键（可选）
+     * @param fingerprint 请求指纹，见 {@link #fingerprint(Object...)}
+     * @param type 响应类型
+     * @param action 实际执行的请求
+     * @param <T> 响应类型
+     * @return 执行结果
+     * @throws ValidationException 幂等键格式错误或同一键携带不同请求内容时抛出
+     * @throws ConflictException 同一键的请求仍在处理中时抛出
+     */
+    public <T> Outcome<T> execute(String scope, String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return new Outcome<>(action.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("幂等键长度必须在1-" + MAX_KEY_LENGTH + "之间");
+        }
+        String storeKey = scope + ":" + key;
+        IdempotencyStore.IdempotencyRecord existing = store.reserve(storeKey, fingerprint, pendingTtl);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                log.warn("幂等键已用于不同的请求内容, key: {}", storeKey);
+                throw new ValidationException("幂等键已用于不同的请求内容");
+            }
+            if (!existing.completed()) {
+                log.warn("幂等键对应的请求仍在处理中, key: {}", storeKey);
+                throw new ConflictException("请求正在处理中，请稍后重试");
+            }
+            log.info("重放幂等请求响应, key: {}", storeKey);
+            return new Outcome<>(type.cast(existing.response()), true);
+        }
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            store.release(storeKey);
+            throw e;
+        }
+        store.complete(storeKey, new IdempotencyStore.IdempotencyRecord(fingerprint, response), ttl);
+        return new Outcome<>(response, false);
+    }
+
+    /**
+     * 计算请求指纹（各字段拼接后的SHA-256）
+     *
+     * @param parts 参与比较的请求字段
+     * @return 十六进制指纹
+     */
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 幂等执行结果
+     *
+     * @param response 响应内容
+     * @param replayed 是否为重放的已保存响应
+     * @param <T> 响应类型
+     */
+    public record Outcome<T>(T response, boolean replayed) {
+    }
+}
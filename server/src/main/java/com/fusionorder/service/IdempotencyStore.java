@@ -0,0 +1,58 @@
+package com.fusionorder.service;
+
+import java.time.Duration;
+
+/**
+ * 幂等记录存储
+ * 保存幂等键对应的请求指纹和响应，默认实现为进程内有界缓存，
+ * 多实例部署时可替换为共享存储的实现
+ *
+ * @author FusionOrder Team
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 占用幂等键
+     * 键不存在（或已过期）时写入处理中的记录并返回null；否则不修改，返回已有记录
+     *
+     * @param key 幂等键
+     * @param fingerprint 请求指纹
+     * @param ttl 处理中记录的存活时间，处理方异常退出时到期自动释放
+     * @return 已有记录，占用成功时返回null
+     */
+    IdempotencyRecord reserve(String key, String fingerprint, Duration ttl);
+
+    /**
+     * 保存处理完成的响应
+     *
+     * @param key 幂等键
+     * @param record 完成的记录
+     * @param ttl 存活时间，期间重复请求直接返回该响应
+     */
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * 释放幂等键，请求处理失败时调用，允许客户端以同一键重试
+     *
+     * @param key 幂等键
+     */
+    void release(String key);
+
+    /**
+     * 幂等记录
+     *
+     * @param fingerprint 请求指纹，同一键携带不同请求内容时拒绝
+     * @param response 响应内容，为null表示请求仍在处理中
+     */
+    record IdempotencyRecord(String fingerprint, Object response) {
+
+        /**
+         * 是否已处理完成
+         *
+         * @return true表示已有响应
+         */
+        public boolean completed() {
+            return response != null;
+        }
+    }
+}
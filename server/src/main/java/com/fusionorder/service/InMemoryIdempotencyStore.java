@@ -0,0 +1,51 @@
+package com.fusionorder.service;
+
+import com.fusionorder.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 进程内幂等记录存储
+ * 基于有界TTL缓存，超过容量时按LRU淘汰最久未访问的记录；
+ * 仅在单实例部署或网关按幂等键粘性路由时保证去重
+ *
+ * @author FusionOrder Team
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    /**
+     * 幂等记录缓存
+     */
+    private final BoundedTtlCache<String, IdempotencyRecord> records;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize 最大记录数
+     * @param ttlSeconds 记录最长存活时间（秒）
+     */
+    public InMemoryIdempotencyStore(@Value("${idempotency.maximum-size:100000}") int maximumSize,
+                                    @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.records = new BoundedTtlCache<>("idempotency", maximumSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @Override
+    public IdempotencyRecord reserve(String key, String fingerprint, Duration ttl) {
+        return records.putIfAbsent(key, new IdempotencyRecord(fingerprint, null), ttl);
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        records.put(key, record, ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        records.remove(key);
+    }
+}
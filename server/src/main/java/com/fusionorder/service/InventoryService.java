@@ -0,0 +1,506 @@
+package com.fusionorder.service;
+
+import com.fusionorder.exception.ConflictException;
+import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.util.StripedCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 库存服务
+ * 下单时预占库存，取消订单时释放库存。库存为空表示该产品不限库存。
+ * <p>
+ * 普通产品以条件UPDATE原子扣减（库存不足时影响0行），不先读后写，并发下不会超卖；
+ * 扣减与订单写入在同一事务内，订单写入失败时一并回滚。
+ * <p>
+ * 热点产品（{@code inventory.hot-product-ids}）的每次下单都扣减同一行会在行锁上排队，
+ * 因此改为按批次从数据库领取库存（一次条件UPDATE领取 lease-size 件）放入本节点的分段计数器，
+ * 下单只在内存中CAS扣减；计数器不足时由一个线程合并各分段余量并领取下一批，其他线程等待。
+ * 领取在独立的短事务（REQUIRES_NEW）中执行并立即提交，余量随即放入计数器，不等下单事务结束；
+ * 下单事务回滚时只把本次扣减的数量退回计数器。
+ * 每次设置库存时 products.stock_generation 加一，领取和归还都带上本节点持有的代次，
+ * 设置库存之前领取的余量（包括其他节点持有的）不会再归还到新的库存上。
+ * 未用完的余量定时归还数据库，关闭时全部归还。进程崩溃时已领取未用完的库存会丢失（少卖，不会超卖）
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class InventoryService {
+
+    /**
+     * 条件扣减库存，库存不足或不限库存时影响0行
+     */
+    private static final String RESERVE_SQL = "UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?";
+
+    /**
+     * 归还库存，不限库存的产品不变
+     */
+    private static final String RELEASE_SQL = "UPDATE products SET stock = stock + ? WHERE id = ? AND stock IS NOT NULL";
+
+    /**
+     * 按代次领取库存，库存不足、不限库存或代次已变化时影响0行
+     */
+    private static final String LEASE_SQL = "UPDATE products SET stock = stock - ? "
+            + "WHERE id = ? AND stock >= ? AND stock_generation = ?";
+
+    /**
+     * 按代次归还领取的余量，代次已变化（库存被重新设置）时影响0行
+     */
+    private static final String RETURN_LEASE_SQL = "UPDATE products SET stock = stock + ? "
+            + "WHERE id = ? AND stock IS NOT NULL AND stock_generation = ?";
+
+    /**
+     * 设置库存，代次加一，此前领取的余量作废
+     */
+    private static final String SET_STOCK_SQL = "UPDATE products SET stock = ?, stock_generation = stock_generation + 1 "
+            + "WHERE id = ?";
+
+    /**
+     * 查询库存代次
+     */
+    private static final String GENERATION_SQL = "SELECT stock_generation FROM products WHERE id = ?";
+
+    /**
+     * 查询库存和库存代次
+     */
+    private static final String STOCK_AND_GENERATION_SQL = "SELECT stock, stock_generation FROM products WHERE id = ?";
+
+    /**
+     * 查询库存
+     */
+    private static final String STOCK_SQL = "SELECT stock FROM products WHERE id = ?";
+
+    /**
+     * JDBC数据访问模板，在调用方事务中执行
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 领取库存的独立短事务，不加入调用方事务
+     */
+    private final TransactionTemplate leaseTransaction;
+
+    /**
+     * 热点产品的本地库存，键为产品ID
+     */
+    private final Map<Long, HotStock> hotStocks;
+
+    /**
+     * 热点产品每批领取的库存数
+     */
+    private final int leaseSize;
+
+    /**
+     * 等待其他线程领取库存的最长时间（毫秒）
+     */
+    private final long refillWaitMillis;
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     * @param transactionManager 事务管理器
+     * @param hotProductIds 热点产品ID列表
+     * @param leaseSize 热点产品每批领取的库存数
+     * @param stripes 热点产品计数器分段数
+     * @param refillWaitMillis 等待其他线程领取库存的最长时间（毫秒）
+     */
+    public InventoryService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${inventory.hot-product-ids:}") List<Long> hotProductIds,
+                            @Value("${inventory.lease-size:200}") int leaseSize,
+                            @Value("${inventory.stripes:16}") int stripes,
+                            @Value("${inventory.refill-wait-ms:2000}") long refillWaitMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotStocks = hotProductIds.stream().distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), id -> new HotStock(new StripedCounter(stripes))));
+        this.leaseSize = leaseSize;
+        this.refillWaitMillis = refillWaitMillis;
+        if (!hotStocks.isEmpty()) {
+            log.info("热点产品库存按批次领取, productIds: {}, leaseSize: {}, stripes: {}", hotStocks.keySet(), leaseSize, stripes);
+        }
+    }
+
+    /**
+     * 预占一个产品的库存
+     * 在调用方事务中执行，事务回滚时预占一并撤销；没有事务时立即生效
+     *
+     * @param productId 产品ID
+     * @param quantity 数量
+     * @throws ConflictException 库存不足时抛出
+     */
+    public void reserve(Long productId, int quantity) {
+        HotStock hot = hotStocks.get(productId);
+        if (hot != null) {
+            reserveHot(hot, productId, quantity);
+            return;
+        }
+        if (jdbcTemplate.update(RESERVE_SQL, quantity, productId, quantity) == 0 && findStock(productId) != null) {
+            log.warn("库存不足, productId: {}, quantity: {}", productId, quantity);
+            throw new ConflictException("产品库存不足, productId: " + productId);
+        }
+    }
+
+    /**
+     * 预占多个产品的库存
+     * 按产品ID顺序加锁，避免并发的多产品订单互相等待
+     *
+     * @param quantities 产品ID到数量的映射
+     * @throws ConflictException 任一产品库存不足时抛出
+     */
+    public void reserveAll(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach(this::reserve);
+    }
+
+    /**
+     * 释放库存
+     * 普通产品在调用方事务中归还数据库；热点产品在事务提交后归还本地计数器
+     *
+     * @param productId 产品ID
+     * @param quantity 数量
+     */
+    public void release(Long productId, int quantity) {
+        HotStock hot = hotStocks.get(productId);
+        if (hot == null) {
+            jdbcTemplate.update(RELEASE_SQL, quantity, productId);
+        } else {
+            onCompletion(() -> hot.counter.add(quantity), () -> { });
+        }
+    }
+
+    /**
+     * 释放多个产品的库存
+     *
+     * @param quantities 产品ID到数量的映射
+     */
+    public void releaseAll(Map<Long, Integer> quantities) {
+        new TreeMap<>(quantities).forEach(this::release);
+    }
+
+    /**
+     * 设置产品库存
+     * 在调用方事务中执行，库存代次加一；热点产品在事务提交后丢弃本节点按旧代次领取的余量，
+     * 其他节点的旧余量在下次领取或归还时发现代次变化后丢弃
+     *
+     * @param productId 产品ID
+     * @param stock 库存，为空表示不限库存
+     */
+    public void setStock(Long productId, Integer stock) {
+        jdbcTemplate.update(SET_STOCK_SQL, stock, productId);
+        HotStock hot = hotStocks.get(productId);
+        if (hot == null) {
+            return;
+        }
+        Long generation = findGeneration(productId);
+        if (generation != null) {
+            onCompletion(() -> discardStale(hot, productId, generation), () -> { });
+        }
+        log.info("设置热点产品库存, productId: {}, stock: {}, generation: {}", productId, stock, generation);
+    }
+
+    /**
+     * 获取产品当前可售库存，热点产品包含本节点已领取未用完的余量
+     *
+     * @param productId 产品ID
+     * @return 库存，为空表示不限库存
+     * @throws ResourceNotFoundException 产品不存在时抛出
+     */
+    public Integer getStock(Long productId) {
+        Integer stock;
+        try {
+            stock = jdbcTemplate.queryForObject(STOCK_SQL, Integer.class, productId);
+        } catch (EmptyResultDataAccessException e) {
+            throw new ResourceNotFoundException("产品", productId);
+        }
+        HotStock hot = hotStocks.get(productId);
+        if (stock == null || hot == null) {
+            return stock;
+        }
+        return (int) (stock + hot.counter.sum());
+    }
+
+    /**
+     * 将热点产品已领取未用完的余量归还数据库
+     * 定时执行，使数据库中的库存与实际可售库存保持接近，其他节点也能领取；
+     * 库存已被重新设置（代次变化）时余量作废，不归还
+     */
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:5000}")
+    public void flush() {
+        hotStocks.forEach((productId, hot) -> {
+            if (!tryBeginRefill(hot)) {
+                return;
+            }
+            long drained = hot.counter.drain();
+            try {
+                if (drained > 0 && hot.generation < 0) {
+                    // 本节点尚未领取过，余量来自释放的订单，按当前代次归还
+                    Long generation = findGeneration(productId);
+                    hot.generation = generation == null ? -1 : generation;
+                }
+                if (drained > 0 && jdbcTemplate.update(RETURN_LEASE_SQL, drained, productId, hot.generation) > 0) {
+                    log.debug("归还热点产品库存, productId: {}, quantity: {}", productId, drained);
+                } else if (drained > 0) {
+                    Long generation = findGeneration(productId);
+                    log.info("库存已重新设置，丢弃旧代次余量, productId: {}, quantity: {}, generation: {} -> {}",
+                            productId, drained, hot.generation, generation);
+                    if (generation != null) {
+                        hot.generation = generation;
+                    }
+                }
+            } catch (DataAccessException e) {
+                hot.counter.addSpread(drained);
+                log.warn("归还热点产品库存失败，下次重试, productId: {}, error: {}",
+                        productId, e.getMostSpecificCause().getMessage());
+            } finally {
+                endRefill(hot);
+            }
+        });
+    }
+
+    /**
+     * 关闭前归还全部余量
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * 热点产品预占
+     * 优先从本地计数器扣减；不足时由一个线程合并各分段余量、从数据库领取下一批，
+     * 其他线程等待领取完成后重试
+     */
+    private void reserveHot(HotStock hot, Long productId, int quantity) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refillWaitMillis);
+        while (!hot.counter.tryAcquire(quantity)) {
+            if (!tryBeginRefill(hot)) {
+                awaitRefill(hot, deadline);
+                continue;
+            }
+            refill(hot, productId, quantity);
+            break;
+        }
+        onCompletion(() -> { }, () -> hot.counter.add(quantity));
+    }
+
+    /**
+     * 合并余量并领取下一批库存，当前请求的数量直接从中扣除
+     * 调用前已取得领取权，返回或抛出异常前交还；领取已在独立事务中提交，余量立即平均放回计数器各分段
+     *
+     * @throws ConflictException 库存不足时抛出
+     */
+    private void refill(HotStock hot, Long productId, int quantity) {
+        long local = hot.counter.drain();
+        long surplus = -1;
+        try {
+            long needed = quantity - local;
+            while (needed > 0) {
+                Lease lease = claim(productId, needed, hot.generation);
+                if (lease == null) {
+                    break;
+                }
+                if (lease.generation() != hot.generation) {
+                    // 首次领取时只记录代次；否则库存已被重新设置，按旧代次领取的余量作废，按新代次重新领取
+                    if (hot.generation >= 0) {
+                        log.info("库存已重新设置，丢弃旧代次余量, productId: {}, quantity: {}, generation: {} -> {}",
+                                productId, local, hot.generation, lease.generation());
+                        local = 0;
+                        needed = quantity;
+                    }
+                    hot.generation = lease.generation();
+                    continue;
+                }
+                local += lease.amount();
+                needed = 0;
+                log.debug("领取热点产品库存, productId: {}, claimed: {}", productId, lease.amount());
+            }
+            if (needed <= 0) {
+                surplus = local - quantity;
+            }
+        } finally {
+            hot.counter.addSpread(surplus >= 0 ? surplus : local);
+            endRefill(hot);
+        }
+        if (surplus < 0) {
+            log.warn("库存不足, productId: {}, quantity: {}", productId, quantity);
+            throw new ConflictException("产品库存不足, productId: " + productId);
+        }
+    }
+
+    /**
+     * 在独立事务中按代次从数据库领取库存，优先多领取一批，剩余不足一批时只领取所需数量
+     * 领取失败时才查询库存和代次：代次变化时返回数量为0的新代次，调用方丢弃旧余量后重试
+     *
+     * @return 领取结果，库存不足时返回null
+     */
+    private Lease claim(Long productId, long needed, long generation) {
+        return leaseTransaction.execute(status -> {
+            long batch = needed + leaseSize;
+            if (jdbcTemplate.update(LEASE_SQL, batch, productId, batch, generation) > 0) {
+                return new Lease(batch, generation);
+            }
+            if (jdbcTemplate.update(LEASE_SQL, needed, productId, needed, generation) > 0) {
+                return new Lease(needed, generation);
+            }
+            List<Lease> current = jdbcTemplate.query(STOCK_AND_GENERATION_SQL, (rs, rowNum) -> {
+                long rowGeneration = rs.getLong("stock_generation");
+                if (rowGeneration != generation) {
+                    return new Lease(0, rowGeneration);
+                }
+                // 不限库存的热点产品按需放行
+                return rs.getObject("stock") == null ? new Lease(needed, generation) : null;
+            }, productId);
+            // 产品不存在时按不限库存处理，由调用方事先校验产品
+            return current.isEmpty() ? new Lease(needed, generation) : current.get(0);
+        });
+    }
+
+    /**
+     * 设置库存提交后丢弃本节点按旧代次领取的余量
+     */
+    private void discardStale(HotStock hot, Long productId, long generation) {
+        beginRefill(hot);
+        try {
+            if (generation > hot.generation) {
+                long discarded = hot.counter.drain();
+                hot.generation = generation;
+                log.info("库存已重新设置，丢弃旧代次余量, productId: {}, quantity: {}, generation: {}",
+                        productId, discarded, generation);
+            }
+        } finally {
+            endRefill(hot);
+        }
+    }
+
+    private Long findGeneration(Long productId) {
+        try {
+            return jdbcTemplate.queryForObject(GENERATION_SQL, Long.class, productId);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    private Integer findStock(Long productId) {
+        try {
+            return jdbcTemplate.queryForObject(STOCK_SQL, Integer.class, productId);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    private boolean tryBeginRefill(HotStock hot) {
+        synchronized (hot) {
+            if (hot.refilling) {
+                return false;
+            }
+            hot.refilling = true;
+            return true;
+        }
+    }
+
+    private void beginRefill(HotStock hot) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refillWaitMillis);
+        while (!tryBeginRefill(hot)) {
+            awaitRefill(hot, deadline);
+        }
+    }
+
+    private void awaitRefill(HotStock hot, long deadline) {
+        synchronized (hot) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new ConflictException("产品库存正在补充，请稍后重试");
+            }
+            if (hot.refilling) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(hot, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ConflictException("产品库存正在补充，请稍后重试");
+                }
+            }
+        }
+    }
+
+    private void endRefill(HotStock hot) {
+        synchronized (hot) {
+            hot.refilling = false;
+            hot.notifyAll();
+        }
+    }
+
+    /**
+     * 在当前事务结束后执行操作，没有事务时立即按提交处理，事务结果未知时按回滚处理
+     */
+    private void onCompletion(Runnable committed, Runnable rolledBack) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    committed.run();
+                } else {
+                    rolledBack.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * 一次领取的结果
+     *
+     * @param amount 领取的数量
+     * @param generation 领取时的库存代次，与请求的代次不同时表示库存已被重新设置
+     */
+    private record Lease(long amount, long generation) {
+    }
+
+    /**
+     * 热点产品在本节点的库存
+     */
+    private static final class HotStock {
+
+        /**
+         * 已领取未用完的库存
+         */
+        private final StripedCounter counter;
+
+        /**
+         * 计数器中余量所属的库存代次，-1表示尚未领取；只在持有领取权时修改
+         */
+        private volatile long generation = -1;
+
+        /**
+         * 是否有线程正在领取库存（或调整库存），受对象锁保护
+         */
+        private boolean refilling;
+
+        private HotStock(StripedCounter counter) {
+            this.counter = counter;
+        }
+    }
+}
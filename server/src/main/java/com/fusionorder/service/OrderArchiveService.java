@@ -0,0 +1,201 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 订单归档服务
+ * 将已完成、已取消且超过保留期未变更的订单分批从 order_forms 移入 order_forms_archive，
+ * 每批一个事务、批次之间暂停，避免长事务和持续占用数据库；在线表只保留近期和未结束的订单。
+ * 订单进入归档时其创建时间一定早于保留期起点，查询时间范围晚于该起点时无需查询归档表
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class OrderArchiveService {
+
+    /**
+     * 选取并锁定一批待归档订单
+     */
+    private static final String SELECT_BATCH_SQL = "SELECT id FROM order_forms "
+            + "WHERE status IN ('COMPLETED', 'CANCELLED') AND updated_at < ? ORDER BY id LIMIT ? FOR UPDATE";
+
+    /**
+     * 复制到归档表
+     */
+    private static final String COPY_SQL = "INSERT INTO order_forms_archive "
+            + "(id, intake_ref, product_id, submission_id, quantity, contact_name, contact_phone, contact_email, "
+            + "requirements, status, version, created_at, updated_at, archived_at) "
+            + "SELECT id, intake_ref, product_id, submission_id, quantity, contact_name, contact_phone, contact_email, "
+            + "requirements, status, version, created_at, updated_at, :archivedAt FROM order_forms WHERE id IN (:ids)";
+
+    /**
+     * 从在线表删除
+     */
+    private static final String DELETE_SQL = "DELETE FROM order_forms WHERE id IN (:ids)";
+
+    /**
+     * JDBC数据访问模板
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 具名参数JDBC模板，用于IN语句
+     */
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * 事务模板，每批一个事务
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 是否启用定时归档
+     */
+    private final boolean enabled;
+
+    /**
+     * 保留期（天），结束后超过该天数未变更的订单被归档
+     */
+    private final int minAgeDays;
+
+    /**
+     * 每批归档的订单数
+     */
+    private final int batchSize;
+
+    /**
+     * 批次之间的暂停时间（毫秒）
+     */
+    private final long pauseMillis;
+
+    /**
+     * 是否有归档任务正在执行
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     * @param transactionTemplate 事务模板
+     * @param enabled 是否启用定时归档
+     * @param minAgeDays 保留期（天）
+     * @param batchSize 每批归档的订单数
+     * @param pauseMillis 批次之间的暂停时间（毫秒）
+     */
+    public OrderArchiveService(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${order.archive.enabled:true}") boolean enabled,
+                               @Value("${order.archive.min-age-days:90}") int minAgeDays,
+                               @Value("${order.archive.batch-size:1000}") int batchSize,
+                               @Value("${order.archive.pause-ms:200}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    /**
+     * 定时归档
+     */
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * 归档所有到期的订单
+     * 同一时间只执行一个归档任务，已有任务执行时直接返回
+     *
+     * @return 归档的订单数，已有任务执行时返回-1
+     */
+    public int archive() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("订单归档任务正在执行，跳过");
+            return -1;
+        }
+        try {
+            LocalDateTime cutoff = horizon();
+            long start = System.currentTimeMillis();
+            log.info("开始归档订单, cutoff: {}, batchSize: {}", cutoff, batchSize);
+            int total = 0;
+            int archived;
+            do {
+                archived = archiveBatch(cutoff);
+                total += archived;
+                if (archived == batchSize && pauseMillis > 0) {
+                    Thread.sleep(pauseMillis);
+                }
+            } while (archived == batchSize);
+            log.info("归档订单完成, archived: {}, elapsed: {}ms", total, System.currentTimeMillis() - start);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("订单归档被中断");
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 判断查询是否需要包含归档订单
+     * 只有指定了创建时间范围、且范围起点为空或早于保留期起点时才可能匹配归档订单；
+     * 未指定时间范围的查询只查询在线表
+     *
+     * @param query 订单查询条件
+     * @return true表示需要同时查询归档表
+     */
+    public boolean includesArchive(OrderQuery query) {
+        if (query.getCreatedFrom() == null && query.getCreatedTo() == null) {
+            return false;
+        }
+        return query.getCreatedFrom() == null || query.getCreatedFrom().isBefore(horizon());
+    }
+
+    /**
+     * 保留期起点，最后更新早于该时间的已结束订单会被归档
+     */
+    private LocalDateTime horizon() {
+        return LocalDateTime.now().minusDays(minAgeDays);
+    }
+
+    /**
+     * 在一个事务中归档一批订单
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_SQL, Long.class,
+                    Timestamp.valueOf(cutoff), batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            namedJdbcTemplate.update(COPY_SQL, params);
+            namedJdbcTemplate.update(DELETE_SQL, params);
+            return ids.size();
+        });
+        return archived == null ? 0 : archived;
+    }
+}
@@ -0,0 +1,185 @@
+package com.fusionorder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderQuery;
+import com.fusionorder.repository.OrderFormArchiveRepository;
+import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.OrderFormSpecifications;
+import com.fusionorder.util.CsvWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 订单导出服务
+ * 在只读事务中通过只进游标逐行读取订单，边读边写入响应流，
+ * 不缓冲结果集，内存占用与导出行数无关
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class OrderExportService {
+
+    /**
+     * CSV表头
+     */
+    private static final String[] CSV_HEADER = {"id", "intake_ref", "product_id", "product_name", "quantity",
+            "contact_name", "contact_phone", "contact_email", "requirements", "status", "version", "created_at"};
+
+    /**
+     * 输出缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 每写出多少行主动刷新一次，让客户端尽早收到数据
+     */
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    /**
+     * 订单数据访问接口
+     */
+    private final OrderFormRepository orderFormRepository;
+
+    /**
+     * 归档订单数据访问接口
+     */
+    private final OrderFormArchiveRepository orderFormArchiveRepository;
+
+    /**
+     * 订单归档服务，判断是否需要导出归档订单
+     */
+    private final OrderArchiveService orderArchiveService;
+
+    /**
+     * 只读事务模板，游标在事务内保持打开
+     */
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * JSON序列化
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 构造函数
+     *
+     * @param orderFormRepository 订单数据访问接口
+     * @param orderFormArchiveRepository 归档订单数据访问接口
+     * @param orderArchiveService 订单归档服务
+     * @param transactionManager 事务管理器
+     * @param objectMapper JSON序列化
+     */
+    public OrderExportService(OrderFormRepository orderFormRepository,
+                              OrderFormArchiveRepository orderFormArchiveRepository,
+                              OrderArchiveService orderArchiveService,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.orderFormRepository = orderFormRepository;
+        this.orderFormArchiveRepository = orderFormArchiveRepository;
+        this.orderArchiveService = orderArchiveService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 导出满足条件的订单，按创建时间、ID正序写出；
+     * 创建时间范围覆盖归档期时先写出归档订单
+     *
+     * @param query 查询条件，与订单分页查询相同
+     * @param format 导出格式
+     * @param output 响应输出流
+     * @return 导出的行数
+     * @throws IOException 写出失败（如客户端断开）时抛出
+     */
+    public long export(OrderQuery query, Format format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        log.info("开始导出订单, query: {}, format: {}", query, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> {
+                try {
+                    writeHeader(format, writer);
+                    long count = 0;
+                    // 同一连接上同时只能有一个流式结果集，先导出归档订单再导出在线订单
+                    if (orderArchiveService.includesArchive(query)) {
+                        try (Stream<OrderFormDTO> stream = orderFormArchiveRepository.streamForExport(
+                                OrderFormSpecifications.matching(query))) {
+                            count += write(stream.iterator(), format, writer);
+                        }
+                    }
+                    try (Stream<OrderFormDTO> stream = orderFormRepository.streamForExport(
+                            OrderFormSpecifications.matching(query))) {
+                        count += write(stream.iterator(), format, writer);
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("导出订单中断: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("导出订单完成, rows: {}, elapsed: {}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private void writeHeader(Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            // 写入BOM，Excel据此按UTF-8识别中文
+            writer.write('\uFEFF');
+            CsvWriter.writeRow(writer, (Object[]) CSV_HEADER);
+        }
+    }
+
+    private long write(Iterator<OrderFormDTO> rows, Format format, Writer writer) throws IOException {
+        long count = 0;
+        while (rows.hasNext()) {
+            OrderFormDTO row = rows.next();
+            if (format == Format.CSV) {
+                CsvWriter.writeSpreadsheetRow(writer, row.getId(), row.getIntakeRef(), row.getProductId(), row.getProductName(),
+                        row.getQuantity(), row.getContactName(), row.getContactPhone(), row.getContactEmail(),
+                        row.getRequirements(), row.getStatus(), row.getVersion(), row.getCreatedAt());
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 导出格式
+     */
+    public enum Format {
+        /**
+         * 带表头的CSV（UTF-8 BOM）
+         */
+        CSV,
+
+        /**
+         * 每行一个JSON对象
+         */
+        NDJSON
+    }
+}
@@ -1,18 +1,35 @@
 package com.fusionorder.service;
 
+import com.fusionorder.dto.BulkUpdateResult;
+import com.fusionorder.dto.CursorPage;
 import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.dto.OrderQuery;
 import com.fusionorder.entity.OrderForm;
 import com.fusionorder.entity.Product;
+import com.fusionorder.exception.BusinessException;
 import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.exception.ValidationException;
+import com.fusionorder.repository.OrderFormArchiveRepository;
 import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.OrderFormSpecifications;
 import com.fusionorder.repository.ProductRepository;
+import com.fusionorder.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 订单表单服务类
@@ -25,6 +42,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderFormService {
     
+    /**
+     * 批量更新时每条UPDATE语句包含的最大订单ID数
+     */
+    private static final int BULK_CHUNK_SIZE = 1000;
+    
     /**
      * 订单表单数据访问层
      */
@@ -34,6 +56,26 @@ public class OrderFormService {
      * 产品数据访问层
      */
     private final ProductRepository productRepository;
+    
+    /**
+     * 订单统计服务
+     */
+    private final OrderStatsService orderStatsService;
+    
+    /**
+     * 归档订单数据访问层
+     */
+    private final OrderFormArchiveRepository orderFormArchiveRepository;
+    
+    /**
+     * 订单归档服务
+     */
+    private final OrderArchiveService orderArchiveService;
+    
+    /**
+     * 库存服务
+     */
+    private final InventoryService inventoryService;
 
     /**
      * 创建订单表单
@@ -42,6 +84,7 @@ public class OrderFormService {
      * @param orderForm 订单表单实体对象
      * @return 订单表单DTO对象
      * @throws ResourceNotFoundException 产品不存在时抛出
+     * @throws com.fusionorder.exception.ConflictException 库存不足时抛出
      */
     @Transactional
     public OrderFormDTO createOrderForm(OrderForm orderForm) {
@@ -58,8 +101,12 @@ public class OrderFormService {
         // 设置产品信息
         orderForm.setProduct(product);
         
+        // 预占库存，与订单写入在同一事务内
+        inventoryService.reserve(product.getId(), orderForm.getQuantity());
+        
         // 保存订单
         OrderForm savedOrder = orderFormRepository.save(orderForm);
+        orderStatsService.recordCreated(List.of(OrderStatsService.OrderFact.of(savedOrder)));
         log.info("创建订单表单成功, orderFormId: {}, productId: {}, quantity: {}", 
                 savedOrder.getId(), savedOrder.getProduct().getId(), savedOrder.getQuantity());
         
@@ -69,13 +116,11 @@ public class OrderFormService {
     /**
      * 获取所有订单表单列表
      * 
-     * @return 订单表单DTO列表
+     * @return 订单摘要列表
      */
-    public List<OrderFormDTO> getAllOrderForms() {
+    public List<OrderFormSummaryDTO> getAllOrderForms() {
         log.info("查询所有订单表单");
-        List<OrderFormDTO> orderForms = orderFormRepository.findAll().stream()
-                .map(OrderFormDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<OrderFormSummaryDTO> orderForms = orderFormRepository.findAllSummaries();
         log.info("查询到 {} 个订单", orderForms.size());
         return orderForms;
     }
@@ -84,13 +129,11 @@ public class OrderFormService {
      * 根据产品ID获取订单表单列表
      * 
      * @param productId 产品ID
-     * @return 订单表单DTO列表
+     * @return 订单摘要列表
      */
-    public List<OrderFormDTO> getOrderFormsByProductId(Long productId) {
+    public List<OrderFormSummaryDTO> getOrderFormsByProductId(Long productId) {
         log.info("按产品ID查询订单, productId: {}", productId);
-        List<OrderFormDTO> orderForms = orderFormRepository.findByProductId(productId).stream()
-                .map(OrderFormDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<OrderFormSummaryDTO> orderForms = orderFormRepository.findSummariesByProductId(productId);
         log.info("查询到 {} 个订单", orderForms.size());
         return orderForms;
     }
@@ -99,19 +142,61 @@ public class OrderFormService {
      * 根据状态获取订单表单列表
      * 
      * @param status 订单状态
-     * @return 订单表单DTO列表
+     * @return 订单摘要列表
      */
-    public List<OrderFormDTO> getOrderFormsByStatus(OrderForm.OrderStatus status) {
+    public List<OrderFormSummaryDTO> getOrderFormsByStatus(OrderForm.OrderStatus status) {
         log.info("按状态查询订单, status: {}", status);
-        List<OrderFormDTO> orderForms = orderFormRepository.findByStatus(status).stream()
-                .map(OrderFormDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<OrderFormSummaryDTO> orderForms = orderFormRepository.findSummariesByStatus(status);
         log.info("查询到 {} 个订单", orderForms.size());
         return orderForms;
     }
 
+    /**
+     * 按组合条件游标分页查询订单
+     * 按 (createdAt, id) 倒序，以上一页最后一条记录为键集定位下一页，不执行COUNT查询；
+     * 创建时间范围覆盖归档期时合并归档订单
+     * 
+     * @param query 组合查询条件
+     * @param after 上一页返回的游标（可选，为空时查询第一页）
+     * @param limit 每页数量（可选，默认20，最大100）
+     * @return 订单摘要分页结果
+     * @throws ValidationException 查询条件、游标或分页参数不正确时抛出
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderFormSummaryDTO> getOrderFormPage(OrderQuery query, String after, Integer limit) {
+        query.validate();
+        int pageLimit = resolveLimit(limit);
+        log.info("分页查询订单, query: {}, after: {}, limit: {}", query, after, pageLimit);
+        
+        CursorCodec.Cursor cursor = after != null && !after.isEmpty() ? CursorCodec.decode(after) : null;
+        
+        // 多查询一条用于判断是否还有下一页
+        List<OrderFormSummaryDTO> rows = orderFormRepository.findNewestSummaries(
+                pageSpecification(query, cursor), pageLimit + 1);
+        if (orderArchiveService.includesArchive(query)) {
+            // 同一只读事务内两次查询读取同一快照，归档任务并发移动的订单不会重复或遗漏
+            List<OrderFormSummaryDTO> archived = orderFormArchiveRepository.findNewestSummaries(
+                    pageSpecification(query, cursor), pageLimit + 1);
+            rows = Stream.concat(rows.stream(), archived.stream())
+                    .sorted(Comparator.comparing(OrderFormSummaryDTO::getCreatedAt)
+                            .thenComparing(OrderFormSummaryDTO::getId).reversed())
+                    .limit(pageLimit + 1)
+                    .collect(Collectors.toList());
+        }
+        boolean hasMore = rows.size() > pageLimit;
+        List<OrderFormSummaryDTO> items = hasMore ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderFormSummaryDTO last = items.get(items.size() - 1);
+            nextCursor = CursorCodec.encode(last.getCreatedAt(), last.getId());
+        }
+        log.info("分页查询到 {} 个订单, hasMore: {}", items.size(), hasMore);
+        return new CursorPage<>(items, nextCursor, hasMore, pageLimit);
+    }
+
     /**
      * 根据ID获取订单表单信息
+     * 在线表中不存在时查询归档表
      * 
      * @param id 订单表单ID
      * @return 订单表单DTO对象
@@ -119,45 +204,111 @@ public class OrderFormService {
      */
     public OrderFormDTO getOrderFormById(Long id) {
         log.info("查询订单表单, orderFormId: {}", id);
-        OrderForm orderForm = orderFormRepository.findById(id)
+        OrderFormDTO orderForm = orderFormRepository.findWithProductById(id)
+                .map(OrderFormDTO::fromEntity)
+                .or(() -> orderFormArchiveRepository.findWithProductById(id).map(OrderFormDTO::fromArchive))
                 .orElseThrow(() -> {
                     log.warn("订单不存在, orderFormId: {}", id);
                     return new ResourceNotFoundException("订单", id);
                 });
         log.info("查询订单表单成功, orderFormId: {}, status: {}", id, orderForm.getStatus());
-        return OrderFormDTO.fromEntity(orderForm);
+        return orderForm;
     }
 
     /**
      * 更新订单状态
+     * 对每个允许的来源状态执行一条 UPDATE ... WHERE status = 来源状态，更新成功的那一条即给出变更前的状态，
+     * 不先锁定读取订单；变更前状态用于在同一事务内增量更新订单统计。
+     * 全部条件UPDATE都未命中时才查询订单，区分订单不存在、版本冲突和非法状态变更
      * 
      * @param id 订单表单ID
      * @param status 新状态
+     * @param expectedVersion 期望的版本号（可选），不匹配时拒绝更新
      * @return 更新后的订单表单DTO对象
      * @throws ResourceNotFoundException 订单不存在时抛出
+     * @throws BusinessException 版本冲突或状态不允许变更时抛出
      */
     @Transactional
-    public OrderFormDTO updateOrderFormStatus(Long id, OrderForm.OrderStatus status) {
-        log.info("开始更新订单状态, orderFormId: {}, newStatus: {}", id, status);
+    public OrderFormDTO updateOrderFormStatus(Long id, OrderForm.OrderStatus status, Long expectedVersion) {
+        log.info("开始更新订单状态, orderFormId: {}, newStatus: {}, expectedVersion: {}", id, status, expectedVersion);
         
-        // 查找订单
-        OrderForm orderForm = orderFormRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.warn("更新订单状态失败：订单不存在, orderFormId: {}", id);
-                    return new ResourceNotFoundException("订单", id);
-                });
-        
-        // 更新状态
-        OrderForm.OrderStatus oldStatus = orderForm.getStatus();
-        orderForm.setStatus(status);
-        OrderForm updatedOrder = orderFormRepository.save(orderForm);
+        LocalDateTime now = LocalDateTime.now();
+        OrderForm.OrderStatus previous = null;
+        for (OrderForm.OrderStatus source : OrderForm.OrderStatus.sourcesOf(status)) {
+            if (orderFormRepository.transitionStatus(id, status, Set.of(source), expectedVersion, now) > 0) {
+                previous = source;
+                break;
+            }
+        }
+        if (previous == null) {
+            throw transitionFailure(id, status, expectedVersion);
+        }
         
-        log.info("更新订单状态成功, orderFormId: {}, oldStatus: {}, newStatus: {}", 
-                id, oldStatus, status);
+        // 订单行已被本事务的UPDATE锁定，读取结果即更新后的状态
+        OrderForm updatedOrder = orderFormRepository.findWithProductById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("订单", id));
+        OrderStatsService.OrderFact before = new OrderStatsService.OrderFact(id, updatedOrder.getProduct().getId(), 
+                updatedOrder.getQuantity(), previous, updatedOrder.getCreatedAt());
+        orderStatsService.recordTransitions(List.of(before), status);
+        if (status == OrderForm.OrderStatus.CANCELLED) {
+            inventoryService.release(before.productId(), before.quantity());
+        }
         
+        log.info("更新订单状态成功, orderFormId: {}, oldStatus: {}, newStatus: {}, version: {}", 
+                id, previous, status, updatedOrder.getVersion());
         return OrderFormDTO.fromEntity(updatedOrder);
     }
 
+    /**
+     * 批量更新订单状态
+     * 按ID分块，对每个允许的来源状态执行一条 UPDATE ... WHERE id IN (...) AND status = 来源状态，
+     * 不先锁定整块订单，其余订单保持不变；只有更新行数不为0时才读取本事务刚更新的订单，
+     * 按来源状态增量更新订单统计
+     * 
+     * @param ids 订单ID列表
+     * @param status 目标状态
+     * @return 批量更新结果
+     * @throws BusinessException 读取到的已更新订单数与UPDATE行数不一致时抛出，整批回滚
+     */
+    @Transactional
+    public BulkUpdateResult updateOrderFormStatuses(List<Long> ids, OrderForm.OrderStatus status) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        log.info("开始批量更新订单状态, count: {}, newStatus: {}", distinctIds.size(), status);
+        
+        Set<OrderForm.OrderStatus> sources = OrderForm.OrderStatus.sourcesOf(status);
+        // 更新时间同时作为本次更新的标记，截断到数据库保存的微秒精度
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = 0;
+        for (int from = 0; from < distinctIds.size() && !sources.isEmpty(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+            Set<Long> counted = new HashSet<>();
+            for (OrderForm.OrderStatus source : sources) {
+                int count = orderFormRepository.transitionStatuses(chunk, status, Set.of(source), now);
+                if (count == 0) {
+                    continue;
+                }
+                List<OrderStatsService.OrderFact> moved = orderStatsService.findTransitioned(chunk, source, status, now)
+                        .stream()
+                        .filter(fact -> counted.add(fact.id()))
+                        .toList();
+                if (moved.size() != count) {
+                    log.warn("批量更新订单状态失败：已更新订单数不一致, source: {}, updated: {}, found: {}", 
+                            source, count, moved.size());
+                    throw new BusinessException("订单已被其他人修改，请刷新后重试");
+                }
+                updated += count;
+                orderStatsService.recordTransitions(moved, status);
+                if (status == OrderForm.OrderStatus.CANCELLED) {
+                    inventoryService.releaseAll(moved.stream().collect(Collectors.groupingBy(
+                            OrderStatsService.OrderFact::productId, Collectors.summingInt(OrderStatsService.OrderFact::quantity))));
+                }
+            }
+        }
+        
+        log.info("批量更新订单状态成功, matched: {}, updated: {}, newStatus: {}", distinctIds.size(), updated, status);
+        return new BulkUpdateResult(distinctIds.size(), updated);
+    }
+
     /**
      * 删除订单表单
      * 
@@ -168,13 +319,73 @@ public class OrderFormService {
     public void deleteOrderForm(Long id) {
         log.info("开始删除订单表单, orderFormId: {}", id);
         
-        if (!orderFormRepository.existsById(id)) {
-            log.warn("删除订单失败：订单不存在, orderFormId: {}", id);
-            throw new ResourceNotFoundException("订单", id);
-        }
+        OrderForm current = orderFormRepository.findForUpdateById(id)
+                .orElseThrow(() -> {
+                    log.warn("删除订单失败：订单不存在, orderFormId: {}", id);
+                    return new ResourceNotFoundException("订单", id);
+                });
         
-        orderFormRepository.deleteById(id);
+        orderFormRepository.delete(current);
+        orderStatsService.recordDeleted(OrderStatsService.OrderFact.of(current));
+        // 未完成且未取消的订单仍占用库存，删除时归还
+        if (current.getStatus().canTransitionTo(OrderForm.OrderStatus.CANCELLED)) {
+            inventoryService.release(current.getProduct().getId(), current.getQuantity());
+        }
         log.info("删除订单表单成功, orderFormId: {}", id);
     }
-}
 
+    /**
+     * 状态更新未命中时查询订单，给出失败原因
+     * 
+     * @param id 订单表单ID
+     * @param status 新状态
+     * @param expectedVersion 期望的版本号（可选）
+     * @return 对应原因的异常
+     * @throws ResourceNotFoundException 订单不存在时抛出
+     */
+    private BusinessException transitionFailure(Long id, OrderForm.OrderStatus status, Long expectedVersion) {
+        OrderForm current = orderFormRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("更新订单状态失败：订单不存在, orderFormId: {}", id);
+                    return new ResourceNotFoundException("订单", id);
+                });
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            log.warn("更新订单状态失败：版本冲突, orderFormId: {}, expectedVersion: {}, currentVersion: {}", 
+                    id, expectedVersion, current.getVersion());
+            return new BusinessException("订单已被其他人修改，请刷新后重试");
+        }
+        if (!current.getStatus().canTransitionTo(status)) {
+            log.warn("更新订单状态失败：不允许的状态变更, orderFormId: {}, currentStatus: {}, newStatus: {}", 
+                    id, current.getStatus(), status);
+            return new BusinessException("订单状态不能从 " + current.getStatus() + " 变更为 " + status);
+        }
+        // 各条件UPDATE之间订单状态被并发修改
+        log.warn("更新订单状态失败：状态被并发修改, orderFormId: {}, currentStatus: {}", id, current.getStatus());
+        return new BusinessException("订单已被其他人修改，请刷新后重试");
+    }
+
+    private <T> Specification<T> pageSpecification(OrderQuery query, CursorCodec.Cursor cursor) {
+        Specification<T> specification = OrderFormSpecifications.matching(query);
+        if (cursor != null) {
+            specification = specification.and(OrderFormSpecifications.before(cursor.createdAt(), cursor.id()));
+        }
+        return specification;
+    }
+
+    /**
+     * 解析每页数量，未指定时使用默认值
+     * 
+     * @param limit 请求的每页数量
+     * @return 实际使用的每页数量
+     * @throws ValidationException 每页数量超出范围时抛出
+     */
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return ProductService.DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1 || limit > ProductService.MAX_PAGE_LIMIT) {
+            throw new ValidationException("每页数量必须在1-" + ProductService.MAX_PAGE_LIMIT + "之间");
+        }
+        return limit;
+    }
+}
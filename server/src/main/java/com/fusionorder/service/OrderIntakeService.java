@@ -0,0 +1,497 @@
+package com.fusionorder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.dto.IntakeStatusDTO;
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.exception.BusinessException;
+import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.util.BoundedTtlCache;
+import com.fusionorder.util.FileJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 订单异步受理服务
+ * 异步模式下，订单校验通过后追加写入本地fsync日志即返回受理编号，
+ * 由后台任务按批次以多行INSERT写入数据库，重启后从检查点重放未写入的订单；
+ * 数据库写入压力与请求峰值解耦。同步模式下不启用。
+ * 受理编号可通过 {@link #getIntakeStatus} 查询写入后的订单ID和状态
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class OrderIntakeService {
+
+    /**
+     * 订单写入语句
+     */
+    private static final String INSERT_SQL = "INSERT INTO order_forms "
+            + "(id, intake_ref, product_id, quantity, contact_name, contact_phone, contact_email, requirements, "
+            + "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * 查询已写入的受理编号，重放时跳过
+     */
+    private static final String EXISTING_REFS_SQL = "SELECT intake_ref FROM order_forms WHERE intake_ref IN (:refs)";
+
+    /**
+     * 按受理编号查询订单ID和状态，包括已归档的订单
+     */
+    private static final String STATUS_BY_REF_SQL = "SELECT id, status FROM order_forms WHERE intake_ref = ? "
+            + "UNION ALL SELECT id, status FROM order_forms_archive WHERE intake_ref = ?";
+
+    /**
+     * 被拒绝的受理编号保留时长
+     */
+    private static final Duration REJECTED_RETENTION = Duration.ofDays(1);
+
+    /**
+     * 最多保留的被拒绝受理编号数
+     */
+    private static final int MAX_REJECTED_REFS = 10_000;
+
+    /**
+     * JDBC数据访问模板
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 具名参数JDBC模板，用于IN查询
+     */
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * 事务模板，每个批次一个事务
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * JSON序列化
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 产品服务，受理时通过缓存校验产品
+     */
+    private final ProductService productService;
+
+    /**
+     * 订单统计服务，与订单写入在同一事务内更新统计
+     */
+    private final OrderStatsService orderStatsService;
+
+    /**
+     * ID分配服务，为写入的订单分配主键
+     */
+    private final IdAllocator idAllocator;
+
+    /**
+     * 库存服务，受理时预占库存
+     */
+    private final InventoryService inventoryService;
+
+    /**
+     * 是否启用异步受理
+     */
+    private final boolean async;
+
+    /**
+     * 日志目录
+     */
+    private final Path journalDirectory;
+
+    /**
+     * 每批写入的订单数
+     */
+    private final int batchSize;
+
+    /**
+     * 待写入订单日志
+     */
+    private FileJournal journal;
+
+    /**
+     * 写入失败的订单日志，供人工处理
+     */
+    private FileJournal rejected;
+
+    /**
+     * 日志是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 本节点已受理、尚未写入数据库的受理编号
+     */
+    private final Set<String> pendingRefs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本节点最近被拒绝的受理编号
+     */
+    private final BoundedTtlCache<String, Boolean> rejectedRefs =
+            new BoundedTtlCache<>("intake-rejected", MAX_REJECTED_REFS, REJECTED_RETENTION);
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     * @param transactionTemplate 事务模板
+     * @param objectMapper JSON序列化
+     * @param productService 产品服务
+     * @param orderStatsService 订单统计服务
+     * @param idAllocator ID分配服务
+     * @param inventoryService 库存服务
+     * @param mode 受理模式（sync、async）
+     * @param journalDirectory 日志目录
+     * @param batchSize 每批写入的订单数
+     */
+    public OrderIntakeService(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              ProductService productService,
+                              OrderStatsService orderStatsService,
+                              IdAllocator idAllocator,
+                              InventoryService inventoryService,
+                              @Value("${order.intake.mode:sync}") String mode,
+                              @Value("${order.intake.journal-dir:data/order-intake}") String journalDirectory,
+                              @Value("${order.intake.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.productService = productService;
+        this.orderStatsService = orderStatsService;
+        this.idAllocator = idAllocator;
+        this.inventoryService = inventoryService;
+        this.async = "async".equalsIgnoreCase(mode);
+        this.journalDirectory = Path.of(journalDirectory);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 异步模式下打开日志
+     *
+     * @throws IOException 日志文件无法打开时抛出
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!async) {
+            return;
+        }
+        journal = new FileJournal(journalDirectory, "orders");
+        rejected = new FileJournal(journalDirectory, "rejected");
+        for (String record : journal.readPending(Integer.MAX_VALUE).records()) {
+            try {
+                pendingRefs.add(objectMapper.readValue(record, IntakeEntry.class).ref());
+            } catch (JsonProcessingException e) {
+                // 无法解析的记录在写入时转入拒绝日志
+            }
+        }
+        log.info("订单异步受理已启用, journal: {}, pendingBytes: {}", journal.getJournalFile(), journal.pendingBytes());
+    }
+
+    /**
+     * 是否启用异步受理
+     *
+     * @return true表示异步受理
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * 受理订单
+     * 通过产品缓存校验产品，预占库存，追加写入日志并fsync后返回，订单ID在写入数据库后生成；
+     * 日志写入失败时归还库存；写入数据库时被拒绝的订单同样归还库存
+     *
+     * @param orderForm 订单表单实体对象
+     * @return 受理结果，id为空，intakeRef为受理编号
+     * @throws com.fusionorder.exception.ResourceNotFoundException 产品不存在时抛出
+     * @throws com.fusionorder.exception.ConflictException 库存不足时抛出
+     * @throws BusinessException 日志写入失败时抛出
+     */
+    public OrderFormDTO accept(OrderForm orderForm) {
+        ProductDTO product = productService.getProductById(orderForm.getProduct().getId());
+        IntakeEntry entry = new IntakeEntry(UUID.randomUUID().toString(), product.getId(), orderForm.getQuantity(),
+                orderForm.getContactName(), orderForm.getContactPhone(), orderForm.getContactEmail(),
+                orderForm.getRequirements(), LocalDateTime.now());
+        inventoryService.reserve(product.getId(), entry.quantity());
+        pendingRefs.add(entry.ref());
+        try {
+            journal.append(objectMapper.writeValueAsString(entry));
+        } catch (IOException e) {
+            pendingRefs.remove(entry.ref());
+            inventoryService.release(product.getId(), entry.quantity());
+            log.error("订单写入受理日志失败, productId: {}", product.getId(), e);
+            throw new BusinessException("订单受理失败，请稍后重试");
+        }
+        log.info("订单已受理, intakeRef: {}, productId: {}, quantity: {}", entry.ref(), product.getId(), entry.quantity());
+
+        OrderFormDTO dto = new OrderFormDTO();
+        dto.setIntakeRef(entry.ref());
+        dto.setProductId(product.getId());
+        dto.setProductName(product.getName());
+        dto.setQuantity(entry.quantity());
+        dto.setContactName(entry.contactName());
+        dto.setContactPhone(entry.contactPhone());
+        dto.setContactEmail(entry.contactEmail());
+        dto.setRequirements(entry.requirements());
+        dto.setStatus(OrderForm.OrderStatus.PENDING);
+        dto.setCreatedAt(entry.createdAt());
+        return dto;
+    }
+
+    /**
+     * 查询受理编号对应的订单
+     * 先查本节点尚未写入的受理记录，再查数据库（含归档表），最后查本节点最近拒绝的记录
+     *
+     * @param ref 受理编号
+     * @return 受理状态，写入数据库后包含订单ID和订单状态
+     * @throws ResourceNotFoundException 受理编号不存在时抛出
+     */
+    public IntakeStatusDTO getIntakeStatus(String ref) {
+        // 写入提交后才从待写入集合移除，先查集合再查数据库不会漏掉正在写入的订单
+        if (pendingRefs.contains(ref)) {
+            return new IntakeStatusDTO(ref, IntakeStatusDTO.State.PENDING, null, null);
+        }
+        List<IntakeStatusDTO> rows = jdbcTemplate.query(STATUS_BY_REF_SQL, (rs, rowNum) -> new IntakeStatusDTO(ref,
+                IntakeStatusDTO.State.CREATED, rs.getLong("id"), OrderForm.OrderStatus.valueOf(rs.getString("status"))),
+                ref, ref);
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        if (rejectedRefs.get(ref) != null) {
+            return new IntakeStatusDTO(ref, IntakeStatusDTO.State.REJECTED, null, null);
+        }
+        throw new ResourceNotFoundException("受理编号不存在: " + ref);
+    }
+
+    /**
+     * 将日志中未写入的订单写入数据库
+     * 定时执行，每次处理到日志末尾；启动后的首次执行即完成重放
+     */
+    @Scheduled(fixedDelayString = "${order.intake.flush-interval-ms:200}")
+    public void drain() {
+        if (!async) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                FileJournal.Batch batch;
+                while (!(batch = journal.readPending(batchSize)).records().isEmpty()) {
+                    write(batch.records());
+                    journal.commit(batch.endPosition());
+                }
+            }
+        } catch (IOException | DataAccessException e) {
+            // 检查点未提交，下次执行时重试
+            log.error("写入受理订单失败，稍后重试", e);
+        }
+    }
+
+    /**
+     * 关闭前写入剩余订单并关闭日志
+     *
+     * @throws IOException 关闭日志失败时抛出
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (!async) {
+            return;
+        }
+        drain();
+        synchronized (this) {
+            closed = true;
+            journal.close();
+            rejected.close();
+        }
+    }
+
+    /**
+     * 写入一批订单
+     * 跳过已写入的受理编号（上次写入后、提交检查点前崩溃的情况）；
+     * 整批失败时逐条写入，因数据本身无法写入（约束冲突等永久性错误）的订单转入拒绝日志并归还库存；
+     * 连接中断等暂时性错误直接抛出，检查点不前进，下次执行时整批重放
+     *
+     * @throws DataAccessException 暂时性数据库错误时抛出
+     */
+    private void write(List<String> records) throws IOException {
+        List<IntakeEntry> entries = new ArrayList<>(records.size());
+        List<String> rejectedRecords = new ArrayList<>();
+        for (String record : records) {
+            try {
+                entries.add(objectMapper.readValue(record, IntakeEntry.class));
+            } catch (JsonProcessingException e) {
+                log.error("受理日志记录无法解析，转入拒绝日志: {}", record);
+                rejectedRecords.add(record);
+            }
+        }
+        List<IntakeEntry> rejectedEntries = new ArrayList<>();
+        if (!entries.isEmpty()) {
+            insert(entries, rejectedEntries);
+        }
+        reject(rejectedRecords, rejectedEntries);
+        entries.forEach(entry -> pendingRefs.remove(entry.ref()));
+    }
+
+    /**
+     * 写入未写入过的订单，永久性失败的订单加入 rejectedEntries
+     */
+    private void insert(List<IntakeEntry> entries, List<IntakeEntry> rejectedEntries) {
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(EXISTING_REFS_SQL,
+                new MapSqlParameterSource("refs", entries.stream().map(IntakeEntry::ref).toList()), String.class));
+        List<IntakeEntry> pending = entries.stream().filter(entry -> !existing.contains(entry.ref())).toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] ids = idAllocator.next(OrderForm.class, pending.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, ids[i], pending.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pending.size();
+                    }
+                });
+                orderStatsService.recordCreated(pending.stream().map(this::toFact).toList());
+            });
+            log.info("受理订单写入数据库, count: {}, skipped: {}", pending.size(), existing.size());
+        } catch (DataAccessException e) {
+            if (!isPermanent(e)) {
+                throw e;
+            }
+            log.warn("受理订单批量写入失败，逐条重试, count: {}, error: {}",
+                    pending.size(), e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < pending.size(); i++) {
+                IntakeEntry entry = pending.get(i);
+                long id = ids[i];
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, id, entry, now));
+                        orderStatsService.recordCreated(List.of(toFact(entry)));
+                    });
+                } catch (DataAccessException rowError) {
+                    if (!isPermanent(rowError)) {
+                        throw rowError;
+                    }
+                    log.error("受理订单无法写入，转入拒绝日志, intakeRef: {}, error: {}",
+                            entry.ref(), rowError.getMostSpecificCause().getMessage());
+                    rejectedEntries.add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录被拒绝的订单并归还其预占的库存
+     * 先写拒绝日志再归还库存：归还失败时检查点不前进，重放只会重复记录拒绝日志，不会重复归还库存；
+     * 仅在归还成功后、提交检查点前崩溃时会重复归还
+     */
+    private void reject(List<String> rejectedRecords, List<IntakeEntry> rejectedEntries) throws IOException {
+        for (String record : rejectedRecords) {
+            rejected.append(record);
+        }
+        if (rejectedEntries.isEmpty()) {
+            return;
+        }
+        for (IntakeEntry entry : rejectedEntries) {
+            rejected.append(objectMapper.writeValueAsString(entry));
+            rejectedRefs.put(entry.ref(), Boolean.TRUE);
+        }
+        transactionTemplate.executeWithoutResult(status -> rejectedEntries.forEach(entry ->
+                inventoryService.release(entry.productId(), entry.quantity())));
+        log.warn("受理订单转入拒绝日志并归还库存, count: {}", rejectedEntries.size());
+    }
+
+    /**
+     * 判断数据库错误是否由数据本身引起，重试也不会成功
+     * 连接失败在 Spring 的异常体系中同样属于非暂时性错误，但与具体订单无关，按暂时性错误处理
+     */
+    private static boolean isPermanent(DataAccessException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void bind(PreparedStatement ps, long id, IntakeEntry entry, Timestamp now) throws SQLException {
+        ps.setLong(1, id);
+        ps.setString(2, entry.ref());
+        ps.setLong(3, entry.productId());
+        ps.setInt(4, entry.quantity());
+        ps.setString(5, entry.contactName());
+        ps.setString(6, entry.contactPhone());
+        if (entry.contactEmail() == null) {
+            ps.setNull(7, Types.VARCHAR);
+        } else {
+            ps.setString(7, entry.contactEmail());
+        }
+        if (entry.requirements() == null) {
+            ps.setNull(8, Types.VARCHAR);
+        } else {
+            ps.setString(8, entry.requirements());
+        }
+        ps.setString(9, OrderForm.OrderStatus.PENDING.name());
+        ps.setTimestamp(10, Timestamp.valueOf(entry.createdAt()));
+        ps.setTimestamp(11, now);
+    }
+
+    private OrderStatsService.OrderFact toFact(IntakeEntry entry) {
+        return new OrderStatsService.OrderFact(null, entry.productId(), entry.quantity(),
+                OrderForm.OrderStatus.PENDING, entry.createdAt());
+    }
+
+    /**
+     * 受理日志记录
+     *
+     * @param ref 受理编号
+     * @param productId 产品ID
+     * @param quantity 订货数量
+     * @param contactName 联系人姓名
+     * @param contactPhone 联系人电话
+     * @param contactEmail 联系人邮箱
+     * @param requirements 客户需求
+     * @param createdAt 受理时间，作为订单创建时间
+     */
+    public record IntakeEntry(String ref, Long productId, Integer quantity, String contactName,
+                              String contactPhone, String contactEmail, String requirements,
+                              LocalDateTime createdAt) {
+    }
+}
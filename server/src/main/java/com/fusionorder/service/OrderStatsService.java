@@ -0,0 +1,342 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderStatsBucket;
+import com.fusionorder.dto.OrderStatsDTO;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 订单统计服务
+ * 在订单创建、状态变更、删除的同一事务内增量更新每日汇总表 order_stats_daily，
+ * 统计查询只聚合汇总行，耗时与分组数相关而与订单数无关；提供全量重建用于校正
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class OrderStatsService {
+
+    /**
+     * 累加汇总行，不存在时插入
+     */
+    private static final String UPSERT_SQL = "INSERT INTO order_stats_daily "
+            + "(stat_date, product_id, status, order_count, total_quantity, updated_at) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "total_quantity = total_quantity + VALUES(total_quantity), updated_at = VALUES(updated_at)";
+
+    /**
+     * 读取本事务刚变更为目标状态的订单的统计字段，以更新时间区分本次更新的订单
+     */
+    private static final String TRANSITIONED_SQL = "SELECT id, product_id, quantity, created_at FROM order_forms "
+            + "WHERE id IN (:ids) AND status = :status AND updated_at = :updatedAt";
+
+    /**
+     * 重建：清空汇总表
+     */
+    private static final String REBUILD_DELETE_SQL = "DELETE FROM order_stats_daily";
+
+    /**
+     * 重建：从在线订单表和归档表重新汇总
+     */
+    private static final String REBUILD_INSERT_SQL = "INSERT INTO order_stats_daily "
+            + "(stat_date, product_id, status, order_count, total_quantity, updated_at) "
+            + "SELECT DATE(created_at), product_id, status, COUNT(*), SUM(quantity), ? FROM ("
+            + "SELECT created_at, product_id, status, quantity FROM order_forms "
+            + "UNION ALL SELECT created_at, product_id, status, quantity FROM order_forms_archive) o "
+            + "GROUP BY DATE(created_at), product_id, status";
+
+    /**
+     * 汇总行的排序，批量更新时按固定顺序加锁，避免并发事务互相死锁
+     */
+    private static final Comparator<StatsKey> KEY_ORDER = Comparator.comparing(StatsKey::date)
+            .thenComparing(StatsKey::productId)
+            .thenComparing(StatsKey::status);
+
+    /**
+     * JDBC数据访问模板
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 具名参数JDBC模板，用于IN查询
+     */
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     */
+    public OrderStatsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * 记录新建的订单
+     *
+     * @param orders 新建的订单
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<OrderFact> orders) {
+        Map<StatsKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        for (OrderFact order : orders) {
+            add(deltas, order, order.status(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 记录状态变更，订单从各自的原状态移到目标状态
+     *
+     * @param orders 变更前的订单
+     * @param target 目标状态
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransitions(Collection<OrderFact> orders, OrderForm.OrderStatus target) {
+        Map<StatsKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        for (OrderFact order : orders) {
+            add(deltas, order, order.status(), -1);
+            add(deltas, order, target, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 记录删除的订单
+     *
+     * @param order 删除前的订单
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(OrderFact order) {
+        Map<StatsKey, long[]> deltas = new TreeMap<>(KEY_ORDER);
+        add(deltas, order, order.status(), -1);
+        apply(deltas);
+    }
+
+    /**
+     * 读取本事务以条件UPDATE变更为目标状态的订单的统计字段
+     * 这些订单行已被本事务的UPDATE锁定，读取不再额外加锁
+     *
+     * @param ids 订单ID
+     * @param source 更新前的状态，作为返回记录的状态
+     * @param target 目标状态
+     * @param updatedAt 本次更新写入的更新时间
+     * @return 变更前的订单统计字段
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrderFact> findTransitioned(Collection<Long> ids, OrderForm.OrderStatus source,
+                                            OrderForm.OrderStatus target, LocalDateTime updatedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("status", target.name())
+                .addValue("updatedAt", Timestamp.valueOf(updatedAt));
+        return namedJdbcTemplate.query(TRANSITIONED_SQL, params, (rs, rowNum) -> new OrderFact(
+                rs.getLong("id"),
+                rs.getLong("product_id"),
+                rs.getInt("quantity"),
+                source,
+                rs.getTimestamp("created_at").toLocalDateTime()));
+    }
+
+    /**
+     * 查询订单统计
+     *
+     * @param from 下单日期起点（可选，含）
+     * @param to 下单日期终点（可选，含）
+     * @param productId 产品ID（可选）
+     * @param status 订单状态（可选）
+     * @param groupBy 分组维度，为空时只返回总计
+     * @return 统计结果
+     * @throws ValidationException 日期范围不正确时抛出
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsDTO getStats(LocalDate from, LocalDate to, Long productId, OrderForm.OrderStatus status,
+                                  Set<Dimension> groupBy) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("统计起始日期不能晚于结束日期");
+        }
+        boolean byDate = groupBy.contains(Dimension.DATE);
+        boolean byProduct = groupBy.contains(Dimension.PRODUCT);
+        boolean byStatus = groupBy.contains(Dimension.STATUS);
+
+        List<String> columns = new ArrayList<>();
+        if (byDate) {
+            columns.add("s.stat_date");
+        }
+        if (byProduct) {
+            columns.add("s.product_id");
+            columns.add("p.name");
+        }
+        if (byStatus) {
+            columns.add("s.status");
+        }
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (String column : columns) {
+            sql.append(column).append(", ");
+        }
+        sql.append("SUM(s.order_count) AS order_count, SUM(s.total_quantity) AS total_quantity "
+                + "FROM order_stats_daily s");
+        if (byProduct) {
+            sql.append(" LEFT JOIN products p ON p.id = s.product_id");
+        }
+        sql.append(" WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (from != null) {
+            sql.append(" AND s.stat_date >= :from");
+            params.addValue("from", Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND s.stat_date <= :to");
+            params.addValue("to", Date.valueOf(to));
+        }
+        if (productId != null) {
+            sql.append(" AND s.product_id = :productId");
+            params.addValue("productId", productId);
+        }
+        if (status != null) {
+            sql.append(" AND s.status = :status");
+            params.addValue("status", status.name());
+        }
+        if (!columns.isEmpty()) {
+            String grouping = String.join(", ", columns);
+            sql.append(" GROUP BY ").append(grouping);
+            sql.append(" HAVING SUM(s.order_count) <> 0");
+            sql.append(" ORDER BY ").append(grouping);
+        }
+
+        List<OrderStatsBucket> buckets = namedJdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            OrderStatsBucket bucket = new OrderStatsBucket();
+            if (byDate) {
+                bucket.setDate(rs.getDate("stat_date").toLocalDate());
+            }
+            if (byProduct) {
+                bucket.setProductId(rs.getLong("product_id"));
+                bucket.setProductName(rs.getString("name"));
+            }
+            if (byStatus) {
+                bucket.setStatus(OrderForm.OrderStatus.valueOf(rs.getString("status")));
+            }
+            bucket.setOrderCount(rs.getLong("order_count"));
+            bucket.setTotalQuantity(rs.getLong("total_quantity"));
+            return bucket;
+        });
+        long totalOrders = buckets.stream().mapToLong(OrderStatsBucket::getOrderCount).sum();
+        long totalQuantity = buckets.stream().mapToLong(OrderStatsBucket::getTotalQuantity).sum();
+        return new OrderStatsDTO(columns.isEmpty() ? List.of() : buckets, totalOrders, totalQuantity);
+    }
+
+    /**
+     * 从在线订单表和归档表全量重建汇总表
+     * 重建期间汇总行被锁定，并发的订单写入会等待重建完成
+     *
+     * @return 重建后的汇总行数
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        log.info("开始重建订单统计");
+        jdbcTemplate.update(REBUILD_DELETE_SQL);
+        int rows = jdbcTemplate.update(REBUILD_INSERT_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        log.info("重建订单统计完成, rows: {}, elapsed: {}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private void add(Map<StatsKey, long[]> deltas, OrderFact order, OrderForm.OrderStatus status, int sign) {
+        long[] delta = deltas.computeIfAbsent(
+                new StatsKey(order.createdAt().toLocalDate(), order.productId(), status), key -> new long[2]);
+        delta[0] += sign;
+        delta[1] += (long) sign * order.quantity();
+    }
+
+    private void apply(Map<StatsKey, long[]> deltas) {
+        List<Map.Entry<StatsKey, long[]>> changes = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] != 0 || entry.getValue()[1] != 0)
+                .collect(Collectors.toList());
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (ps, entry) -> {
+            ps.setDate(1, Date.valueOf(entry.getKey().date()));
+            ps.setLong(2, entry.getKey().productId());
+            ps.setString(3, entry.getKey().status().name());
+            ps.setLong(4, entry.getValue()[0]);
+            ps.setLong(5, entry.getValue()[1]);
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    /**
+     * 统计分组维度
+     */
+    public enum Dimension {
+        /**
+         * 按下单日期
+         */
+        DATE,
+
+        /**
+         * 按产品
+         */
+        PRODUCT,
+
+        /**
+         * 按订单状态
+         */
+        STATUS
+    }
+
+    /**
+     * 订单统计所需的字段
+     *
+     * @param id 订单ID
+     * @param productId 产品ID
+     * @param quantity 订货数量
+     * @param status 订单状态
+     * @param createdAt 创建时间，取日期部分作为统计日期
+     */
+    public record OrderFact(Long id, Long productId, Integer quantity, OrderForm.OrderStatus status,
+                            LocalDateTime createdAt) {
+
+        /**
+         * 从订单实体提取统计字段
+         *
+         * @param orderForm 订单表单实体对象
+         * @return 统计字段
+         */
+        public static OrderFact of(OrderForm orderForm) {
+            return new OrderFact(orderForm.getId(), orderForm.getProduct().getId(), orderForm.getQuantity(),
+                    orderForm.getStatus(), orderForm.getCreatedAt());
+        }
+    }
+
+    /**
+     * 汇总行的唯一键
+     */
+    private record StatsKey(LocalDate date, Long productId, OrderForm.OrderStatus status) {
+    }
+}
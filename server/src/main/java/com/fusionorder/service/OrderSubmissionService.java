@@ -0,0 +1,152 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderLineRequest;
+import com.fusionorder.dto.OrderSubmissionDTO;
+import com.fusionorder.dto.OrderSubmissionRequest;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.OrderSubmission;
+import com.fusionorder.entity.Product;
+import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.repository.OrderFormArchiveRepository;
+import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.OrderSubmissionRepository;
+import com.fusionorder.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 订单提交服务类
+ * 一次提交多个产品：所有订单行的产品在一条IN查询中校验，
+ * 订单头和订单行在同一事务内写入，订单行由Hibernate合并为JDBC批量INSERT
+ * 
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSubmissionService {
+
+    /**
+     * 订单提交数据访问层
+     */
+    private final OrderSubmissionRepository orderSubmissionRepository;
+
+    /**
+     * 订单表单数据访问层
+     */
+    private final OrderFormRepository orderFormRepository;
+
+    /**
+     * 归档订单数据访问层
+     */
+    private final OrderFormArchiveRepository orderFormArchiveRepository;
+
+    /**
+     * 产品数据访问层
+     */
+    private final ProductRepository productRepository;
+
+    /**
+     * 订单统计服务
+     */
+    private final OrderStatsService orderStatsService;
+
+    /**
+     * 库存服务
+     */
+    private final InventoryService inventoryService;
+
+    /**
+     * 提交多产品订单
+     * 任一产品不存在或库存不足时整单失败，不会写入部分订单行或占用部分库存
+     * 
+     * @param request 订单提交请求
+     * @return 订单提交DTO对象，包含全部订单行
+     * @throws ResourceNotFoundException 任一产品不存在时抛出
+     * @throws com.fusionorder.exception.ConflictException 任一产品库存不足时抛出
+     */
+    @Transactional
+    public OrderSubmissionDTO submit(OrderSubmissionRequest request) {
+        List<OrderLineRequest> lines = request.getLines();
+        log.info("开始提交多产品订单, lines: {}, contactName: {}", lines.size(), request.getContactName());
+
+        // 一条IN查询校验所有订单行的产品
+        List<Long> productIds = lines.stream().map(OrderLineRequest::getProductId).distinct().toList();
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                log.warn("提交订单失败：产品不存在, productId: {}", productId);
+                throw new ResourceNotFoundException("产品", productId);
+            }
+        }
+
+        // 按产品合并数量后预占库存，与订单写入在同一事务内
+        inventoryService.reserveAll(lines.stream().collect(Collectors.groupingBy(
+                OrderLineRequest::getProductId, Collectors.summingInt(OrderLineRequest::getQuantity))));
+
+        OrderSubmission submission = new OrderSubmission();
+        submission.setContactName(request.getContactName());
+        submission.setContactPhone(request.getContactPhone());
+        submission.setContactEmail(request.getContactEmail());
+        submission.setRequirements(request.getRequirements());
+        submission.setLineCount(lines.size());
+        OrderSubmission savedSubmission = orderSubmissionRepository.save(submission);
+
+        List<OrderForm> orderForms = new ArrayList<>(lines.size());
+        for (OrderLineRequest line : lines) {
+            OrderForm orderForm = new OrderForm();
+            orderForm.setSubmission(savedSubmission);
+            orderForm.setProduct(products.get(line.getProductId()));
+            orderForm.setQuantity(line.getQuantity());
+            orderForm.setContactName(request.getContactName());
+            orderForm.setContactPhone(request.getContactPhone());
+            orderForm.setContactEmail(request.getContactEmail());
+            orderForm.setRequirements(line.getRequirements() != null ? line.getRequirements() : request.getRequirements());
+            orderForms.add(orderForm);
+        }
+        // 主键分段预分配，订单行在提交时合并为批量INSERT
+        List<OrderForm> savedOrders = orderFormRepository.saveAll(orderForms);
+        orderStatsService.recordCreated(savedOrders.stream().map(OrderStatsService.OrderFact::of).toList());
+
+        log.info("提交多产品订单成功, submissionId: {}, lines: {}", savedSubmission.getId(), savedOrders.size());
+        return OrderSubmissionDTO.fromEntity(savedSubmission,
+                savedOrders.stream().map(OrderFormDTO::fromEntity).toList());
+    }
+
+    /**
+     * 根据ID获取订单提交及其全部订单行
+     * 已归档的订单行从归档表读取
+     * 
+     * @param id 提交ID
+     * @return 订单提交DTO对象
+     * @throws ResourceNotFoundException 提交不存在时抛出
+     */
+    @Transactional(readOnly = true)
+    public OrderSubmissionDTO getSubmissionById(Long id) {
+        log.info("查询订单提交, submissionId: {}", id);
+        OrderSubmission submission = orderSubmissionRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("订单提交不存在, submissionId: {}", id);
+                    return new ResourceNotFoundException("订单提交", id);
+                });
+        List<OrderFormDTO> lines = Stream.concat(
+                        orderFormRepository.findBySubmissionIdOrderById(id).stream().map(OrderFormDTO::fromEntity),
+                        orderFormArchiveRepository.findBySubmissionId(id).stream().map(OrderFormDTO::fromArchive))
+                .sorted(Comparator.comparing(OrderFormDTO::getId))
+                .toList();
+        log.info("查询订单提交成功, submissionId: {}, lines: {}", id, lines.size());
+        return OrderSubmissionDTO.fromEntity(submission, lines);
+    }
+}
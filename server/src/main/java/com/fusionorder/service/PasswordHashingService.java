@@ -0,0 +1,211 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.PasswordHashingStatsDTO;
+import com.fusionorder.exception.ServiceUnavailableException;
+import com.fusionorder.util.AdaptivePasswordEncoder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 密码哈希服务
+ * BCrypt加密、验证每次耗时约100毫秒且完全占用CPU，放在专用的固定大小线程池中执行：
+ * 同时计算的哈希数不超过线程数，等待的请求不超过队列容量，队列已满时立即返回503，
+ * 登录高峰只会让登录变慢或被拒绝，不会占满Tomcat线程和CPU拖慢产品查询等其他接口
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    /**
+     * 密码编码器
+     */
+    private final AdaptivePasswordEncoder passwordEncoder;
+
+    /**
+     * 哈希线程池
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 队列容量
+     */
+    private final int queueCapacity;
+
+    /**
+     * 调用方等待结果的最长时间（毫秒）
+     */
+    private final long timeoutMillis;
+
+    /**
+     * 完成的任务数
+     */
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * 因队列已满被拒绝的任务数
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 等待超时的任务数
+     */
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * 累计排队时间（纳秒）
+     */
+    private final LongAdder waitNanos = new LongAdder();
+
+    /**
+     * 累计哈希耗时（纳秒）
+     */
+    private final LongAdder hashNanos = new LongAdder();
+
+    /**
+     * 最长哈希耗时（纳秒）
+     */
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * 构造函数
+     *
+     * @param passwordEncoder 密码编码器
+     * @param threads 哈希线程数，为0时取CPU核数的一半
+     * @param queueCapacity 队列容量
+     * @param timeoutMillis 调用方等待结果的最长时间（毫秒）
+     */
+    public PasswordHashingService(AdaptivePasswordEncoder passwordEncoder,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:32}") int queueCapacity,
+                                  @Value("${security.password.hashing.timeout-ms:3000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("密码哈希线程池已创建, strength: {}, threads: {}, queueCapacity: {}",
+                passwordEncoder.getStrength(), poolSize, queueCapacity);
+    }
+
+    /**
+     * 验证密码
+     *
+     * @param rawPassword 明文密码
+     * @param encodedPassword 已加密的密码
+     * @return true表示密码正确
+     * @throws ServiceUnavailableException 哈希线程池繁忙时抛出
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 加密密码
+     *
+     * @param rawPassword 明文密码
+     * @return 加密后的密码
+     * @throws ServiceUnavailableException 哈希线程池繁忙时抛出
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 判断密码是否需要按当前工作因子重新加密
+     * 只解析密文头部，不做哈希计算
+     *
+     * @param encodedPassword 已加密的密码
+     * @return true表示需要重新加密
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 获取线程池统计信息
+     *
+     * @return 统计信息
+     */
+    public PasswordHashingStatsDTO stats() {
+        long count = completed.sum();
+        return new PasswordHashingStatsDTO(passwordEncoder.getStrength(), executor.getCorePoolSize(),
+                executor.getActiveCount(), executor.getQueue().size(), queueCapacity, count, rejected.sum(),
+                timedOut.sum(), count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count,
+                count == 0 ? 0.0 : hashNanos.sum() / 1e6 / count, maxHashNanos.get() / 1e6);
+    }
+
+    /**
+     * 关闭线程池
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 在线程池中执行并等待结果
+     * 队列已满或等待超时时立即失败，超时的任务如果还在排队则不再执行
+     */
+    private <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("请求过多，请稍后重试");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            future.cancel(false);
+            executor.purge();
+            throw new ServiceUnavailableException("请求过多，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("请求已中断，请稍后重试");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("密码哈希失败", e.getCause());
+        }
+    }
+}
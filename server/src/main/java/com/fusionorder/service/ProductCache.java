@@ -0,0 +1,155 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.CacheStatsDTO;
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 产品目录缓存
+ * 为 ProductService 提供按ID、按分类、可用列表的进程内读缓存，由产品写操作精确失效。
+ * 按ID读取返回副本，调用方可以修改；列表读取直接返回缓存中的不可变列表，避免每次请求复制整个目录，
+ * 列表中的 ProductDTO 由所有请求共享，调用方只能读取
+ *
+ * @author FusionOrder Team
+ */
+@Component
+public class ProductCache {
+
+    /**
+     * 所有产品列表的缓存键
+     */
+    private static final String ALL_KEY = "all";
+
+    /**
+     * 可用产品列表的缓存键
+     */
+    private static final String AVAILABLE_KEY = "available";
+
+    /**
+     * 分类列表缓存键前缀
+     */
+    private static final String CATEGORY_KEY_PREFIX = "category:";
+
+    /**
+     * 按ID缓存的产品
+     */
+    private final BoundedTtlCache<Long, ProductDTO> productsById;
+
+    /**
+     * 缓存的产品列表（全部、可用、按分类）
+     */
+    private final BoundedTtlCache<String, List<ProductDTO>> productLists;
+
+    /**
+     * 构造函数
+     *
+     * @param maximumSize 按ID缓存的最大产品数
+     * @param listMaximumSize 缓存的最大列表数
+     * @param ttlSeconds 缓存存活时间（秒）
+     */
+    public ProductCache(@Value("${cache.product.maximum-size:10000}") int maximumSize,
+                        @Value("${cache.product.list-maximum-size:256}") int listMaximumSize,
+                        @Value("${cache.product.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.productsById = new BoundedTtlCache<>("product-by-id", maximumSize, ttl);
+        this.productLists = new BoundedTtlCache<>("product-lists", listMaximumSize, ttl);
+    }
+
+    /**
+     * 按ID获取产品，未命中时加载
+     *
+     * @param id 产品ID
+     * @param loader 加载函数
+     * @return 产品DTO
+     */
+    public ProductDTO getProduct(Long id, Function<Long, ProductDTO> loader) {
+        ProductDTO product = productsById.getOrLoad(id, loader);
+        return product == null ? null : product.copy();
+    }
+
+    /**
+     * 获取所有产品列表，未命中时加载
+     *
+     * @param loader 加载函数
+     * @return 不可变的产品DTO列表，元素不得修改
+     */
+    public List<ProductDTO> getAll(Supplier<List<ProductDTO>> loader) {
+        return productLists.getOrLoad(ALL_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 获取可用产品列表，未命中时加载
+     *
+     * @param loader 加载函数
+     * @return 不可变的产品DTO列表，元素不得修改
+     */
+    public List<ProductDTO> getAvailable(Supplier<List<ProductDTO>> loader) {
+        return productLists.getOrLoad(AVAILABLE_KEY, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 获取分类产品列表，未命中时加载
+     *
+     * @param category 产品分类
+     * @param loader 加载函数
+     * @return 不可变的产品DTO列表，元素不得修改
+     */
+    public List<ProductDTO> getByCategory(String category, Supplier<List<ProductDTO>> loader) {
+        return productLists.getOrLoad(CATEGORY_KEY_PREFIX + category, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * 使单个产品及其所在列表失效
+     *
+     * @param id 产品ID，为null时只失效列表
+     * @param categories 受影响的分类
+     */
+    public void evict(Long id, String... categories) {
+        if (id != null) {
+            productsById.remove(id);
+        }
+        productLists.remove(ALL_KEY);
+        productLists.remove(AVAILABLE_KEY);
+        for (String category : categories) {
+            if (category != null) {
+                productLists.remove(CATEGORY_KEY_PREFIX + category);
+            }
+        }
+    }
+
+    /**
+     * 使一批产品及其所在列表失效
+     *
+     * @param ids 产品ID集合
+     * @param categories 受影响的分类
+     */
+    public void evict(Collection<Long> ids, Collection<String> categories) {
+        ids.forEach(productsById::remove);
+        evict(null, categories.toArray(new String[0]));
+    }
+
+    /**
+     * 清空全部产品缓存
+     */
+    public void evictAll() {
+        productsById.invalidateAll();
+        productLists.invalidateAll();
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 各缓存的统计信息
+     */
+    public List<CacheStatsDTO> stats() {
+        return List.of(productsById.stats(), productLists.stats());
+    }
+}
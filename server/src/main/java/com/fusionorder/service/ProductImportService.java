@@ -0,0 +1,376 @@
+package com.fusionorder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.dto.ProductImportResult;
+import com.fusionorder.dto.ProductImportRow;
+import com.fusionorder.entity.Product;
+import com.fusionorder.exception.ValidationException;
+import com.fusionorder.util.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 产品批量导入服务
+ * 从请求体流式读取CSV或NDJSON，逐行校验，按批次通过JDBC批量语句按SKU新增或更新产品，
+ * 不在内存中缓冲整个文件；导入完成后统一刷新产品缓存和搜索索引
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    /**
+     * 按SKU新增或更新产品，已存在时保留ID和创建时间。
+     * 描述、图片、可用性为可选列：文件中没有该列或单元格为空时，新产品取默认值，已有产品保留原值，
+     * 只含 sku、name、category、price 的导出文件不会清空描述和图片，也不会让已下架的产品重新上架
+     */
+    private static final String UPSERT_SQL = "INSERT INTO products "
+            + "(id, sku, name, category, price, description, image_url, available, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, TRUE), ?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), category = VALUES(category), price = VALUES(price), "
+            + "description = COALESCE(VALUES(description), description), "
+            + "image_url = COALESCE(VALUES(image_url), image_url), available = COALESCE(?, available), "
+            + "updated_at = VALUES(updated_at)";
+
+    /**
+     * CSV必须包含的列
+     */
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("sku", "name", "category", "price");
+
+    /**
+     * JDBC数据访问模板
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 事务模板，每个批次一个事务
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 行数据校验器
+     */
+    private final Validator validator;
+
+    /**
+     * JSON解析器
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 产品服务，导入完成后刷新目录
+     */
+    private final ProductService productService;
+
+    /**
+     * ID分配服务，为新产品分配主键
+     */
+    private final IdAllocator idAllocator;
+
+    /**
+     * 每个批次写入的行数
+     */
+    private final int batchSize;
+
+    /**
+     * 结果中保留的失败行明细上限
+     */
+    private final int maxReportedErrors;
+
+    /**
+     * 构造函数
+     *
+     * @param jdbcTemplate JDBC数据访问模板
+     * @param transactionTemplate 事务模板
+     * @param validator 行数据校验器
+     * @param objectMapper JSON解析器
+     * @param productService 产品服务
+     * @param idAllocator ID分配服务
+     * @param batchSize 每个批次写入的行数
+     * @param maxReportedErrors 结果中保留的失败行明细上限
+     */
+    public ProductImportService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ProductService productService,
+                                IdAllocator idAllocator,
+                                @Value("${import.product.batch-size:500}") int batchSize,
+                                @Value("${import.product.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.productService = productService;
+        this.idAllocator = idAllocator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * 导入产品
+     *
+     * @param input 请求体输入流
+     * @param format 数据格式
+     * @return 导入结果
+     * @throws ValidationException CSV表头缺少必需列或文件无法读取时抛出
+     */
+    public ProductImportResult importProducts(InputStream input, Format format) {
+        long start = System.currentTimeMillis();
+        log.info("开始批量导入产品, format: {}, batchSize: {}", format, batchSize);
+        ProductImportResult result = new ProductImportResult();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.NDJSON) {
+                readNdjson(reader, result, batch);
+            } else {
+                readCsv(reader, result, batch);
+            }
+            flush(batch, result);
+        } catch (IOException e) {
+            log.warn("读取导入数据失败: {}", e.getMessage());
+            throw new ValidationException("读取导入数据失败: " + e.getMessage());
+        } finally {
+            if (result.getImportedRows() > 0) {
+                productService.refreshCatalog();
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("批量导入产品完成, total: {}, imported: {}, failed: {}, elapsed: {}ms",
+                result.getTotalRows(), result.getImportedRows(), result.getFailedRows(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void readCsv(BufferedReader reader, ProductImportResult result, List<PendingRow> batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new ValidationException("导入数据为空");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new ValidationException("CSV表头缺少必需列: " + required);
+            }
+        }
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            int line = csv.getRecordLine();
+            result.setTotalRows(result.getTotalRows() + 1);
+            ProductImportRow row = new ProductImportRow();
+            row.setSku(column(record, columns, "sku"));
+            row.setName(column(record, columns, "name"));
+            row.setCategory(column(record, columns, "category"));
+            row.setDescription(column(record, columns, "description"));
+            row.setImageUrl(column(record, columns, "imageurl"));
+            try {
+                String price = column(record, columns, "price");
+                row.setPrice(price == null ? null : new BigDecimal(price));
+                row.setAvailable(parseBoolean(column(record, columns, "available")));
+            } catch (IllegalArgumentException e) {
+                addError(result, line, row.getSku(), e instanceof NumberFormatException ? "产品价格格式不正确" : e.getMessage());
+                continue;
+            }
+            accept(line, row, result, batch);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ProductImportResult result, List<PendingRow> batch) throws IOException {
+        String text;
+        int line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+            ProductImportRow row;
+            try {
+                row = objectMapper.readValue(text, ProductImportRow.class);
+            } catch (JsonProcessingException e) {
+                addError(result, line, null, "JSON格式不正确: " + e.getOriginalMessage());
+                continue;
+            }
+            accept(line, row, result, batch);
+        }
+    }
+
+    /**
+     * 校验一行数据，通过后加入当前批次，批次满时写库
+     */
+    private void accept(int line, ProductImportRow row, ProductImportResult result, List<PendingRow> batch) {
+        if (row.getSku() != null) {
+            row.setSku(row.getSku().trim());
+        }
+        Set<ConstraintViolation<ProductImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining("; "));
+            addError(result, line, row.getSku(), message);
+            return;
+        }
+        batch.add(new PendingRow(line, row));
+        if (batch.size() >= batchSize) {
+            flush(batch, result);
+        }
+    }
+
+    /**
+     * 写入当前批次
+     * 整批在一个事务中执行；整批失败时逐行重试，定位并报告具体失败的行
+     */
+    private void flush(List<PendingRow> batch, ProductImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] ids = idAllocator.next(Product.class, batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bind(ps, ids[i], batch.get(i).row(), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }));
+            result.setImportedRows(result.getImportedRows() + batch.size());
+        } catch (DataAccessException e) {
+            log.warn("批次写入失败，逐行重试, rows: {}, error: {}", batch.size(), e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                PendingRow pending = batch.get(i);
+                long id = ids[i];
+                try {
+                    jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, id, pending.row(), now));
+                    result.setImportedRows(result.getImportedRows() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(result, pending.line(), pending.row().getSku(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void bind(PreparedStatement ps, long id, ProductImportRow row, Timestamp now) throws SQLException {
+        // 新行使用预先分配的ID；按SKU更新已有行时该ID被丢弃
+        ps.setLong(1, id);
+        ps.setString(2, row.getSku());
+        ps.setString(3, row.getName());
+        ps.setString(4, row.getCategory());
+        ps.setBigDecimal(5, row.getPrice());
+        if (row.getDescription() == null) {
+            ps.setNull(6, Types.VARCHAR);
+        } else {
+            ps.setString(6, row.getDescription());
+        }
+        if (row.getImageUrl() == null) {
+            ps.setNull(7, Types.VARCHAR);
+        } else {
+            ps.setString(7, row.getImageUrl());
+        }
+        // 可用性绑定两次：新增时为空取TRUE，更新时为空保留原值
+        if (row.getAvailable() == null) {
+            ps.setNull(8, Types.BOOLEAN);
+            ps.setNull(11, Types.BOOLEAN);
+        } else {
+            ps.setBoolean(8, row.getAvailable());
+            ps.setBoolean(11, row.getAvailable());
+        }
+        ps.setTimestamp(9, now);
+        ps.setTimestamp(10, now);
+    }
+
+    private void addError(ProductImportResult result, int line, String sku, String message) {
+        result.setFailedRows(result.getFailedRows() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ProductImportResult.RowError(line, sku, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "y" -> Boolean.TRUE;
+            case "false", "0", "no", "n" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("可用性格式不正确: " + value);
+        };
+    }
+
+    /**
+     * 导入数据格式
+     */
+    public enum Format {
+        /**
+         * 带表头的CSV
+         */
+        CSV,
+
+        /**
+         * 每行一个JSON对象
+         */
+        NDJSON
+    }
+
+    /**
+     * 已通过校验、等待写库的行
+     *
+     * @param line 行号
+     * @param row 行数据
+     */
+    private record PendingRow(int line, ProductImportRow row) {
+    }
+}
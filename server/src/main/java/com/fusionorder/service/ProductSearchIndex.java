@@ -0,0 +1,432 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.repository.ProductRepository;
+import com.fusionorder.util.SearchTokenizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 产品搜索倒排索引
+ * 对产品名称、分类、描述建立进程内倒排索引，启动时全量构建，产品写操作后增量维护，
+ * 搜索耗时只与命中文档数相关而不随产品总数增长
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    /**
+     * 名称字段权重
+     */
+    private static final float NAME_WEIGHT = 3.0f;
+
+    /**
+     * 分类字段权重
+     */
+    private static final float CATEGORY_WEIGHT = 2.0f;
+
+    /**
+     * 描述字段权重
+     */
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    /**
+     * 名称包含完整查询串时的额外得分
+     */
+    private static final float EXACT_NAME_BONUS = 5.0f;
+
+    /**
+     * 产品数据访问层，用于全量构建
+     */
+    private final ProductRepository productRepository;
+
+    /**
+     * 描述字段参与索引的最大字符数，限制长描述带来的内存占用
+     */
+    private final int descriptionMaxChars;
+
+    /**
+     * 读写锁，搜索共享读锁，索引更新独占写锁
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 倒排表：词项 -> (产品ID -> 加权词频)
+     */
+    private Map<String, Map<Long, Float>> postings = new HashMap<>();
+
+    /**
+     * 已索引的产品：产品ID -> 索引文档
+     */
+    private Map<Long, IndexedProduct> documents = new HashMap<>();
+
+    /**
+     * 全量重建期间发生的增量变更（产品ID -> 最新产品，null表示已删除），重建完成后重放
+     */
+    private Map<Long, ProductDTO> changesDuringRebuild;
+
+    /**
+     * 索引是否已完成首次构建
+     */
+    private volatile boolean ready;
+
+    /**
+     * 构造函数
+     *
+     * @param productRepository 产品数据访问层
+     * @param descriptionMaxChars 描述字段参与索引的最大字符数
+     */
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${search.product.description-max-chars:200}") int descriptionMaxChars) {
+        this.productRepository = productRepository;
+        this.descriptionMaxChars = descriptionMaxChars;
+    }
+
+    /**
+     * 应用启动完成后全量构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库全量重建索引
+     * 在锁外构建新索引，完成后一次性替换，构建期间搜索仍使用旧索引
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<String, Map<Long, Float>> newPostings = new HashMap<>();
+        Map<Long, IndexedProduct> newDocuments = new HashMap<>();
+        productRepository.findAll().forEach(product -> {
+            IndexedProduct document = analyze(ProductDTO.fromEntity(product));
+            addPostings(newPostings, document);
+            newDocuments.put(document.product().getId(), document);
+        });
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            documents = newDocuments;
+            Map<Long, ProductDTO> pending = changesDuringRebuild;
+            changesDuringRebuild = null;
+            pending.forEach((productId, product) -> {
+                if (product == null) {
+                    removeLocked(productId);
+                } else {
+                    indexLocked(analyze(product));
+                }
+            });
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("产品搜索索引构建完成, products: {}, terms: {}, elapsed: {}ms",
+                newDocuments.size(), newPostings.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 索引是否可用
+     *
+     * @return true表示已完成首次构建
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 新增或更新单个产品的索引
+     *
+     * @param product 产品DTO
+     */
+    public void index(ProductDTO product) {
+        IndexedProduct document = analyze(product);
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(product.getId(), product);
+            }
+            indexLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 对已索引的产品应用同一项修改并重新索引，未索引的产品忽略
+     * 用于已知新值的批量更新，避免为刷新索引回查数据库
+     *
+     * @param productIds 产品ID集合
+     * @param change 对产品副本的修改
+     */
+    public void update(Collection<Long> productIds, Consumer<ProductDTO> change) {
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                IndexedProduct previous = documents.get(productId);
+                if (previous == null) {
+                    continue;
+                }
+                ProductDTO product = previous.product().copy();
+                change.accept(product);
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.put(productId, product);
+                }
+                indexLocked(analyze(product));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从索引中移除产品
+     *
+     * @param productId 产品ID
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(productId, null);
+            }
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索产品，按相关度降序、ID降序排序后分页
+     * 只用大小为 offset + limit 的小顶堆保留排名靠前的结果，不对全部命中排序
+     *
+     * @param keyword 搜索关键词
+     * @param offset 起始位置
+     * @param limit 返回数量
+     * @return 搜索结果（总命中数和当前页产品）
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        Set<String> queryTokens = SearchTokenizer.queryTokens(keyword);
+        if (queryTokens.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        List<String> queryWords = SearchTokenizer.queryWords(keyword);
+        String normalizedKeyword = SearchTokenizer.normalize(keyword.trim());
+        Comparator<ScoredProduct> ranking = Comparator.comparingDouble(ScoredProduct::score)
+                .thenComparing(s -> s.product().getId());
+        PriorityQueue<ScoredProduct> top;
+        int total;
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = score(queryTokens, queryWords);
+            total = scores.size();
+            int capacity = (int) Math.min((long) offset + limit, total);
+            top = new PriorityQueue<>(Math.max(capacity, 1), ranking);
+            if (capacity > 0) {
+                for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                    IndexedProduct document = documents.get(entry.getKey());
+                    float score = entry.getValue();
+                    if (document.normalizedName().contains(normalizedKeyword)) {
+                        score += EXACT_NAME_BONUS;
+                    }
+                    ScoredProduct candidate = new ScoredProduct(document.product(), score);
+                    if (top.size() < capacity) {
+                        top.offer(candidate);
+                    } else if (ranking.compare(candidate, top.peek()) > 0) {
+                        top.poll();
+                        top.offer(candidate);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // 堆顶是排名最靠后的结果，依次弹出后倒序即为最终排序
+        ProductDTO[] ranked = new ProductDTO[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().product();
+        }
+        List<ProductDTO> page = offset >= ranked.length
+                ? List.of()
+                : List.of(ranked).subList(offset, ranked.length);
+        return new SearchResult(total, page);
+    }
+
+    /**
+     * 查询包含全部关键词的产品ID，不计算得分
+     * 用于组合条件查询中把关键词条件转换为主键过滤
+     *
+     * @param keyword 搜索关键词
+     * @return 匹配的产品ID集合
+     */
+    public Set<Long> matchingIds(String keyword) {
+        Set<String> queryTokens = SearchTokenizer.queryTokens(keyword);
+        if (queryTokens.isEmpty()) {
+            return Set.of();
+        }
+        List<String> queryWords = SearchTokenizer.queryWords(keyword);
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(score(queryTokens, queryWords).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 计算同时包含全部查询词项的产品得分
+     * 从文档频率最低的词项开始求交集，减少中间结果；
+     * 词项全部命中后再校验文本确实包含每个查询单词，排除 n-gram 分散出现造成的误命中
+     *
+     * @param queryTokens 查询词项
+     * @param queryWords 查询单词
+     * @return 产品ID到得分的映射
+     */
+    private Map<Long, Float> score(Set<String> queryTokens, List<String> queryWords) {
+        List<Map<Long, Float>> lists = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            Map<Long, Float> list = postings.get(token);
+            if (list == null) {
+                return Map.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+        int totalDocuments = Math.max(documents.size(), 1);
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Float> rarest = lists.get(0);
+        outer:
+        for (Map.Entry<Long, Float> entry : rarest.entrySet()) {
+            Long productId = entry.getKey();
+            float score = 0f;
+            for (Map<Long, Float> list : lists) {
+                Float weight = list.get(productId);
+                if (weight == null) {
+                    continue outer;
+                }
+                score += weight * (float) Math.log(1.0 + (double) totalDocuments / list.size());
+            }
+            String text = documents.get(productId).normalizedText();
+            for (String word : queryWords) {
+                if (!text.contains(word)) {
+                    continue outer;
+                }
+            }
+            scores.put(productId, score);
+        }
+        return scores;
+    }
+
+    private void indexLocked(IndexedProduct document) {
+        IndexedProduct previous = documents.put(document.product().getId(), document);
+        if (previous != null) {
+            removePostings(previous);
+        }
+        addPostings(postings, document);
+    }
+
+    private void removeLocked(Long productId) {
+        IndexedProduct previous = documents.remove(productId);
+        if (previous != null) {
+            removePostings(previous);
+        }
+    }
+
+    private IndexedProduct analyze(ProductDTO product) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getCategory(), CATEGORY_WEIGHT);
+        String description = product.getDescription();
+        if (description != null && description.length() > descriptionMaxChars) {
+            description = description.substring(0, descriptionMaxChars);
+        }
+        addField(weights, description, DESCRIPTION_WEIGHT);
+        String normalizedName = product.getName() == null ? "" : SearchTokenizer.normalize(product.getName());
+        // 字段之间用换行分隔，避免查询单词跨字段拼接命中
+        String normalizedText = normalizedName + "\n" + normalizeField(product.getCategory())
+                + "\n" + normalizeField(description);
+        return new IndexedProduct(product, normalizedName, normalizedText, weights);
+    }
+
+    private static String normalizeField(String text) {
+        return text == null ? "" : SearchTokenizer.normalize(text);
+    }
+
+    private void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        SearchTokenizer.indexTokens(text).forEach((token, count) ->
+                // 词频取对数，避免长文本中的重复词过度影响得分
+                weights.merge(token, fieldWeight * (1.0f + (float) Math.log(count)), Float::sum));
+    }
+
+    private void addPostings(Map<String, Map<Long, Float>> target, IndexedProduct document) {
+        Long productId = document.product().getId();
+        document.weights().forEach((token, weight) ->
+                target.computeIfAbsent(token, key -> new HashMap<>()).put(productId, weight));
+    }
+
+    private void removePostings(IndexedProduct document) {
+        Long productId = document.product().getId();
+        for (String token : document.weights().keySet()) {
+            Map<Long, Float> list = postings.get(token);
+            if (list != null) {
+                list.remove(productId);
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * 搜索结果
+     *
+     * @param total 总命中数
+     * @param items 当前页产品
+     */
+    public record SearchResult(int total, List<ProductDTO> items) {
+    }
+
+    /**
+     * 索引文档
+     *
+     * @param product 产品DTO
+     * @param normalizedName 规范化后的产品名称
+     * @param normalizedText 规范化后的名称、分类、描述，用于校验查询单词
+     * @param weights 词项到加权词频的映射
+     */
+    private record IndexedProduct(ProductDTO product, String normalizedName, String normalizedText,
+                                  Map<String, Float> weights) {
+    }
+
+    /**
+     * 带得分的产品
+     *
+     * @param product 产品DTO
+     * @param score 相关度得分
+     */
+    private record ScoredProduct(ProductDTO product, float score) {
+    }
+}
@@ -1,20 +1,37 @@
 package com.fusionorder.service;
 
+import com.fusionorder.dto.BulkUpdateResult;
+import com.fusionorder.dto.CursorPage;
+import com.fusionorder.dto.ProductBulkUpdateRequest;
 import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.dto.ProductQuery;
+import com.fusionorder.dto.ProductSummaryDTO;
 import com.fusionorder.entity.Product;
+import com.fusionorder.exception.BusinessException;
 import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.exception.ValidationException;
 import com.fusionorder.repository.ProductRepository;
+import com.fusionorder.repository.ProductSpecifications;
+import com.fusionorder.util.CursorCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * 产品服务类
  * 负责产品相关的业务逻辑处理，包括产品增删改查、分类查询、搜索等功能
+ * 读操作优先走 ProductCache，写操作在事务提交后精确失效受影响的缓存条目并递增目录版本号
  * 
  * @author FusionOrder Team
  */
@@ -23,23 +40,80 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductService {
     
+    /**
+     * 分页查询默认每页数量
+     */
+    public static final int DEFAULT_PAGE_LIMIT = 20;
+    
+    /**
+     * 分页查询最大每页数量
+     */
+    public static final int MAX_PAGE_LIMIT = 100;
+    
+    /**
+     * 不分页列表接口最多返回的产品数，超出部分只能通过游标分页获取
+     */
+    public static final int MAX_LIST_ROWS = 500;
+    
+    /**
+     * 组合查询中关键词候选产品ID的上限，超过时改用名称、分类、描述的模糊匹配，避免过长的IN列表
+     */
+    private static final int MAX_KEYWORD_CANDIDATES = 2000;
+    
+    /**
+     * 批量更新时每条UPDATE语句包含的最大产品ID数
+     */
+    private static final int BULK_CHUNK_SIZE = 1000;
+    
     /**
      * 产品数据访问层
      */
     private final ProductRepository productRepository;
+    
+    /**
+     * 产品目录缓存
+     */
+    private final ProductCache productCache;
+    
+    /**
+     * 产品搜索倒排索引
+     */
+    private final ProductSearchIndex productSearchIndex;
+    
+    /**
+     * 产品目录版本号
+     */
+    private final CatalogVersion catalogVersion;
+    
+    /**
+     * 库存服务
+     */
+    private final InventoryService inventoryService;
 
     /**
      * 创建产品
      * 
      * @param product 产品实体对象
      * @return 产品DTO对象
+     * @throws BusinessException SKU已存在时抛出
      */
     @Transactional
     public ProductDTO createProduct(Product product) {
         log.info("开始创建产品, name: {}, category: {}", product.getName(), product.getCategory());
+        product.setSku(normalizeSku(product.getSku()));
+        if (product.getSku() != null && productRepository.existsBySku(product.getSku())) {
+            log.warn("创建失败：SKU已存在, sku: {}", product.getSku());
+            throw new BusinessException("SKU已存在: " + product.getSku());
+        }
         Product savedProduct = productRepository.save(product);
         log.info("创建产品成功, productId: {}, name: {}", savedProduct.getId(), savedProduct.getName());
-        return ProductDTO.fromEntity(savedProduct);
+        ProductDTO productDTO = ProductDTO.fromEntity(savedProduct);
+        afterCommit(() -> {
+            productCache.evict(null, productDTO.getCategory());
+            productSearchIndex.index(productDTO);
+        });
+        catalogVersion.bump();
+        return productDTO;
     }
 
     /**
@@ -49,9 +123,9 @@ public class ProductService {
      */
     public List<ProductDTO> getAllProducts() {
         log.info("查询所有产品");
-        List<ProductDTO> products = productRepository.findAll().stream()
+        List<ProductDTO> products = productCache.getAll(() -> productRepository.findAll().stream()
                 .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         log.info("查询到 {} 个产品", products.size());
         return products;
     }
@@ -63,9 +137,9 @@ public class ProductService {
      */
     public List<ProductDTO> getAvailableProducts() {
         log.info("查询所有可用产品");
-        List<ProductDTO> products = productRepository.findByAvailableTrue().stream()
+        List<ProductDTO> products = productCache.getAvailable(() -> productRepository.findByAvailableTrue().stream()
                 .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
         log.info("查询到 {} 个可用产品", products.size());
         return products;
     }
@@ -78,29 +152,168 @@ public class ProductService {
      */
     public List<ProductDTO> getProductsByCategory(String category) {
         log.info("按分类查询产品, category: {}", category);
-        List<ProductDTO> products = productRepository.findByCategory(category).stream()
+        List<ProductDTO> products = productCache.getByCategory(category, () -> productRepository.findByCategory(category).stream()
+                .map(ProductDTO::fromEntity)
+                .collect(Collectors.toList()));
+        log.info("查询到 {} 个产品", products.size());
+        return products;
+    }
+
+    /**
+     * 按组合条件查询产品列表
+     * 只有单一条件时走缓存或搜索索引；多个条件同时存在时由一条动态查询在数据库中完成筛选。
+     * 最多返回 {@link #MAX_LIST_ROWS} 个产品，缓存列表只截取视图不复制，更多结果请使用 {@link #getProductPage}
+     * 
+     * @param query 组合查询条件
+     * @return 产品DTO列表（只读）
+     * @throws ValidationException 查询条件不合法时抛出
+     */
+    public List<ProductDTO> getProducts(ProductQuery query) {
+        query.validate();
+        boolean defaultSort = query.getSort() == ProductQuery.SortOrder.NEWEST;
+        boolean onlyKeyword = query.hasKeyword() && !query.hasCategory() && !query.isAvailableOnly()
+                && !query.hasPriceRange() && defaultSort;
+        boolean onlyCategory = !query.hasKeyword() && query.hasCategory() && !query.isAvailableOnly()
+                && !query.hasPriceRange() && defaultSort;
+        boolean onlyAvailable = !query.hasKeyword() && !query.hasCategory() && query.isAvailableOnly()
+                && !query.hasPriceRange() && defaultSort;
+        boolean noFilter = !query.hasKeyword() && !query.hasCategory() && !query.isAvailableOnly()
+                && !query.hasPriceRange() && defaultSort;
+        
+        if (onlyKeyword) {
+            return capped(searchProducts(query.getKeyword()));
+        } else if (onlyCategory) {
+            return capped(getProductsByCategory(query.getCategory()));
+        } else if (onlyAvailable) {
+            return capped(getAvailableProducts());
+        } else if (noFilter) {
+            return capped(getAllProducts());
+        }
+        
+        log.info("组合条件查询产品, query: {}", query);
+        Specification<Product> specification = buildSpecification(query);
+        if (specification == null) {
+            return List.of();
+        }
+        List<ProductDTO> products = productRepository.findBy(specification,
+                        q -> q.sortBy(query.getSort().toSort()).limit(MAX_LIST_ROWS).all()).stream()
                 .map(ProductDTO::fromEntity)
                 .collect(Collectors.toList());
         log.info("查询到 {} 个产品", products.size());
         return products;
     }
+    
+    /**
+     * 将列表截断到不分页接口的上限
+     * 
+     * @param products 产品列表
+     * @return 前 {@link #MAX_LIST_ROWS} 个产品的视图
+     */
+    private static List<ProductDTO> capped(List<ProductDTO> products) {
+        if (products.size() <= MAX_LIST_ROWS) {
+            return products;
+        }
+        log.warn("不分页产品列表超过上限，只返回前 {} 个, total: {}", MAX_LIST_ROWS, products.size());
+        return products.subList(0, MAX_LIST_ROWS);
+    }
+
+    /**
+     * 按组合条件游标分页查询产品列表
+     * 按排序字段和ID构成的键集定位下一页，避免深度分页的OFFSET扫描，且不执行COUNT查询；
+     * 列表只返回不含描述的产品摘要
+     * 
+     * @param query 组合查询条件
+     * @param after 上一页返回的游标（可选，为空时查询第一页）
+     * @param limit 每页数量（可选，默认20，最大100）
+     * @return 产品摘要分页结果
+     * @throws ValidationException 查询条件、游标或分页参数不正确时抛出
+     */
+    public CursorPage<ProductSummaryDTO> getProductPage(ProductQuery query, String after, Integer limit) {
+        query.validate();
+        int pageLimit = resolveLimit(limit);
+        ProductQuery.SortOrder sort = query.getSort();
+        log.info("分页查询产品, query: {}, after: {}, limit: {}", query, after, pageLimit);
+        
+        Specification<Product> specification = buildSpecification(query);
+        if (specification == null) {
+            return new CursorPage<>(List.of(), null, false, pageLimit);
+        }
+        if (after != null && !after.isEmpty()) {
+            CursorCodec.KeyCursor cursor = CursorCodec.decodeKey(after, sort.name());
+            specification = specification.and(
+                    ProductSpecifications.after(sort, sort.parseSortValue(cursor.sortValue()), cursor.id()));
+        }
+        
+        // 多查询一条用于判断是否还有下一页
+        List<ProductSummaryDTO> rows = productRepository.findSummaries(specification, sort.toSort(), pageLimit + 1);
+        
+        boolean hasMore = rows.size() > pageLimit;
+        List<ProductSummaryDTO> items = hasMore ? rows.subList(0, pageLimit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ProductSummaryDTO last = items.get(items.size() - 1);
+            nextCursor = CursorCodec.encodeKey(sort.name(), sort.sortValueOf(last), last.getId());
+        }
+        
+        log.info("分页查询到 {} 个产品, hasMore: {}", items.size(), hasMore);
+        return new CursorPage<>(items, nextCursor, hasMore, pageLimit);
+    }
 
     /**
      * 根据关键词搜索产品
-     * 在产品名称中模糊匹配关键词（不区分大小写）
+     * 在产品名称、分类、描述中匹配关键词，按相关度排序；索引尚未构建完成时回退到数据库名称模糊查询
      * 
      * @param keyword 搜索关键词
      * @return 产品DTO列表
      */
     public List<ProductDTO> searchProducts(String keyword) {
         log.info("搜索产品, keyword: {}", keyword);
-        List<ProductDTO> products = productRepository.findByNameContainingIgnoreCase(keyword).stream()
-                .map(ProductDTO::fromEntity)
-                .collect(Collectors.toList());
+        List<ProductDTO> products;
+        if (productSearchIndex.isReady()) {
+            products = productSearchIndex.search(keyword, 0, Integer.MAX_VALUE).items();
+        } else {
+            log.warn("产品搜索索引尚未就绪，回退到数据库查询, keyword: {}", keyword);
+            products = productRepository.findByNameContainingIgnoreCase(keyword).stream()
+                    .map(ProductDTO::fromEntity)
+                    .collect(Collectors.toList());
+        }
         log.info("搜索到 {} 个产品", products.size());
         return products;
     }
 
+    /**
+     * 分页搜索产品
+     * 按相关度排序，游标记录下一页在排序结果中的位置
+     * 
+     * @param keyword 搜索关键词
+     * @param after 上一页返回的游标（可选）
+     * @param limit 每页数量（可选，默认20，最大100）
+     * @return 产品分页结果
+     * @throws ValidationException 游标或分页参数不正确时抛出
+     */
+    public CursorPage<ProductDTO> searchProductPage(String keyword, String after, Integer limit) {
+        int pageLimit = resolveLimit(limit);
+        int offset = CursorCodec.decodeOffset(after);
+        log.info("分页搜索产品, keyword: {}, offset: {}, limit: {}", keyword, offset, pageLimit);
+        
+        List<ProductDTO> items;
+        boolean hasMore;
+        if (productSearchIndex.isReady()) {
+            ProductSearchIndex.SearchResult result = productSearchIndex.search(keyword, offset, pageLimit);
+            items = result.items();
+            hasMore = offset + items.size() < result.total();
+        } else {
+            log.warn("产品搜索索引尚未就绪，回退到数据库查询, keyword: {}", keyword);
+            List<ProductDTO> all = searchProducts(keyword);
+            items = all.stream().skip(offset).limit(pageLimit).collect(Collectors.toList());
+            hasMore = offset + items.size() < all.size();
+        }
+        
+        String nextCursor = hasMore ? CursorCodec.encodeOffset(offset + items.size()) : null;
+        log.info("分页搜索到 {} 个产品, hasMore: {}", items.size(), hasMore);
+        return new CursorPage<>(items, nextCursor, hasMore, pageLimit);
+    }
+
     /**
      * 根据ID获取产品信息
      * 
@@ -110,13 +323,14 @@ public class ProductService {
      */
     public ProductDTO getProductById(Long id) {
         log.info("查询产品, productId: {}", id);
-        Product product = productRepository.findById(id)
+        ProductDTO product = productCache.getProduct(id, key -> productRepository.findById(key)
+                .map(ProductDTO::fromEntity)
                 .orElseThrow(() -> {
-                    log.warn("产品不存在, productId: {}", id);
-                    return new ResourceNotFoundException("产品", id);
-                });
+                    log.warn("产品不存在, productId: {}", key);
+                    return new ResourceNotFoundException("产品", key);
+                }));
         log.info("查询产品成功, productId: {}, name: {}", id, product.getName());
-        return ProductDTO.fromEntity(product);
+        return product;
     }
 
     /**
@@ -127,6 +341,7 @@ public class ProductService {
      * @param productDetails 要更新的产品信息
      * @return 更新后的产品DTO对象
      * @throws ResourceNotFoundException 产品不存在时抛出
+     * @throws BusinessException SKU已被其他产品使用时抛出
      */
     @Transactional
     public ProductDTO updateProduct(Long id, Product productDetails) {
@@ -138,6 +353,17 @@ public class ProductService {
                     log.warn("更新失败：产品不存在, productId: {}", id);
                     return new ResourceNotFoundException("产品", id);
                 });
+        String oldCategory = product.getCategory();
+        
+        // 更新产品SKU
+        if (productDetails.getSku() != null) {
+            String sku = normalizeSku(productDetails.getSku());
+            if (sku != null && productRepository.existsBySkuAndIdNot(sku, id)) {
+                log.warn("更新失败：SKU已被其他产品使用, productId: {}, sku: {}", id, sku);
+                throw new BusinessException("SKU已存在: " + sku);
+            }
+            product.setSku(sku);
+        }
         
         // 更新产品名称
         if (productDetails.getName() != null) {
@@ -173,11 +399,23 @@ public class ProductService {
             log.debug("更新产品可用性, available: {}", productDetails.getAvailable());
         }
         
+        // 更新产品库存，条件UPDATE单独执行，不随实体保存
+        if (productDetails.getStock() != null) {
+            inventoryService.setStock(id, productDetails.getStock());
+            log.debug("更新产品库存, stock: {}", productDetails.getStock());
+        }
+        
         // 保存更新后的产品
         Product updatedProduct = productRepository.save(product);
         log.info("更新产品成功, productId: {}, name: {}", id, updatedProduct.getName());
+        ProductDTO productDTO = ProductDTO.fromEntity(updatedProduct);
+        afterCommit(() -> {
+            productCache.evict(id, oldCategory, productDTO.getCategory());
+            productSearchIndex.index(productDTO);
+        });
+        catalogVersion.bump();
         
-        return ProductDTO.fromEntity(updatedProduct);
+        return productDTO;
     }
 
     /**
@@ -190,13 +428,181 @@ public class ProductService {
     public void deleteProduct(Long id) {
         log.info("开始删除产品, productId: {}", id);
         
-        if (!productRepository.existsById(id)) {
-            log.warn("删除失败：产品不存在, productId: {}", id);
-            throw new ResourceNotFoundException("产品", id);
-        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("删除失败：产品不存在, productId: {}", id);
+                    return new ResourceNotFoundException("产品", id);
+                });
         
-        productRepository.deleteById(id);
+        productRepository.delete(product);
         log.info("删除产品成功, productId: {}", id);
+        afterCommit(() -> {
+            productCache.evict(id, product.getCategory());
+            productSearchIndex.remove(id);
+        });
+        catalogVersion.bump();
+    }
+
+    /**
+     * 批量更新产品的价格、可用性、分类
+     * 先确定受影响的产品ID，再按ID分块执行集合式UPDATE，全部在同一事务中完成，
+     * 不逐个加载实体；提交后精确失效受影响产品的缓存，并用已知的新值改写其搜索索引
+     * 
+     * @param request 批量更新请求
+     * @return 批量更新结果
+     * @throws ValidationException 未指定更新字段、ID列表与筛选条件未指定或同时指定、筛选条件为空时抛出
+     */
+    @Transactional
+    public BulkUpdateResult bulkUpdateProducts(ProductBulkUpdateRequest request) {
+        if (!request.hasChanges()) {
+            throw new ValidationException("至少需要指定一个要更新的字段");
+        }
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new ValidationException("产品ID列表和筛选条件必须且只能指定一个");
+        }
+        
+        List<Long> ids;
+        if (hasIds) {
+            ids = request.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        } else {
+            ProductQuery filter = request.getFilter();
+            filter.validate();
+            if (!filter.hasKeyword() && !filter.hasCategory() && !filter.isAvailableOnly() && !filter.hasPriceRange()) {
+                throw new ValidationException("批量更新的筛选条件不能为空");
+            }
+            Specification<Product> specification = buildSpecification(filter);
+            ids = specification == null ? List.of() : productRepository.findIds(specification);
+        }
+        log.info("开始批量更新产品, matched: {}, price: {}, available: {}, category: {}",
+                ids.size(), request.getPrice(), request.getAvailable(), request.getCategory());
+        
+        Set<String> categories = new HashSet<>();
+        LocalDateTime updatedAt = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            categories.addAll(productRepository.findDistinctCategoriesByIdIn(chunk));
+            updated += productRepository.bulkUpdate(chunk, request.getPrice(), request.getAvailable(),
+                    request.getCategory(), updatedAt);
+        }
+        if (request.getCategory() != null) {
+            categories.add(request.getCategory());
+        }
+        log.info("批量更新产品成功, matched: {}, updated: {}", ids.size(), updated);
+        
+        if (updated > 0) {
+            afterCommit(() -> {
+                productCache.evict(ids, categories);
+                // 新值都已知，直接改写索引中的产品，不再回查数据库
+                productSearchIndex.update(ids, product -> {
+                    if (request.getPrice() != null) {
+                        product.setPrice(request.getPrice());
+                    }
+                    if (request.getAvailable() != null) {
+                        product.setAvailable(request.getAvailable());
+                    }
+                    if (request.getCategory() != null) {
+                        product.setCategory(request.getCategory());
+                    }
+                    product.setUpdatedAt(updatedAt);
+                });
+            });
+            catalogVersion.bump();
+        }
+        return new BulkUpdateResult(ids.size(), updated);
     }
-}
 
+    /**
+     * 刷新整个产品目录
+     * 用于批量导入等绕过JPA直接写库的操作：清空缓存、重建搜索索引并递增目录版本号
+     */
+    public void refreshCatalog() {
+        log.info("刷新产品目录缓存和搜索索引");
+        productCache.evictAll();
+        productSearchIndex.rebuild();
+        catalogVersion.bump();
+    }
+
+    /**
+     * 获取当前产品目录版本号
+     * 用于在查询数据库之前生成列表ETag
+     * 
+     * @return 当前目录版本号
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.current();
+    }
+
+    /**
+     * 构建组合条件查询规格
+     * 关键词优先通过搜索索引转换为主键过滤，候选过多或索引未就绪时回退到名称、分类、描述的模糊匹配
+     * 
+     * @param query 组合查询条件
+     * @return 查询规格，关键词没有任何匹配时返回null
+     */
+    private Specification<Product> buildSpecification(ProductQuery query) {
+        Set<Long> candidateIds = null;
+        if (query.hasKeyword() && productSearchIndex.isReady()) {
+            candidateIds = productSearchIndex.matchingIds(query.getKeyword());
+            if (candidateIds.isEmpty()) {
+                return null;
+            }
+            if (candidateIds.size() > MAX_KEYWORD_CANDIDATES) {
+                log.debug("关键词候选产品过多，回退到模糊匹配, keyword: {}, candidates: {}",
+                        query.getKeyword(), candidateIds.size());
+                candidateIds = null;
+            }
+        }
+        return ProductSpecifications.matching(query, candidateIds);
+    }
+
+    /**
+     * 规范化SKU，去除首尾空白，空字符串视为未设置
+     * 
+     * @param sku 原始SKU
+     * @return 规范化后的SKU，未设置时返回null
+     */
+    private String normalizeSku(String sku) {
+        if (sku == null || sku.isBlank()) {
+            return null;
+        }
+        return sku.trim();
+    }
+
+    /**
+     * 解析每页数量，未指定时使用默认值
+     * 
+     * @param limit 请求的每页数量
+     * @return 实际使用的每页数量
+     * @throws ValidationException 每页数量超出范围时抛出
+     */
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new ValidationException("每页数量必须在1-" + MAX_PAGE_LIMIT + "之间");
+        }
+        return limit;
+    }
+
+    /**
+     * 在当前事务提交后执行操作，没有事务时立即执行
+     * 缓存失效放在提交之后，避免并发读在提交前把旧数据重新写回缓存
+     * 
+     * @param action 要执行的操作
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
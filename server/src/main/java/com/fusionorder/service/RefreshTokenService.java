@@ -0,0 +1,147 @@
+package com.fusionorder.service;
+
+import com.fusionorder.entity.RefreshToken;
+import com.fusionorder.repository.RefreshTokenRepository;
+import com.fusionorder.util.Digests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 刷新Token服务
+ * 刷新Token为随机字符串，数据库只保存其摘要。每个刷新Token只能使用一次，使用后签发同一家族的新Token；
+ * 已使用过的Token再次出现说明可能被盗用，整个家族立即作废，持有者需要重新登录
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    /**
+     * 随机数生成器
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 刷新Token数据访问层
+     */
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    /**
+     * 刷新Token有效期
+     */
+    private final Duration lifetime;
+
+    /**
+     * 构造函数
+     *
+     * @param refreshTokenRepository 刷新Token数据访问层
+     * @param expiration 刷新Token有效期（毫秒）
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:1209600000}") long expiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofMillis(expiration);
+    }
+
+    /**
+     * 签发刷新Token
+     *
+     * @param userId 用户ID
+     * @param familyId Token家族ID，登录时为空表示新建家族
+     * @return 刷新Token原文，只在此时返回一次
+     */
+    @Transactional
+    public String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(Digests.sha256Hex(token));
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId == null ? UUID.randomUUID().toString() : familyId);
+        refreshToken.setExpiresAt(LocalDateTime.now().plus(lifetime));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    /**
+     * 轮换刷新Token
+     * 原Token作废，签发同一家族的新Token；认证失败时已作废的家族不回滚
+     *
+     * @param token 刷新Token原文
+     * @return 用户ID和新的刷新Token
+     * @throws BadCredentialsException Token不存在、已过期或已被使用时抛出
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public Rotation rotate(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(Digests.sha256Hex(token))
+                .orElseThrow(() -> new BadCredentialsException("刷新Token无效"));
+        LocalDateTime now = LocalDateTime.now();
+        if (refreshToken.getUsedAt() != null || refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(refreshToken.getFamilyId(), now);
+            log.warn("刷新Token被重复使用，已作废整个家族, userId: {}, familyId: {}, revoked: {}",
+                    refreshToken.getUserId(), refreshToken.getFamilyId(), revoked);
+            throw new BadCredentialsException("刷新Token已失效，请重新登录");
+        }
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("刷新Token已过期，请重新登录");
+        }
+        return new Rotation(refreshToken.getUserId(), issue(refreshToken.getUserId(), refreshToken.getFamilyId()));
+    }
+
+    /**
+     * 作废刷新Token所在的家族（登出）
+     * 未知的Token直接忽略
+     *
+     * @param token 刷新Token原文
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(Digests.sha256Hex(token)).ifPresent(refreshToken ->
+                refreshTokenRepository.revokeFamily(refreshToken.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * 作废用户的全部刷新Token
+     *
+     * @param userId 用户ID
+     */
+    @Transactional
+    public void revokeUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeByUserId(userId, LocalDateTime.now());
+        log.info("用户的刷新Token已全部作废, userId: {}, count: {}", userId, revoked);
+    }
+
+    /**
+     * 删除已过期的刷新Token
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("已删除过期的刷新Token, count: {}", deleted);
+        }
+    }
+
+    /**
+     * 刷新Token轮换结果
+     *
+     * @param userId 用户ID
+     * @param refreshToken 新的刷新Token原文
+     */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
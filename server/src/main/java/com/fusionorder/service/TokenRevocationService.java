@@ -0,0 +1,207 @@
+package com.fusionorder.service;
+
+import com.fusionorder.entity.TokenRevocation;
+import com.fusionorder.repository.TokenRevocationRepository;
+import com.fusionorder.util.JwtPrincipal;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 访问Token吊销服务
+ * 吊销记录保存在数据库中，同时在内存中维护两个小集合：被吊销的Token ID（jti），
+ * 以及用户名到吊销时刻的映射（该时刻之前签发的Token全部无效）。
+ * 每个请求只做两次哈希查找，不访问数据库；访问Token有效期很短，集合只保留未过期的条目。
+ * 启动时从数据库重建，运行中定时拉取其他节点新增的吊销记录
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    /**
+     * 同步时回看的时间窗口，覆盖节点间时钟偏差和事务提交延迟，重复读取的记录幂等合并
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    /**
+     * 吊销记录数据访问层
+     */
+    private final TokenRevocationRepository revocationRepository;
+
+    /**
+     * 访问Token有效期
+     */
+    private final Duration accessTokenLifetime;
+
+    /**
+     * 被吊销的Token ID到Token过期时间的映射
+     */
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 用户名到吊销时刻的映射，签发时间早于该时刻的Token无效
+     */
+    private final Map<String, Instant> userCutoffs = new ConcurrentHashMap<>();
+
+    /**
+     * 上次同步的时间
+     */
+    private volatile LocalDateTime syncedAt;
+
+    /**
+     * 构造函数
+     *
+     * @param revocationRepository 吊销记录数据访问层
+     * @param expiration 访问Token有效期（毫秒）
+     */
+    public TokenRevocationService(TokenRevocationRepository revocationRepository,
+                                  @Value("${jwt.expiration}") long expiration) {
+        this.revocationRepository = revocationRepository;
+        this.accessTokenLifetime = Duration.ofMillis(expiration);
+    }
+
+    /**
+     * 启动时从数据库加载仍未失效的吊销记录
+     */
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenRevocation> revocations = revocationRepository.findByExpiresAtAfter(now);
+        revocations.forEach(this::apply);
+        syncedAt = now;
+        log.info("Token吊销记录已加载, tokens: {}, users: {}", revokedTokens.size(), userCutoffs.size());
+    }
+
+    /**
+     * 判断Token是否已被吊销
+     *
+     * @param principal 已验证的身份
+     * @return true表示已被吊销
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        if (principal.tokenId() != null && revokedTokens.containsKey(principal.tokenId())) {
+            return true;
+        }
+        Instant cutoff = userCutoffs.get(principal.username());
+        return cutoff != null && principal.issuedAt().isBefore(cutoff);
+    }
+
+    /**
+     * 吊销单个访问Token
+     * 吊销记录随调用方事务提交后才合并到内存集合，事务回滚时不会留下数据库中不存在的吊销
+     *
+     * @param principal 要吊销的Token的身份
+     */
+    @Transactional
+    public void revokeToken(JwtPrincipal principal) {
+        if (principal.tokenId() == null) {
+            return;
+        }
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setType(TokenRevocation.Type.TOKEN);
+        revocation.setSubject(principal.tokenId());
+        revocation.setRevokedAt(LocalDateTime.now());
+        revocation.setExpiresAt(LocalDateTime.ofInstant(principal.expiresAt(), ZoneId.systemDefault()));
+        TokenRevocation saved = revocationRepository.save(revocation);
+        afterCommit(() -> apply(saved));
+        log.info("访问Token已吊销, username: {}, tokenId: {}", principal.username(), principal.tokenId());
+    }
+
+    /**
+     * 吊销用户当前签发的全部访问Token
+     * 吊销记录随调用方事务提交后才合并到内存集合
+     *
+     * @param username 用户名
+     */
+    @Transactional
+    public void revokeUser(String username) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setType(TokenRevocation.Type.USER);
+        revocation.setSubject(username);
+        revocation.setRevokedAt(now);
+        revocation.setExpiresAt(now.plus(accessTokenLifetime));
+        TokenRevocation saved = revocationRepository.save(revocation);
+        afterCommit(() -> apply(saved));
+        log.info("用户的访问Token已全部吊销, username: {}", username);
+    }
+
+    /**
+     * 拉取其他节点新增的吊销记录，移除内存中已过期的条目
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            revocationRepository.findByRevokedAtAfter(syncedAt.minus(SYNC_OVERLAP)).forEach(this::apply);
+            syncedAt = now;
+        } catch (DataAccessException e) {
+            log.warn("同步Token吊销记录失败，下次重试, error: {}", e.getMostSpecificCause().getMessage());
+        }
+        Instant current = Instant.now();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(current));
+        userCutoffs.values().removeIf(cutoff -> cutoff.plus(accessTokenLifetime).isBefore(current));
+    }
+
+    /**
+     * 删除数据库中已失效的吊销记录
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purge() {
+        int deleted = revocationRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("已删除失效的Token吊销记录, count: {}", deleted);
+        }
+    }
+
+    /**
+     * 在当前事务提交后执行操作，没有事务时立即执行
+     *
+     * @param action 要执行的操作
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 将吊销记录合并到内存集合
+     * Token的签发时间只精确到秒，用户吊销时刻向上取整到秒：同一秒内吊销之后签发的Token也视为无效，需重新登录
+     */
+    private void apply(TokenRevocation revocation) {
+        Instant revokedAt = revocation.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant();
+        Instant expiresAt = revocation.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant();
+        if (revocation.getType() == TokenRevocation.Type.TOKEN) {
+            revokedTokens.merge(revocation.getSubject(), expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+        } else {
+            Instant cutoff = revokedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+            userCutoffs.merge(revocation.getSubject(), cutoff, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+}
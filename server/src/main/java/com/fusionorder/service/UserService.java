@@ -8,9 +8,9 @@ import com.fusionorder.exception.ValidationException;
 import com.fusionorder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,19 +32,35 @@ public class UserService {
     private final UserRepository userRepository;
     
     /**
-     * 密码编码器，用于加密密码
+     * 密码哈希服务，在专用线程池中加密密码
      */
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    
+    /**
+     * 访问Token吊销服务
+     */
+    private final TokenRevocationService tokenRevocationService;
+    
+    /**
+     * 刷新Token服务
+     */
+    private final RefreshTokenService refreshTokenService;
+    
+    /**
+     * 事务模板，更新用户时在密码加密完成后才开启事务
+     */
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 用户注册
-     * 验证用户名和邮箱的唯一性，加密密码后保存用户信息
+     * 验证用户名和邮箱的唯一性，加密密码后保存用户信息；
+     * 不开启外层事务，等待密码哈希时不占用数据库连接（用户名、邮箱由唯一索引兜底）
      * 
      * @param user 用户实体对象
      * @return 用户DTO对象
      * @throws BusinessException 用户名或邮箱已存在时抛出
+     * @throws com.fusionorder.exception.ServiceUnavailableException 密码哈希线程池繁忙时抛出
      */
-    @Transactional
     public UserDTO register(User user) {
         log.info("开始注册用户, username: {}", user.getUsername());
         
@@ -61,7 +77,7 @@ public class UserService {
         }
         
         // 加密密码
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         
         // 设置默认角色为USER
         if (user.getRole() == null) {
@@ -109,24 +125,43 @@ public class UserService {
 
     /**
      * 更新用户信息
-     * 支持部分更新，只更新提供的字段
+     * 支持部分更新，只更新提供的字段；
+     * 用户名、角色、密码变更或账户被禁用时吊销该用户已签发的全部Token，立即生效
      * 
      * @param id 用户ID
      * @param userDetails 要更新的用户信息
      * @return 更新后的用户DTO对象
      * @throws ResourceNotFoundException 用户不存在时抛出
      * @throws BusinessException 用户名或邮箱已存在时抛出
+     * @throws com.fusionorder.exception.ServiceUnavailableException 密码哈希线程池繁忙时抛出
      */
-    @Transactional
     public UserDTO updateUser(Long id, User userDetails) {
         log.info("开始更新用户, userId: {}", id);
         
+        // 新密码在开启事务之前加密，等待密码哈希时不占用数据库连接
+        String encodedPassword = userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()
+                ? passwordHashingService.encode(userDetails.getPassword())
+                : null;
+        return transactionTemplate.execute(status -> applyUpdate(id, userDetails, encodedPassword));
+    }
+
+    /**
+     * 在事务中更新用户信息
+     * 
+     * @param id 用户ID
+     * @param userDetails 要更新的用户信息
+     * @param encodedPassword 已加密的新密码，为空表示不修改密码
+     * @return 更新后的用户DTO对象
+     */
+    private UserDTO applyUpdate(Long id, User userDetails, String encodedPassword) {
         // 查找用户
         User user = userRepository.findById(id)
                 .orElseThrow(() -> {
                     log.warn("更新失败：用户不存在, userId: {}", id);
                     return new ResourceNotFoundException("用户", id);
                 });
+        String originalUsername = user.getUsername();
+        boolean revokeTokens = false;
         
         // 更新用户名（如果提供且不同）
         if (userDetails.getUsername() != null && !userDetails.getUsername().equals(user.getUsername())) {
@@ -135,6 +170,7 @@ public class UserService {
                 throw new BusinessException("用户名已存在");
             }
             user.setUsername(userDetails.getUsername());
+            revokeTokens = true;
             log.debug("更新用户名, newUsername: {}", userDetails.getUsername());
         }
         
@@ -154,25 +190,31 @@ public class UserService {
         }
         
         // 更新角色
-        if (userDetails.getRole() != null) {
+        if (userDetails.getRole() != null && userDetails.getRole() != user.getRole()) {
             user.setRole(userDetails.getRole());
+            revokeTokens = true;
             log.debug("更新角色, newRole: {}", userDetails.getRole());
         }
         
         // 更新启用状态
         if (userDetails.getEnabled() != null) {
+            revokeTokens |= user.getEnabled() && !userDetails.getEnabled();
             user.setEnabled(userDetails.getEnabled());
             log.debug("更新启用状态, enabled: {}", userDetails.getEnabled());
         }
         
         // 更新密码（如果提供）
-        if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+        if (encodedPassword != null) {
+            user.setPassword(encodedPassword);
+            revokeTokens = true;
             log.debug("更新密码");
         }
         
         // 保存更新后的用户
         User updatedUser = userRepository.save(user);
+        if (revokeTokens) {
+            revokeTokens(originalUsername, id);
+        }
         log.info("更新用户成功, userId: {}, username: {}", id, updatedUser.getUsername());
         
         return UserDTO.fromEntity(updatedUser);
@@ -180,6 +222,7 @@ public class UserService {
 
     /**
      * 删除用户
+     * 同时吊销该用户已签发的全部Token
      * 
      * @param id 用户ID
      * @throws ResourceNotFoundException 用户不存在时抛出
@@ -188,13 +231,23 @@ public class UserService {
     public void deleteUser(Long id) {
         log.info("开始删除用户, userId: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            log.warn("删除失败：用户不存在, userId: {}", id);
-            throw new ResourceNotFoundException("用户", id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("删除失败：用户不存在, userId: {}", id);
+                    return new ResourceNotFoundException("用户", id);
+                });
         
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        revokeTokens(user.getUsername(), id);
         log.info("删除用户成功, userId: {}", id);
     }
+
+    /**
+     * 吊销用户的访问Token和刷新Token
+     */
+    private void revokeTokens(String username, Long userId) {
+        tokenRevocationService.revokeUser(username);
+        refreshTokenService.revokeUser(userId);
+    }
 }
 
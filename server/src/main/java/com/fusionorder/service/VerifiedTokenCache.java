@@ -0,0 +1,99 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.CacheStatsDTO;
+import com.fusionorder.util.BoundedTtlCache;
+import com.fusionorder.util.Digests;
+import com.fusionorder.util.JwtPrincipal;
+import com.fusionorder.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 已验证Token缓存
+ * 同一个Token在有效期内会被反复携带，首次验签、解析后按Token的SHA-256摘要缓存解析结果，
+ * 缓存存活到Token自身的过期时间为止，重复请求不再做签名验证和JSON解析。
+ * 缓存键不保存Token原文；验证失败的Token不缓存，每次都会重新验证
+ *
+ * @author FusionOrder Team
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * JWT工具类，未命中时验签解析
+     */
+    private final JwtUtil jwtUtil;
+
+    /**
+     * 是否启用缓存
+     */
+    private final boolean enabled;
+
+    /**
+     * Token摘要到已验证身份的缓存
+     */
+    private final BoundedTtlCache<String, JwtPrincipal> principals;
+
+    /**
+     * 构造函数
+     *
+     * @param jwtUtil JWT工具类
+     * @param enabled 是否启用缓存
+     * @param maximumSize 最多缓存的Token数
+     * @param expiration Token有效期（毫秒），作为缓存存活时间的上限
+     */
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:100000}") int maximumSize,
+                              @Value("${jwt.expiration}") long expiration) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.principals = new BoundedTtlCache<>("verified-tokens", maximumSize, Duration.ofMillis(expiration));
+    }
+
+    /**
+     * 获取Token对应的已验证身份，未缓存时验签解析并缓存到Token过期
+     *
+     * @param token JWT Token
+     * @return 已验证的身份
+     * @throws io.jsonwebtoken.JwtException Token无效或已过期时抛出
+     * @throws IllegalArgumentException Token为空时抛出
+     */
+    public JwtPrincipal resolve(String token) {
+        if (!enabled) {
+            return jwtUtil.parseToken(token);
+        }
+        String key = Digests.sha256Hex(token);
+        JwtPrincipal cached = principals.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        JwtPrincipal principal = jwtUtil.parseToken(token);
+        Duration remaining = Duration.between(Instant.now(), principal.expiresAt());
+        if (!remaining.isNegative() && !remaining.isZero()) {
+            principals.put(key, principal, remaining);
+        }
+        return principal;
+    }
+
+    /**
+     * 移除Token的缓存，之后该Token会重新验证
+     *
+     * @param token JWT Token
+     */
+    public void invalidate(String token) {
+        principals.remove(Digests.sha256Hex(token));
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStatsDTO stats() {
+        return principals.stats();
+    }
+}
@@ -0,0 +1,77 @@
+package com.fusionorder.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 可调整工作因子的BCrypt密码编码器
+ * 新密码按配置的工作因子加密；验证时兼容任意工作因子的已有密码，
+ * 工作因子与配置不一致的密码通过 {@link #upgradeEncoding(String)} 标记，登录成功后按当前配置重新加密。
+ * 调高工作因子提升安全性、调低工作因子降低CPU消耗，都会在用户下次登录时逐步生效
+ *
+ * @author FusionOrder Team
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    /**
+     * BCrypt密文格式：$2a$10$ + 53位盐和摘要
+     */
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$[./A-Za-z0-9]{53}$");
+
+    /**
+     * 配置的工作因子
+     */
+    private final int strength;
+
+    /**
+     * 实际执行加密和验证的编码器
+     */
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * 构造函数
+     *
+     * @param strength BCrypt工作因子（4-31），每加1耗时翻倍
+     */
+    public AdaptivePasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * 获取配置的工作因子
+     *
+     * @return 工作因子
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * 密码的工作因子与配置不一致时需要重新加密
+     *
+     * @param encodedPassword 已加密的密码
+     * @return true表示需要按当前配置重新加密
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -0,0 +1,335 @@
+package com.fusionorder.util;
+
+import com.fusionorder.dto.CacheStatsDTO;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有界TTL缓存
+ * 按容量（LRU）和过期时间淘汰条目，内部分段加锁以降低多线程竞争，并记录命中、未命中、淘汰次数。
+ * 默认自写入起计算过期时间；按访问过期时每次命中都重新计算，持续被访问的条目不会过期
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author FusionOrder Team
+ */
+public class BoundedTtlCache<K, V> {
+
+    /**
+     * 最大分段数
+     */
+    private static final int MAX_SEGMENTS = 16;
+
+    /**
+     * 缓存名称，用于统计展示
+     */
+    private final String name;
+
+    /**
+     * 最大条目数
+     */
+    private final int maximumSize;
+
+    /**
+     * 默认存活时间（纳秒）
+     */
+    private final long ttlNanos;
+
+    /**
+     * 是否按访问过期，为true时命中即顺延过期时间
+     */
+    private final boolean expireAfterAccess;
+
+    /**
+     * 分段数组，每个分段独立加锁
+     */
+    private final Segment<K, V>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * 构造函数，自写入起计算过期时间
+     *
+     * @param name 缓存名称
+     * @param maximumSize 最大条目数
+     * @param ttl 默认存活时间
+     */
+    public BoundedTtlCache(String name, int maximumSize, Duration ttl) {
+        this(name, maximumSize, ttl, false);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param name 缓存名称
+     * @param maximumSize 最大条目数
+     * @param ttl 默认存活时间，按访问过期时为最长空闲时间
+     * @param expireAfterAccess 是否按访问过期
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedTtlCache(String name, int maximumSize, Duration ttl, boolean expireAfterAccess) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize必须大于0");
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.expireAfterAccess = expireAfterAccess;
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions, expirations);
+        }
+    }
+
+    /**
+     * 获取缓存值，过期或不存在时返回null；按访问过期时顺延命中条目的过期时间
+     *
+     * @param key 键
+     * @return 缓存值
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            long now = System.nanoTime();
+            if (entry != null && entry.expiresAt - now > 0) {
+                hits.increment();
+                if (expireAfterAccess) {
+                    segment.map.put(key, new Entry<>(entry.value, now + ttlNanos));
+                }
+                return entry.value;
+            }
+            if (entry != null) {
+                segment.map.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 获取缓存值，不存在时通过loader加载并写入缓存
+     * 加载期间如果同一分段发生失效操作，加载结果不会写入缓存，避免回填旧数据；
+     * 其他分段的失效不影响本次加载
+     *
+     * @param key 键
+     * @param loader 加载函数，返回null时不缓存
+     * @return 缓存值或加载结果
+     */
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        long loadEpoch;
+        synchronized (segment) {
+            loadEpoch = segment.epoch;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (segment) {
+                if (segment.epoch == loadEpoch) {
+                    segment.map.put(key, new Entry<>(loaded, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 写入缓存，使用默认存活时间
+     *
+     * @param key 键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * 写入缓存，使用指定存活时间（不超过默认存活时间）
+     *
+     * @param key 键
+     * @param value 值
+     * @param ttl 存活时间
+     */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos));
+    }
+
+    /**
+     * 仅在键不存在（或已过期）时写入缓存
+     *
+     * @param key 键
+     * @param value 值
+     * @return 已存在的值，写入成功时返回null
+     */
+    public V putIfAbsent(K key, V value) {
+        return putIfAbsent(key, value, ttlNanos);
+    }
+
+    /**
+     * 仅在键不存在（或已过期）时写入缓存，使用指定存活时间（不超过默认存活时间）
+     *
+     * @param key 键
+     * @param value 值
+     * @param ttl 存活时间
+     * @return 已存在的值，写入成功时返回null
+     */
+    public V putIfAbsent(K key, V value, Duration ttl) {
+        return putIfAbsent(key, value, Math.min(ttl.toNanos(), ttlNanos));
+    }
+
+    /**
+     * 删除缓存条目
+     *
+     * @param key 键
+     */
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.epoch++;
+            segment.map.remove(key);
+        }
+    }
+
+    /**
+     * 清空所有缓存条目
+     */
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.epoch++;
+                segment.map.clear();
+            }
+        }
+    }
+
+    /**
+     * 清理已过期的条目
+     *
+     * @return 清理的条目数
+     */
+    public int cleanUp() {
+        int removed = 0;
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> iterator = segment.map.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().expiresAt - now <= 0) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    /**
+     * 当前条目数（可能包含尚未清理的过期条目）
+     *
+     * @return 条目数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 缓存统计DTO
+     */
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new CacheStatsDTO(name, size(), maximumSize, hitCount, missCount,
+                requests == 0 ? 0.0 : (double) hitCount / requests,
+                evictions.sum(), expirations.sum());
+    }
+
+    private V putIfAbsent(K key, V value, long entryTtlNanos) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                return entry.value;
+            }
+            segment.map.put(key, new Entry<>(value, System.nanoTime() + entryTtlNanos));
+            return null;
+        }
+    }
+
+    private void put(K key, V value, long entryTtlNanos) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.map.put(key, new Entry<>(value, System.nanoTime() + entryTtlNanos));
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * 缓存分段，按访问顺序排列以支持LRU淘汰
+     */
+    private static final class Segment<K, V> {
+
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        /**
+         * 失效纪元，分段内每次删除或清空时递增（持有分段锁时读写），用于丢弃失效前开始加载的旧值
+         */
+        private long epoch;
+
+        Segment(int capacity, LongAdder evictions, LongAdder expirations) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > capacity) {
+                        if (eldest.getValue().expiresAt - System.nanoTime() > 0) {
+                            evictions.increment();
+                        } else {
+                            expirations.increment();
+                        }
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param value 值
+     * @param expiresAt 过期时间点（System.nanoTime）
+     */
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.fusionorder.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV流式读取工具类
+ * 按RFC 4180逐条读取记录，支持双引号包裹、转义双引号和字段内换行，
+ * 每次只在内存中保留一条记录，适合读取大文件
+ *
+ * @author FusionOrder Team
+ */
+public class CsvReader implements Closeable {
+
+    /**
+     * UTF-8 BOM，Excel导出的CSV常带有该前缀
+     */
+    private static final int BOM = '\uFEFF';
+
+    /**
+     * 底层字符流
+     */
+    private final Reader reader;
+
+    /**
+     * 预读的字符，-2表示没有预读
+     */
+    private int pushedBack = -2;
+
+    /**
+     * 当前读取位置所在的行号
+     */
+    private int lineNumber = 1;
+
+    /**
+     * 最近一条记录的起始行号
+     */
+    private int recordLine;
+
+    /**
+     * 是否已读取到流末尾
+     */
+    private boolean eof;
+
+    /**
+     * 是否已读取过字符，用于跳过流开头的BOM
+     */
+    private boolean started;
+
+    /**
+     * 构造函数
+     *
+     * @param reader 字符流，调用方负责提供缓冲
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一条记录
+     *
+     * @return 字段列表，已到流末尾时返回null
+     * @throws IOException 读取失败或引号未闭合时抛出
+     */
+    public List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+        recordLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                eof = true;
+                if (quoted) {
+                    throw new IOException("第" + recordLine + "行引号未闭合");
+                }
+                if (!fieldStarted && fields.isEmpty()) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStarted = true;
+            }
+        }
+    }
+
+    /**
+     * 获取最近一条记录的起始行号
+     *
+     * @return 起始行号，从1开始
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BOM) {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
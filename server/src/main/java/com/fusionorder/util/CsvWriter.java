@@ -0,0 +1,82 @@
+package com.fusionorder.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV写出工具类
+ * 按RFC 4180转义字段：包含逗号、双引号、换行的字段用双引号包裹，字段内双引号加倍。
+ * 供电子表格打开的文件使用 {@link #writeSpreadsheetRow}，以公式字符开头的文本前加单引号，按文本显示而不作为公式执行
+ *
+ * @author FusionOrder Team
+ */
+public final class CsvWriter {
+
+    private CsvWriter() {
+    }
+
+    /**
+     * 写出一行记录
+     *
+     * @param writer 输出流
+     * @param fields 字段值，null写为空字段
+     * @throws IOException 写出失败时抛出
+     */
+    public static void writeRow(Writer writer, Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(writer, fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 写出一行供电子表格（Excel等）打开的记录
+     * 文本字段以 =、+、-、@、制表符、回车开头时前加单引号，防止用户提交的内容被当作公式执行；
+     * 数值、时间等非文本字段原样写出
+     *
+     * @param writer 输出流
+     * @param fields 字段值，null写为空字段
+     * @throws IOException 写出失败时抛出
+     */
+    public static void writeSpreadsheetRow(Writer writer, Object... fields) throws IOException {
+        Object[] safe = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            safe[i] = fields[i] instanceof CharSequence text ? neutralize(text.toString()) : fields[i];
+        }
+        writeRow(writer, safe);
+    }
+
+    private static String neutralize(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,150 @@
+package com.fusionorder.util;
+
+import com.fusionorder.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码工具类
+ * 将排序键 (createdAt, id)、任意排序字段加ID或排序结果中的位置编码为不透明的URL安全字符串，
+ * 避免客户端依赖游标内部结构
+ *
+ * @author FusionOrder Team
+ */
+public final class CursorCodec {
+
+    /**
+     * 游标字段分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param createdAt 最后一条记录的创建时间
+     * @param id 最后一条记录的ID
+     * @return 不透明游标字符串
+     */
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 不透明游标字符串
+     * @return 游标对象
+     * @throws ValidationException 游标格式不正确时抛出
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index <= 0) {
+                throw new ValidationException("分页游标格式不正确");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, index)), Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("分页游标格式不正确");
+        }
+    }
+
+    /**
+     * 编码带排序方式的键集游标
+     *
+     * @param sortName 排序方式名称，解码时校验与请求的排序方式一致
+     * @param sortValue 最后一条记录排序字段值的字符串形式
+     * @param id 最后一条记录的ID
+     * @return 不透明游标字符串
+     */
+    public static String encodeKey(String sortName, String sortValue, Long id) {
+        String raw = "k" + SEPARATOR + sortName + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码带排序方式的键集游标
+     *
+     * @param cursor 不透明游标字符串
+     * @param expectedSortName 当前请求的排序方式名称
+     * @return 键集游标
+     * @throws ValidationException 游标格式不正确或与排序方式不匹配时抛出
+     */
+    public static KeyCursor decodeKey(String cursor, String expectedSortName) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 4 || !"k".equals(parts[0])) {
+                throw new ValidationException("分页游标格式不正确");
+            }
+            if (!parts[1].equals(expectedSortName)) {
+                throw new ValidationException("分页游标与排序方式不匹配");
+            }
+            return new KeyCursor(parts[2], Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("分页游标格式不正确");
+        }
+    }
+
+    /**
+     * 编码基于位置的游标，用于按相关度排序等无法使用键集的场景
+     *
+     * @param offset 下一页的起始位置
+     * @return 不透明游标字符串
+     */
+    public static String encodeOffset(int offset) {
+        String raw = "o" + SEPARATOR + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码基于位置的游标
+     *
+     * @param cursor 不透明游标字符串，为空时返回0
+     * @return 起始位置
+     * @throws ValidationException 游标格式不正确时抛出
+     */
+    public static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("o" + SEPARATOR)) {
+                throw new ValidationException("分页游标格式不正确");
+            }
+            int offset = Integer.parseInt(raw.substring(2));
+            if (offset < 0) {
+                throw new ValidationException("分页游标格式不正确");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("分页游标格式不正确");
+        }
+    }
+
+    /**
+     * 解码后的游标
+     *
+     * @param createdAt 创建时间
+     * @param id 记录ID
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    /**
+     * 解码后的键集游标
+     *
+     * @param sortValue 排序字段值的字符串形式
+     * @param id 记录ID
+     */
+    public record KeyCursor(String sortValue, Long id) {
+    }
+}
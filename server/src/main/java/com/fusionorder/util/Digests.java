@@ -0,0 +1,33 @@
+package com.fusionorder.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 摘要工具类
+ * Token等敏感字符串只以摘要形式用作缓存键或持久化，不保存原文
+ *
+ * @author FusionOrder Team
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    /**
+     * 计算字符串UTF-8编码的SHA-256摘要
+     *
+     * @param value 原文
+     * @return 64位小写十六进制摘要
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fusionorder.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETag生成与匹配工具类
+ * 列表ETag由目录版本号和查询参数摘要组成，单个资源ETag由ID和更新时间组成，
+ * 均可在不查询数据库、不序列化响应体的情况下算出
+ *
+ * @author FusionOrder Team
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * 生成列表ETag
+     *
+     * @param version 目录版本号
+     * @param parts 影响响应内容的查询参数
+     * @return 带引号的强ETag
+     */
+    public static String forList(long version, Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            key.append(part).append('\u0000');
+        }
+        String digest = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"c" + Long.toHexString(version) + "-" + digest + "\"";
+    }
+
+    /**
+     * 生成单个资源ETag
+     *
+     * @param id 资源ID
+     * @param updatedAt 资源更新时间
+     * @return 带引号的强ETag
+     */
+    public static String forResource(Long id, LocalDateTime updatedAt) {
+        long updatedNanos = updatedAt == null ? 0L
+                : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() * 1_000_000L + updatedAt.getNano() % 1_000_000;
+        return "\"r" + id + "-" + Long.toHexString(updatedNanos) + "\"";
+    }
+
+    /**
+     * 判断 If-None-Match 请求头是否命中当前ETag
+     * 支持逗号分隔的多个ETag和通配符"*"，按弱比较忽略"W/"前缀
+     *
+     * @param ifNoneMatch If-None-Match 请求头
+     * @param etag 当前ETag
+     * @return true表示客户端缓存仍然有效
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag)) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,345 @@
+package com.fusionorder.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * 本地追加写日志
+ * 每条记录为一行文本，fsync完成后才返回给调用方，保证确认过的记录在进程或机器崩溃后不丢失。
+ * 追加采用组提交：调用方把记录放入队列后等待，由单个写线程把队列中积累的记录一次写入并只fsync一次，
+ * 再唤醒这一批的全部调用方，吞吐量不再受限于每条记录一次fsync；
+ * 消费方处理完一批记录后提交检查点（已处理的字节位置），重启后从检查点继续读取。
+ * 所有记录都已处理时自动截断日志文件，避免无限增长
+ *
+ * @author FusionOrder Team
+ */
+public class FileJournal implements Closeable {
+
+    /**
+     * 每次从文件读取的字节数
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 日志文件
+     */
+    private final Path journalFile;
+
+    /**
+     * 检查点文件
+     */
+    private final Path checkpointFile;
+
+    /**
+     * 日志文件通道，追加、读取、截断共用
+     */
+    private final FileChannel channel;
+
+    /**
+     * 每次组提交最多合并的记录数
+     */
+    private static final int MAX_GROUP_SIZE = 1024;
+
+    /**
+     * 关闭时放入队列的结束标记，写线程处理完它之前的记录后退出
+     */
+    private static final PendingAppend STOP = new PendingAppend(new byte[0], new CompletableFuture<>());
+
+    /**
+     * 等待写入的记录
+     */
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * 入队锁，保证结束标记之后不再有记录入队
+     */
+    private final Object appendLock = new Object();
+
+    /**
+     * 组提交写线程
+     */
+    private final Thread writer;
+
+    /**
+     * 已处理到的字节位置
+     */
+    private long checkpoint;
+
+    /**
+     * 是否已关闭，持有入队锁时读写
+     */
+    private boolean closed;
+
+    /**
+     * 已执行的fsync次数（追加路径）
+     */
+    private volatile long syncCount;
+
+    /**
+     * 打开（必要时创建）日志
+     * 崩溃时写了一半的最后一行从未被确认过，打开时直接丢弃
+     *
+     * @param directory 日志目录
+     * @param name 日志名称，日志文件为 name.ndjson，检查点文件为 name.checkpoint
+     * @throws IOException 文件无法打开时抛出
+     */
+    public FileJournal(Path directory, String name) throws IOException {
+        Files.createDirectories(directory);
+        this.journalFile = directory.resolve(name + ".ndjson");
+        this.checkpointFile = directory.resolve(name + ".checkpoint");
+        this.channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        truncateTornTail();
+        long stored = Files.exists(checkpointFile)
+                ? Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).trim()) : 0L;
+        // 截断日志后、写入新检查点前崩溃时，检查点会超出文件长度
+        this.checkpoint = stored > channel.size() ? 0L : stored;
+        this.writer = new Thread(this::writeLoop, "journal-" + name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 追加一条记录，fsync完成后返回
+     * 与同时到达的其他记录合并为一次写入和一次fsync。
+     * 等待不响应中断：记录入队后一定会被写入，调用方据此判断成功与否，不会出现已写入却按失败处理
+     *
+     * @param line 记录内容，不能包含换行符
+     * @throws IOException 写入失败或日志已关闭时抛出
+     */
+    public void append(String line) throws IOException {
+        PendingAppend pending = new PendingAppend((line + "\n").getBytes(StandardCharsets.UTF_8), new CompletableFuture<>());
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IOException("日志已关闭: " + journalFile);
+            }
+            queue.add(pending);
+        }
+        try {
+            pending.done().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * 获取追加路径已执行的fsync次数
+     *
+     * @return fsync次数
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * 从检查点开始读取未处理的记录
+     *
+     * @param maxRecords 最多读取的记录数
+     * @return 读取的记录及其结束位置
+     * @throws IOException 读取失败时抛出
+     */
+    public Batch readPending(int maxRecords) throws IOException {
+        long start;
+        long end;
+        synchronized (this) {
+            start = checkpoint;
+            end = channel.size();
+        }
+        List<String> records = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long position = start;
+        long committed = start;
+        while (position < end && records.size() < maxRecords) {
+            buffer.clear();
+            buffer.limit((int) Math.min(READ_BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining() && records.size() < maxRecords) {
+                byte b = buffer.get();
+                position++;
+                if (b == '\n') {
+                    records.add(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    committed = position;
+                } else {
+                    line.write(b);
+                }
+            }
+            position = committed + line.size();
+        }
+        return new Batch(records, committed);
+    }
+
+    /**
+     * 提交检查点
+     * 检查点原子替换并fsync；所有记录都已处理时截断日志文件
+     *
+     * @param position 已处理到的字节位置
+     * @throws IOException 写入失败时抛出
+     */
+    public synchronized void commit(long position) throws IOException {
+        if (position == channel.size()) {
+            channel.truncate(0);
+            channel.force(true);
+            position = 0L;
+        }
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(position).getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = position;
+    }
+
+    /**
+     * 获取未处理记录的字节数
+     *
+     * @return 未处理的字节数
+     * @throws IOException 读取文件长度失败时抛出
+     */
+    public synchronized long pendingBytes() throws IOException {
+        return channel.size() - checkpoint;
+    }
+
+    /**
+     * 获取日志文件路径
+     *
+     * @return 日志文件路径
+     */
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * 关闭日志：停止写线程，已入队的记录写完后再关闭文件
+     *
+     * @throws IOException 关闭失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (!closed) {
+                closed = true;
+                queue.add(STOP);
+            }
+        }
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        synchronized (this) {
+            channel.close();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写线程：取出队列中积累的记录，一次写入、一次fsync后唤醒这一批的调用方；遇到结束标记时退出。
+     * 写线程不会被中断，避免中断关闭文件通道
+     */
+    private void writeLoop() {
+        List<PendingAppend> group = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(group, MAX_GROUP_SIZE - 1);
+            stop = group.remove(STOP);
+            if (!group.isEmpty()) {
+                try {
+                    writeGroup(group);
+                    group.forEach(pending -> pending.done().complete(null));
+                } catch (IOException | RuntimeException e) {
+                    group.forEach(pending -> pending.done().completeExceptionally(e));
+                }
+            }
+            group.clear();
+        }
+    }
+
+    private synchronized void writeGroup(List<PendingAppend> group) throws IOException {
+        int length = 0;
+        for (PendingAppend pending : group) {
+            length += pending.bytes().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (PendingAppend pending : group) {
+            buffer.put(pending.bytes());
+        }
+        buffer.flip();
+        long position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        channel.force(false);
+        syncCount++;
+    }
+
+    private void truncateTornTail() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer one = ByteBuffer.allocate(1);
+        long position = size;
+        while (position > 0) {
+            one.clear();
+            channel.read(one, position - 1);
+            if (one.get(0) == '\n') {
+                break;
+            }
+            position--;
+        }
+        if (position < size) {
+            channel.truncate(position);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * 一批未处理的记录
+     *
+     * @param records 记录内容
+     * @param endPosition 最后一条记录之后的字节位置，处理完成后作为检查点提交
+     */
+    public record Batch(List<String> records, long endPosition) {
+    }
+
+    /**
+     * 等待写入的记录
+     *
+     * @param bytes 记录内容（含换行符）
+     * @param done 写入并fsync完成后完成
+     */
+    private record PendingAppend(byte[] bytes, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,471 @@
+package com.fusionorder.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JWT签名密钥环
+ * 非对称算法（ES256、EdDSA）下使用：当前密钥签发Token并在头部写入 kid，
+ * 验证时按 kid 直接从内存中取公钥；轮换后旧密钥停止签发但继续用于验证，
+ * 直到它签发的Token全部过期后才移除，轮换不会让已登录的用户掉线。
+ * 公钥通过JWKS发布，其他节点和网关无需共享任何密钥即可验证Token。
+ * <p>
+ * 密钥环为不可变快照，轮换时整体替换，验证路径不加锁。
+ * 配置 {@code jwt.keys.dir} 时密钥持久化到该目录（密钥文件权限为 0600），重启后继续使用；多个节点挂载同一目录即共用密钥环，
+ * 每隔 {@code jwt.keys.reload-interval-ms} 以及遇到未知的 kid（其他节点刚轮换）时重新读取目录，目录中的文件为准，
+ * 同一算法下最新的密钥为当前密钥，更早的密钥视为在新密钥创建时退役，各节点据此得出相同的结论，读取时不回写文件。
+ * 未配置目录时密钥只在本进程内存中，重启后已签发的Token失效、其他节点无法验证，因此默认算法为 HS256
+ *
+ * @author FusionOrder Team
+ */
+@Slf4j
+@Component
+public class JwtKeyring {
+
+    /**
+     * 密钥文件扩展名
+     */
+    private static final String KEY_FILE_SUFFIX = ".key";
+
+    /**
+     * 遇到未知 kid 时重新读取密钥目录的最小间隔（纳秒），避免伪造的 kid 反复触发读盘
+     */
+    private static final long RELOAD_INTERVAL_NANOS = Duration.ofSeconds(10).toNanos();
+
+    /**
+     * 密钥文件权限，只有运行服务的用户可读写
+     */
+    private static final Set<PosixFilePermission> KEY_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    /**
+     * 密钥目录权限
+     */
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+
+    /**
+     * 签名算法名称（HS256、ES256、EdDSA）
+     */
+    private final String algorithmName;
+
+    /**
+     * 密钥保存目录，为空时只保存在内存中
+     */
+    private final Path directory;
+
+    /**
+     * Token最长有效期，退役密钥保留这么久后移除
+     */
+    private final Duration tokenLifetime;
+
+    /**
+     * 自动轮换周期，为零时只手动轮换
+     */
+    private final Duration rotationInterval;
+
+    /**
+     * 定时重新读取密钥目录的间隔，其他节点最多延迟这么久才改用新密钥签发
+     */
+    private final Duration reloadInterval;
+
+    /**
+     * 当前密钥环快照
+     */
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), null);
+
+    /**
+     * 上次读取密钥目录的时间（纳秒）
+     */
+    private volatile long reloadedAt;
+
+    /**
+     * 构造函数
+     *
+     * @param algorithmName 签名算法名称
+     * @param directory 密钥保存目录，为空时只保存在内存中
+     * @param tokenLifetime Token最长有效期（毫秒）
+     * @param rotationDays 自动轮换周期（天），为0时只手动轮换
+     * @param reloadIntervalMillis 定时重新读取密钥目录的间隔（毫秒）
+     */
+    public JwtKeyring(@Value("${jwt.algorithm:HS256}") String algorithmName,
+                      @Value("${jwt.keys.dir:}") String directory,
+                      @Value("${jwt.expiration}") long tokenLifetime,
+                      @Value("${jwt.keys.rotation-days:0}") long rotationDays,
+                      @Value("${jwt.keys.reload-interval-ms:30000}") long reloadIntervalMillis) {
+        this.algorithmName = algorithmName;
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.tokenLifetime = Duration.ofMillis(tokenLifetime);
+        this.rotationInterval = Duration.ofDays(rotationDays);
+        this.reloadInterval = Duration.ofMillis(reloadIntervalMillis);
+    }
+
+    /**
+     * 是否使用非对称签名
+     *
+     * @return false表示使用 jwt.secret 的HMAC签名，密钥环不启用
+     */
+    public boolean isEnabled() {
+        return !"HS256".equalsIgnoreCase(algorithmName);
+    }
+
+    /**
+     * 加载已保存的密钥，没有可用密钥时生成
+     *
+     * @throws IOException 密钥目录无法读写时抛出
+     */
+    @PostConstruct
+    public synchronized void init() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        signatureAlgorithm();
+        if (directory != null) {
+            if (Files.notExists(directory) && isPosix(directory.toAbsolutePath().getParent())) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS));
+            } else {
+                Files.createDirectories(directory);
+            }
+            reload();
+        } else {
+            log.warn("未配置 jwt.keys.dir，{} 签名密钥只保存在内存中：重启后已签发的Token失效，多节点部署时其他节点无法验证", 
+                    algorithmName);
+        }
+        if (active() == null) {
+            rotate();
+        } else {
+            prune();
+        }
+        log.info("JWT密钥环已加载, algorithm: {}, activeKid: {}, keys: {}",
+                algorithmName, snapshot.activeKid(), snapshot.keys().size());
+    }
+
+    /**
+     * 获取当前签发用的密钥
+     *
+     * @return 当前密钥
+     */
+    public SigningKey active() {
+        Snapshot current = snapshot;
+        return current.activeKid() == null ? null : current.keys().get(current.activeKid());
+    }
+
+    /**
+     * 按 kid 获取验证用的公钥
+     *
+     * @param kid 密钥ID
+     * @return 公钥，未知的 kid 返回null
+     */
+    public PublicKey verificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = snapshot.keys().get(kid);
+        if (key == null && directory != null && System.nanoTime() - reloadedAt > RELOAD_INTERVAL_NANOS) {
+            synchronized (this) {
+                if (System.nanoTime() - reloadedAt > RELOAD_INTERVAL_NANOS) {
+                    reload();
+                }
+            }
+            key = snapshot.keys().get(kid);
+        }
+        return key == null ? null : key.publicKey();
+    }
+
+    /**
+     * 轮换密钥
+     * 生成新密钥作为当前密钥，原密钥停止签发，保留到其签发的Token全部过期
+     *
+     * @return 新密钥的ID
+     */
+    public synchronized String rotate() {
+        reload();
+        SignatureAlgorithm algorithm = signatureAlgorithm();
+        KeyPair pair = "EdDSA".equals(algorithm.getId())
+                ? Jwks.CRV.Ed25519.keyPair().build()
+                : algorithm.keyPair().build();
+        SigningKey previous = active();
+        SigningKey created = new SigningKey(UUID.randomUUID().toString(), algorithm, pair.getPrivate(),
+                pair.getPublic(), Instant.now(), null);
+        save(created);
+        if (previous != null) {
+            save(previous.retire(created.createdAt()));
+        }
+        Map<String, SigningKey> keys = new HashMap<>(snapshot.keys());
+        keys.put(created.kid(), created);
+        snapshot = normalize(keys);
+        log.info("JWT签名密钥已轮换, algorithm: {}, kid: {}, previousKid: {}",
+                algorithm.getId(), created.kid(), previous == null ? null : previous.kid());
+        prune();
+        return created.kid();
+    }
+
+    /**
+     * 定时维护密钥环：到期自动轮换，移除已无有效Token的退役密钥
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.maintenance-interval-ms:3600000}")
+    public synchronized void maintain() {
+        if (!isEnabled()) {
+            return;
+        }
+        reload();
+        SigningKey active = active();
+        if (active != null && !rotationInterval.isZero()
+                && active.createdAt().plus(rotationInterval).isBefore(Instant.now())) {
+            rotate();
+        } else {
+            prune();
+        }
+    }
+
+    /**
+     * 定时重新读取密钥目录，及时改用其他节点轮换出的新密钥签发
+     * 间隔远小于Token有效期，旧密钥签发的Token在其文件被移除之前全部过期
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:30000}")
+    public synchronized void refresh() {
+        if (isEnabled()) {
+            reload();
+        }
+    }
+
+    /**
+     * 生成公钥集合（JWKS）
+     * 包含当前密钥和仍在保留期内的退役密钥
+     *
+     * @return JWKS文档
+     */
+    public Map<String, Object> jwks() {
+        List<Jwk<?>> keys = new ArrayList<>();
+        for (SigningKey key : snapshot.keys().values()) {
+            keys.add(Jwks.builder().key(key.publicKey()).id(key.kid()).algorithm(key.algorithm().getId()).build());
+        }
+        return Map.of("keys", keys);
+    }
+
+    /**
+     * 重新读取密钥目录，以目录中的文件替换内存中的密钥环
+     * 其他节点已移除的密钥随之移除，读取过程中不写任何文件
+     */
+    private synchronized void reload() {
+        if (directory == null) {
+            return;
+        }
+        reloadedAt = System.nanoTime();
+        Map<String, SigningKey> keys = new HashMap<>();
+        try {
+            for (SigningKey loaded : load()) {
+                keys.put(loaded.kid(), loaded);
+            }
+        } catch (IOException e) {
+            log.warn("读取JWT密钥目录失败, dir: {}, error: {}", directory, e.getMessage());
+            return;
+        }
+        snapshot = normalize(keys);
+    }
+
+    /**
+     * 确定当前密钥：配置的算法下最新的未退役密钥。
+     * 其余未退役的密钥（旧密钥、其他算法的密钥）按当前密钥的创建时间退役，只在内存中标记，
+     * 各节点由同一组文件得出相同的退役时间
+     */
+    private Snapshot normalize(Map<String, SigningKey> keys) {
+        String algorithmId = signatureAlgorithm().getId();
+        SigningKey active = keys.values().stream()
+                .filter(key -> key.retiredAt() == null && key.algorithm().getId().equals(algorithmId))
+                .max(Comparator.comparing(SigningKey::createdAt))
+                .orElse(null);
+        Instant retiredAt = active == null ? Instant.now() : active.createdAt();
+        for (SigningKey key : List.copyOf(keys.values())) {
+            if (key.retiredAt() == null && key != active) {
+                keys.put(key.kid(), key.retire(retiredAt));
+            }
+        }
+        return new Snapshot(Map.copyOf(keys), active == null ? null : active.kid());
+    }
+
+    /**
+     * 移除已过保留期的退役密钥
+     * 保留期为Token有效期加上重新读取间隔：其他节点在下次读取目录之前仍可能用退役密钥签发
+     */
+    private synchronized void prune() {
+        Instant cutoff = Instant.now().minus(tokenLifetime).minus(reloadInterval);
+        Map<String, SigningKey> keys = new HashMap<>(snapshot.keys());
+        boolean removed = keys.values().removeIf(key -> {
+            if (key.retiredAt() == null || key.retiredAt().isAfter(cutoff)) {
+                return false;
+            }
+            delete(key);
+            log.info("JWT退役密钥已移除, kid: {}, retiredAt: {}", key.kid(), key.retiredAt());
+            return true;
+        });
+        if (removed) {
+            snapshot = new Snapshot(Map.copyOf(keys), snapshot.activeKid());
+        }
+    }
+
+    private SignatureAlgorithm signatureAlgorithm() {
+        return switch (algorithmName.toUpperCase(Locale.ROOT)) {
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EDDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalStateException("不支持的JWT签名算法: " + algorithmName + "（支持 HS256、ES256、EdDSA）");
+        };
+    }
+
+    private List<SigningKey> load() throws IOException {
+        List<SigningKey> keys = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + KEY_FILE_SUFFIX)) {
+            for (Path file : files) {
+                restrictPermissions(file);
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                    SignatureAlgorithm algorithm = (SignatureAlgorithm) Jwts.SIG.get().forKey(properties.getProperty("algorithm"));
+                    KeyFactory factory = KeyFactory.getInstance(properties.getProperty("keyAlgorithm"));
+                    String retiredAt = properties.getProperty("retiredAt");
+                    keys.add(new SigningKey(properties.getProperty("kid"), algorithm,
+                            factory.generatePrivate(new PKCS8EncodedKeySpec(
+                                    Base64.getDecoder().decode(properties.getProperty("privateKey")))),
+                            factory.generatePublic(new X509EncodedKeySpec(
+                                    Base64.getDecoder().decode(properties.getProperty("publicKey")))),
+                            Instant.parse(properties.getProperty("createdAt")),
+                            retiredAt == null ? null : Instant.parse(retiredAt)));
+                } catch (GeneralSecurityException | RuntimeException e) {
+                    log.error("JWT密钥文件无法解析，已跳过: {}", file, e);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private void save(SigningKey key) {
+        if (directory == null) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("kid", key.kid());
+        properties.setProperty("algorithm", key.algorithm().getId());
+        properties.setProperty("keyAlgorithm", key.privateKey().getAlgorithm());
+        properties.setProperty("privateKey", Base64.getEncoder().encodeToString(key.privateKey().getEncoded()));
+        properties.setProperty("publicKey", Base64.getEncoder().encodeToString(key.publicKey().getEncoded()));
+        properties.setProperty("createdAt", key.createdAt().toString());
+        if (key.retiredAt() != null) {
+            properties.setProperty("retiredAt", key.retiredAt().toString());
+        }
+        Path file = directory.resolve(key.kid() + KEY_FILE_SUFFIX);
+        Path temp = directory.resolve(key.kid() + KEY_FILE_SUFFIX + ".tmp");
+        try {
+            // 先以 0600 创建临时文件再写入私钥，写入过程中其他用户也无法读取
+            Files.deleteIfExists(temp);
+            if (isPosix(directory)) {
+                Files.createFile(temp, PosixFilePermissions.asFileAttribute(KEY_FILE_PERMISSIONS));
+            }
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "FusionOrder JWT signing key");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT密钥保存失败: " + file, e);
+        }
+    }
+
+    /**
+     * 收紧旧版本以默认权限写入的密钥文件
+     */
+    private void restrictPermissions(Path file) {
+        if (!isPosix(directory)) {
+            return;
+        }
+        try {
+            if (!Files.getPosixFilePermissions(file).equals(KEY_FILE_PERMISSIONS)) {
+                Files.setPosixFilePermissions(file, KEY_FILE_PERMISSIONS);
+                log.info("JWT密钥文件权限已收紧为0600: {}", file);
+            }
+        } catch (IOException e) {
+            log.warn("JWT密钥文件权限无法修改, file: {}, error: {}", file, e.getMessage());
+        }
+    }
+
+    private static boolean isPosix(Path path) {
+        return path != null && path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+    private void delete(SigningKey key) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(key.kid() + KEY_FILE_SUFFIX));
+        } catch (IOException e) {
+            log.warn("JWT退役密钥文件删除失败, kid: {}, error: {}", key.kid(), e.getMessage());
+        }
+    }
+
+    /**
+     * 签名密钥
+     *
+     * @param kid 密钥ID，写入Token头部
+     * @param algorithm 签名算法
+     * @param privateKey 私钥
+     * @param publicKey 公钥
+     * @param createdAt 创建时间
+     * @param retiredAt 退役时间，当前密钥为空
+     */
+    public record SigningKey(String kid, SignatureAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey,
+                             Instant createdAt, Instant retiredAt) {
+
+        /**
+         * 生成退役后的密钥
+         *
+         * @param at 退役时间
+         * @return 退役后的密钥
+         */
+        SigningKey retire(Instant at) {
+            return new SigningKey(kid, algorithm, privateKey, publicKey, createdAt, at);
+        }
+    }
+
+    /**
+     * 密钥环快照
+     *
+     * @param keys 密钥ID到密钥的映射
+     * @param activeKid 当前密钥ID
+     */
+    private record Snapshot(Map<String, SigningKey> keys, String activeKid) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.fusionorder.util;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * 已验证的JWT身份
+ * Token验签、解析一次后得到的不可变结果，作为认证主体保存在Spring Security上下文中
+ *
+ * @param username 用户名
+ * @param role 用户角色
+ * @param tokenId Token唯一ID（jti），用于单个Token的吊销
+ * @param issuedAt Token签发时间（精确到秒）
+ * @param expiresAt Token过期时间
+ * @author FusionOrder Team
+ */
+public record JwtPrincipal(String username, String role, String tokenId, Instant issuedAt, Instant expiresAt)
+        implements Principal {
+
+    /**
+     * 获取用户名，Authentication.getName() 返回该值
+     *
+     * @return 用户名
+     */
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,19 +1,34 @@
 package com.fusionorder.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JweHeader;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * JWT工具类
- * 提供JWT Token的生成、解析、验证等功能
+ * 提供JWT Token的生成、解析、验证等功能。
+ * 使用ES256、EdDSA时由 {@link JwtKeyring} 提供签名密钥，Token头部带 kid，验证时按 kid 取公钥；
+ * 使用HS256时以 jwt.secret 签名和验证
  * 
  * @author FusionOrder Team
  */
@@ -33,16 +48,50 @@ public class JwtUtil {
     private Long expiration;
 
     /**
-     * 获取签名密钥
+     * 非对称签名密钥环
+     */
+    @Autowired
+    private JwtKeyring keyring;
+
+    /**
+     * HMAC签名密钥，启动时构建一次，使用密钥环时为空
+     */
+    private SecretKey signingKey;
+
+    /**
+     * Token解析器，线程安全，启动时构建一次
+     */
+    private JwtParser parser;
+
+    /**
+     * 构建签名密钥和解析器
+     * 每次调用时重新构建密钥和解析器的开销远大于验签本身
+     */
+    @PostConstruct
+    public void init() {
+        if (keyring.isEnabled()) {
+            parser = Jwts.parser()
+                    .keyLocator(new KeyringLocator())  // 按Token头部的kid选择公钥
+                    .build();
+            return;
+        }
+        signingKey = buildSigningKey();
+        parser = Jwts.parser()
+                .verifyWith(signingKey)  // 使用密钥验证签名
+                .build();
+    }
+
+    /**
+     * 构建签名密钥
      * 用于签名和验证JWT Token
      * 
      * @return SecretKey签名密钥
      */
-    private SecretKey getSigningKey() {
+    private SecretKey buildSigningKey() {
         // 确保密钥长度至少为256位（32字节）
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
-            // 如果密钥太短，使用HS256算法推荐的密钥生成方式
+            // 如果密钥太短，使用HS256算法推荐的密钥生成方式（进程内随机密钥，重启后已签发的Token失效）
             // 注意：生产环境应使用足够长的密钥
             return Jwts.SIG.HS256.key().build();
         }
@@ -60,13 +109,35 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())  // 设置Token唯一ID，用于吊销
                 .subject(username)  // 设置主题（用户名）
                 .claim("role", role)  // 添加自定义声明（角色）
                 .issuedAt(now)  // 设置签发时间
-                .expiration(expiryDate)  // 设置过期时间
-                .signWith(getSigningKey())  // 使用密钥签名
-                .compact();  // 生成最终的Token字符串
+                .expiration(expiryDate);  // 设置过期时间
+        if (keyring.isEnabled()) {
+            JwtKeyring.SigningKey key = keyring.active();
+            builder.header().keyId(key.kid()).and()  // 头部写入密钥ID
+                    .signWith(key.privateKey(), key.algorithm());  // 使用当前私钥签名
+        } else {
+            builder.signWith(signingKey);  // 使用密钥签名
+        }
+        return builder.compact();  // 生成最终的Token字符串
+    }
+
+    /**
+     * 验证并解析Token
+     * 一次验签、解析得到全部身份信息，签名错误、格式错误或已过期时抛出异常
+     * 
+     * @param token JWT Token
+     * @return 已验证的身份
+     * @throws JwtException Token无效或已过期时抛出
+     * @throws IllegalArgumentException Token为空时抛出
+     */
+    public JwtPrincipal parseToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        return new JwtPrincipal(claims.getSubject(), claims.get("role", String.class), claims.getId(),
+                claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant());
     }
 
     /**
@@ -114,14 +185,13 @@ public class JwtUtil {
 
     /**
      * 从Token中解析所有声明信息
+     * 解析器在验签的同时校验过期时间
      * 
      * @param token JWT Token
      * @return Claims声明对象
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())  // 使用密钥验证签名
-                .build()
+        return parser
                 .parseSignedClaims(token)  // 解析签名后的Token
                 .getPayload();  // 获取有效载荷（Claims）
     }
@@ -131,6 +201,7 @@ public class JwtUtil {
      * 
      * @param token JWT Token
      * @return true表示已过期，false表示未过期
+     * @throws JwtException Token签名或格式无效时抛出（已过期的Token同样在解析时抛出）
      */
     public Boolean isTokenExpired(String token) {
         final Date expiration = getExpirationDateFromToken(token);
@@ -139,15 +210,38 @@ public class JwtUtil {
 
     /**
      * 验证Token是否有效
-     * 检查Token中的用户名是否匹配，且Token未过期
+     * 检查Token中的用户名是否匹配，且Token未过期；只解析一次
      * 
      * @param token JWT Token
      * @param username 要验证的用户名
      * @return true表示Token有效，false表示Token无效
      */
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = getUsernameFromToken(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        try {
+            JwtPrincipal principal = parseToken(token);
+            return principal.username().equals(username) && principal.expiresAt().isAfter(Instant.now());
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
-}
 
+    /**
+     * 按 kid 从密钥环中取验证公钥，没有 kid 或 kid 未知的Token直接拒绝
+     */
+    private class KeyringLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            PublicKey key = keyring.verificationKey(header.getKeyId());
+            if (key == null) {
+                throw new UnsupportedJwtException("未知的JWT签名密钥: " + header.getKeyId());
+            }
+            return key;
+        }
+
+        @Override
+        protected Key locate(JweHeader header) {
+            throw new UnsupportedJwtException("不支持加密的JWT");
+        }
+    }
+}
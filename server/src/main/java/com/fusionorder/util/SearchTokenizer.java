@@ -0,0 +1,171 @@
+package com.fusionorder.util;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 搜索分词工具类
+ * 中日韩文字按单字和二元组（bigram）切分，其他字母数字按单词切分并生成短前缀和三元组（trigram），
+ * 使"包含"语义的搜索（如 phone 命中 iPhone）可以通过倒排索引完成而不需要全表扫描。
+ * 词项只用于召回候选，最终是否包含查询词由调用方按 {@link #queryWords(String)} 校验
+ *
+ * @author FusionOrder Team
+ */
+public final class SearchTokenizer {
+
+    /**
+     * 字母数字单词的 n-gram 长度，不短于该长度的查询词按 n-gram 匹配单词任意位置
+     */
+    public static final int NGRAM_LENGTH = 3;
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * 生成用于建立索引的词项及其出现次数
+     *
+     * @param text 原始文本
+     * @return 词项到出现次数的映射
+     */
+    public static Map<String, Integer> indexTokens(String text) {
+        Map<String, Integer> tokens = new HashMap<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = normalize(text);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int end = runEnd(normalized, i, true);
+                addCjkIndexTokens(normalized.substring(i, end), tokens);
+                i = end;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int end = runEnd(normalized, i, false);
+                addWordIndexTokens(normalized.substring(i, end), tokens);
+                i = end;
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 生成查询词项，文档必须包含全部词项才算候选
+     * 不短于 {@link #NGRAM_LENGTH} 的单词拆成三元组，更短的单词按单词前缀匹配
+     *
+     * @param query 查询文本
+     * @return 查询词项集合
+     */
+    public static Set<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : queryWords(query)) {
+            int[] codePoints = word.codePoints().toArray();
+            if (isCjk(codePoints[0])) {
+                if (codePoints.length == 1) {
+                    tokens.add(word);
+                } else {
+                    for (int c = 0; c + 1 < codePoints.length; c++) {
+                        tokens.add(new String(codePoints, c, 2));
+                    }
+                }
+            } else if (codePoints.length < NGRAM_LENGTH) {
+                tokens.add(word);
+            } else {
+                for (int c = 0; c + NGRAM_LENGTH <= codePoints.length; c++) {
+                    tokens.add(new String(codePoints, c, NGRAM_LENGTH));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 把查询文本切分为规范化后的单词（连续的中日韩文字或连续的字母数字）
+     * 词项交集可能把分散在不同位置的 n-gram 误判为命中，调用方用这些单词对候选文本做包含校验
+     *
+     * @param query 查询文本
+     * @return 查询单词列表
+     */
+    public static List<String> queryWords(String query) {
+        List<String> words = new ArrayList<>();
+        if (query == null || query.isEmpty()) {
+            return words;
+        }
+        String normalized = normalize(query);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = normalized.codePointAt(i);
+            if (isCjk(codePoint) || Character.isLetterOrDigit(codePoint)) {
+                int end = runEnd(normalized, i, isCjk(codePoint));
+                words.add(normalized.substring(i, end));
+                i = end;
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 统一全角半角、大小写
+     *
+     * @param text 原始文本
+     * @return 规范化后的文本
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static void addCjkIndexTokens(String run, Map<String, Integer> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        for (int c = 0; c < codePoints.length; c++) {
+            tokens.merge(new String(codePoints, c, 1), 1, Integer::sum);
+            if (c + 1 < codePoints.length) {
+                tokens.merge(new String(codePoints, c, 2), 1, Integer::sum);
+            }
+        }
+    }
+
+    private static void addWordIndexTokens(String word, Map<String, Integer> tokens) {
+        int[] codePoints = word.codePoints().toArray();
+        // 短前缀服务于一两个字符的查询，三元组覆盖单词任意位置的子串
+        int prefixLimit = Math.min(codePoints.length, NGRAM_LENGTH - 1);
+        for (int p = 1; p <= prefixLimit; p++) {
+            tokens.merge(new String(codePoints, 0, p), 1, Integer::sum);
+        }
+        for (int c = 0; c + NGRAM_LENGTH <= codePoints.length; c++) {
+            tokens.merge(new String(codePoints, c, NGRAM_LENGTH), 1, Integer::sum);
+        }
+    }
+
+    private static int runEnd(String text, int start, boolean cjk) {
+        int i = start;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            boolean matches = cjk ? isCjk(codePoint) : (Character.isLetterOrDigit(codePoint) && !isCjk(codePoint));
+            if (!matches) {
+                break;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return i;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
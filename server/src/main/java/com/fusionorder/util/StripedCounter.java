@@ -0,0 +1,126 @@
+package com.fusionorder.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段计数器
+ * 数量分散在多个分段中，每个线程优先在自己的分段上CAS扣减，本分段不足时依次尝试其他分段；
+ * 大量线程同时扣减同一计数器时竞争分散到各分段，不会集中在一个原子变量上。
+ * 各分段按缓存行间隔存放，避免伪共享
+ *
+ * @author FusionOrder Team
+ */
+public class StripedCounter {
+
+    /**
+     * 相邻分段的间隔（long个数），8个long为64字节，即一个缓存行
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * 分段数据，第 i 个分段位于下标 i * PADDING
+     */
+    private final AtomicLongArray cells;
+
+    /**
+     * 分段数减一，分段数为2的幂
+     */
+    private final int mask;
+
+    /**
+     * 构造函数
+     *
+     * @param stripes 分段数，向上取整为2的幂
+     */
+    public StripedCounter(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.cells = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+    }
+
+    /**
+     * 尝试扣减指定数量
+     * 单个分段的余量不足时不会跨分段拼凑，调用方可以 drain 后合并余量再重试
+     *
+     * @param amount 扣减数量
+     * @return true表示扣减成功
+     */
+    public boolean tryAcquire(long amount) {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int index = ((home + i) & mask) * PADDING;
+            long current;
+            while ((current = cells.get(index)) >= amount) {
+                if (cells.compareAndSet(index, current, current - amount)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 增加数量，加到当前线程的分段上
+     *
+     * @param amount 增加的数量
+     */
+    public void add(long amount) {
+        if (amount != 0) {
+            cells.getAndAdd(home() * PADDING, amount);
+        }
+    }
+
+    /**
+     * 增加数量，平均分到各分段上，不能整除的部分从当前线程的分段开始各加1
+     * 用于领取或归还的整批库存，使之后各线程都能在自己的分段上扣减，而不是集中到同一个分段
+     *
+     * @param amount 增加的数量
+     */
+    public void addSpread(long amount) {
+        if (amount == 0) {
+            return;
+        }
+        int stripes = mask + 1;
+        long share = amount / stripes;
+        long rest = amount % stripes;
+        int home = home();
+        for (int i = 0; i < stripes; i++) {
+            long delta = share + (i < Math.abs(rest) ? Long.signum(rest) : 0);
+            if (delta != 0) {
+                cells.getAndAdd(((home + i) & mask) * PADDING, delta);
+            }
+        }
+    }
+
+    /**
+     * 取出全部余量，各分段清零
+     *
+     * @return 取出的数量
+     */
+    public long drain() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.getAndSet(i * PADDING, 0L);
+        }
+        return total;
+    }
+
+    /**
+     * 获取当前余量，并发修改时为近似值
+     *
+     * @return 各分段之和
+     */
+    public long sum() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    @SuppressWarnings("deprecation")
+    private int home() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+}
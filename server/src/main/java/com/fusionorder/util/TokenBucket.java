@@ -0,0 +1,63 @@
+package com.fusionorder.util;
+
+/**
+ * 令牌桶
+ * 以固定速率补充令牌，容量即允许的突发请求数；每个客户端一个桶，只在自己的桶上加锁
+ *
+ * @author FusionOrder Team
+ */
+public class TokenBucket {
+
+    /**
+     * 桶容量
+     */
+    private final double capacity;
+
+    /**
+     * 每纳秒补充的令牌数
+     */
+    private final double tokensPerNano;
+
+    /**
+     * 当前令牌数
+     */
+    private double tokens;
+
+    /**
+     * 上次补充令牌的时间（纳秒）
+     */
+    private long refilledAt;
+
+    /**
+     * 构造函数，新桶是满的
+     *
+     * @param capacity 桶容量
+     * @param refillPerSecond 每秒补充的令牌数
+     * @param now 当前时间（纳秒）
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity和refillPerSecond必须大于0");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * 尝试取走一个令牌
+     *
+     * @param now 当前时间（纳秒）
+     * @return 0表示取得令牌；否则为还需等待的纳秒数
+     */
+    public synchronized long tryConsume(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return 0L;
+        }
+        return Math.max(1L, (long) Math.ceil((1d - tokens) / tokensPerNano));
+    }
+}
@@ -0,0 +1,126 @@
+package com.fusionorder.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 主键生成策略的批量插入基准测试
+ * 对比自增主键（IDENTITY，Hibernate 无法批量INSERT）与表生成器（pooled-lo，插入前已知主键，可以批量）
+ * 在同一事务中保存一批实体的耗时；使用H2内存库，不含网络往返，远程数据库上差距更大
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    /**
+     * 每次操作保存的实体数
+     */
+    private static final int ROWS = 1000;
+
+    @Param({"identity", "pooled"})
+    public String strategy;
+
+    private StandardServiceRegistry registry;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:ids-" + strategy + ";DB_CLOSE_DELAY=-1")
+                .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+                .applySetting("hibernate.jdbc.batch_size", "50")
+                .applySetting("hibernate.order_inserts", "true")
+                .applySetting("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .applySetting("hibernate.id.generator.stored_last_used", "false")
+                .build();
+        Class<?> entity = "identity".equals(strategy) ? IdentityRow.class : PooledRow.class;
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(entity).buildMetadata().buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public void insertBatch() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                session.persist("identity".equals(strategy) ? new IdentityRow("row" + i) : new PooledRow("row" + i));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    /**
+     * 自增主键实体
+     */
+    @Entity
+    public static class IdentityRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String name;
+
+        protected IdentityRow() {
+        }
+
+        IdentityRow(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * 表生成器主键实体，配置与业务实体相同
+     */
+    @Entity
+    public static class PooledRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_rows")
+        @TableGenerator(name = "pooled_rows", table = "id_allocations", pkColumnName = "name",
+                valueColumnName = "next_val", pkColumnValue = "pooled_rows", allocationSize = 100)
+        private Long id;
+
+        private String name;
+
+        protected PooledRow() {
+        }
+
+        PooledRow(String name) {
+            this.name = name;
+        }
+    }
+}
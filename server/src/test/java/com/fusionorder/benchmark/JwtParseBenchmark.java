@@ -0,0 +1,93 @@
+package com.fusionorder.benchmark;
+
+import com.fusionorder.util.JwtKeyring;
+import com.fusionorder.util.JwtPrincipal;
+import com.fusionorder.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT验证基准测试
+ * 对比改造前每次调用重新构建密钥和解析器、每个请求解析四次Token，
+ * 与启动时构建一次解析器、每个请求只解析一次（HS256 与 ES256）的单次请求耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "fusionOrderSecretKey2024SecureKeyForJWTTokenGenerationMinimum256BitsRequired";
+
+    private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(15);
+
+    private JwtUtil hmac;
+
+    private JwtUtil ecdsa;
+
+    private String hmacToken;
+
+    private String ecdsaToken;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        hmac = jwtUtil("HS256");
+        ecdsa = jwtUtil("ES256");
+        hmacToken = hmac.generateToken("benchmark", "USER");
+        ecdsaToken = ecdsa.generateToken("benchmark", "USER");
+    }
+
+    /**
+     * 改造前：过滤器取用户名、校验、取角色、取过期时间共解析四次，每次都重新构建密钥和解析器
+     */
+    @Benchmark
+    public void rebuiltParserFourTimes(Blackhole blackhole) {
+        for (int i = 0; i < 4; i++) {
+            SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+            Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(hmacToken).getPayload();
+            blackhole.consume(claims);
+        }
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedParserOnceHs256() {
+        return hmac.parseToken(hmacToken);
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedParserOnceEs256() {
+        return ecdsa.parseToken(ecdsaToken);
+    }
+
+    private static JwtUtil jwtUtil(String algorithm) throws IOException {
+        JwtKeyring keyring = new JwtKeyring(algorithm, "", EXPIRATION, 0, 30_000);
+        keyring.init();
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "keyring", keyring);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
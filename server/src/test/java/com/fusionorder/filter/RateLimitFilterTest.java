@@ -0,0 +1,58 @@
+package com.fusionorder.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RateLimitFilter 单元测试
+ * 覆盖按 X-Forwarded-For 识别客户端时不采用客户端可伪造的地址
+ */
+class RateLimitFilterTest {
+
+    @Test
+    void spoofedLeftmostForwardedAddressDoesNotEscapeLimit() throws Exception {
+        RateLimitFilter filter = filter(List.of());
+
+        assertThat(send(filter, "1.1.1.1, 203.0.113.7")).isEqualTo(200);
+        assertThat(send(filter, "2.2.2.2, 203.0.113.7")).isEqualTo(429);
+    }
+
+    @Test
+    void trustedProxiesAreSkippedFromTheRight() throws Exception {
+        RateLimitFilter filter = filter(List.of("10.0.0.0/8"));
+
+        assertThat(send(filter, "1.1.1.1, 203.0.113.7, 10.0.0.2")).isEqualTo(200);
+        assertThat(send(filter, "2.2.2.2, 203.0.113.7, 10.0.0.3")).isEqualTo(429);
+        assertThat(send(filter, "203.0.113.8, 10.0.0.2")).isEqualTo(200);
+    }
+
+    private RateLimitFilter filter(List<String> trustedProxies) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("test");
+        route.setPattern("/**");
+        route.setCapacity(1);
+        route.setRefillPerSecond(0.001);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustForwardedFor(true);
+        properties.setTrustedProxies(trustedProxies);
+        properties.setRoutes(List.of(route));
+        return new RateLimitFilter(properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private int send(RateLimitFilter filter, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
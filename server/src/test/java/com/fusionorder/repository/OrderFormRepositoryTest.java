@@ -0,0 +1,120 @@
+package com.fusionorder.repository;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderFormRepository 语句数测试
+ * 订单列表的查询语句数必须与订单数量无关，关联产品不能逐条加载；
+ * 每个订单关联不同的产品，关联未在查询中抓取时按批加载也会多出语句，测试可以发现
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class OrderFormRepositoryTest {
+
+    @Autowired
+    private OrderFormRepository orderFormRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 40})
+    void findAllLoadsProductsInOneStatement(int orders) {
+        persistOrders(orders);
+
+        List<OrderFormDTO> result = orderFormRepository.findAll().stream().map(OrderFormDTO::fromEntity).toList();
+
+        assertThat(result).hasSize(orders).allSatisfy(order -> assertThat(order.getProductName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 40})
+    void findByStatusLoadsProductsInOneStatement(int orders) {
+        persistOrders(orders);
+
+        List<OrderFormDTO> result = orderFormRepository.findByStatus(OrderForm.OrderStatus.PENDING).stream()
+                .map(OrderFormDTO::fromEntity).toList();
+
+        assertThat(result).hasSize(orders).allSatisfy(order -> assertThat(order.getProductName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 40})
+    void summariesAreOneStatement(int orders) {
+        persistOrders(orders);
+
+        List<OrderFormSummaryDTO> result = orderFormRepository.findAllSummaries();
+
+        assertThat(result).hasSize(orders).allSatisfy(order -> assertThat(order.getProductName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void detailLoadsProductWithOrder() {
+        Long id = persistOrders(1).get(0).getId();
+
+        OrderForm order = orderFormRepository.findWithProductById(id).orElseThrow();
+
+        assertThat(OrderFormDTO.fromEntity(order).getProductName()).isEqualTo("产品0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * 每个订单关联不同的产品，写入后清空持久化上下文和统计，只统计后续查询
+     */
+    private List<OrderForm> persistOrders(int count) {
+        List<OrderForm> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("产品" + i);
+            product.setCategory("分类");
+            product.setPrice(new BigDecimal("9.90"));
+            entityManager.persist(product);
+            OrderForm order = new OrderForm();
+            order.setProduct(product);
+            order.setQuantity(1);
+            order.setContactName("联系人");
+            order.setContactPhone("13800000000");
+            order.setStatus(OrderForm.OrderStatus.PENDING);
+            orders.add(entityManager.persist(order));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return orders;
+    }
+}
@@ -0,0 +1,129 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.repository.ResourceVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CatalogVersion 单元测试
+ * 覆盖写操作与并发读交错时，ETag使用的版本号始终与本节点缓存返回的内容对应
+ */
+class CatalogVersionTest {
+
+    private final ResourceVersionRepository repository = mock(ResourceVersionRepository.class);
+
+    private final ProductSearchIndex searchIndex = mock(ProductSearchIndex.class);
+
+    private final ProductCache cache = new ProductCache(100, 10, 600);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void localWriteIsPublishedOnlyAfterEviction() {
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(5L));
+        CatalogVersion catalogVersion = newCatalogVersion();
+        cache.getAll(() -> List.of(product("旧名称")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // 此时数据库已提交新版本，但本地缓存尚未失效
+                assertThat(catalogVersion.current()).isEqualTo(5L);
+                cache.evict(1L, "分类");
+            }
+        });
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(6L));
+        catalogVersion.bump();
+
+        // 提交前并发读：仍是旧版本号和旧内容
+        assertThat(catalogVersion.current()).isEqualTo(5L);
+        assertThat(cache.getAll(() -> List.of(product("新名称"))).get(0).getName()).isEqualTo("旧名称");
+
+        commit();
+
+        assertThat(catalogVersion.current()).isEqualTo(6L);
+        assertThat(cache.getAll(() -> List.of(product("新名称"))).get(0).getName()).isEqualTo("新名称");
+        verify(repository).increment(CatalogVersion.NAME);
+    }
+
+    @Test
+    void remoteWriteIsPublishedOnlyAfterLocalSync() {
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(5L));
+        CatalogVersion catalogVersion = newCatalogVersion();
+        cache.getAll(() -> List.of(product("旧名称")));
+
+        // 其他节点提交了写操作，本节点同步之前继续以旧版本号返回旧内容
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(7L));
+        assertThat(catalogVersion.current()).isEqualTo(5L);
+        assertThat(cache.getAll(() -> List.of(product("新名称"))).get(0).getName()).isEqualTo("旧名称");
+
+        catalogVersion.refresh();
+
+        verify(searchIndex).rebuild();
+        assertThat(catalogVersion.current()).isEqualTo(7L);
+        assertThat(cache.getAll(() -> List.of(product("新名称"))).get(0).getName()).isEqualTo("新名称");
+    }
+
+    @Test
+    void localWriteAfterUnsyncedRemoteWriteWaitsForSync() {
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(5L));
+        CatalogVersion catalogVersion = newCatalogVersion();
+
+        // 版本6来自尚未同步的其他节点，本节点的写操作得到版本7
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(7L));
+        catalogVersion.bump();
+
+        assertThat(catalogVersion.current()).isEqualTo(5L);
+        catalogVersion.refresh();
+        assertThat(catalogVersion.current()).isEqualTo(7L);
+    }
+
+    @Test
+    void refreshWithoutChangesDoesNothing() {
+        when(repository.findVersion(CatalogVersion.NAME)).thenReturn(Optional.of(5L));
+        CatalogVersion catalogVersion = newCatalogVersion();
+
+        catalogVersion.refresh();
+
+        verify(searchIndex, never()).rebuild();
+        assertThat(catalogVersion.current()).isEqualTo(5L);
+    }
+
+    private CatalogVersion newCatalogVersion() {
+        CatalogVersion catalogVersion = new CatalogVersion(repository, cache, searchIndex);
+        catalogVersion.init();
+        return catalogVersion;
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static ProductDTO product(String name) {
+        ProductDTO product = new ProductDTO();
+        product.setId(1L);
+        product.setName(name);
+        product.setCategory("分类");
+        return product;
+    }
+}
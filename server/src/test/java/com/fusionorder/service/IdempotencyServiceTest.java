@@ -0,0 +1,105 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.exception.ConflictException;
+import com.fusionorder.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * IdempotencyService 单元测试
+ * 覆盖重放保存的响应、请求内容不一致、处理中的重复请求，以及执行失败后释放幂等键
+ */
+class IdempotencyServiceTest {
+
+    private final IdempotencyService service = new IdempotencyService(
+            new InMemoryIdempotencyStore(100, 86400), 86400, 60);
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void replayReturnsStoredResponseWithoutCallingAction() {
+        IdempotencyService.Outcome<OrderFormDTO> first = service.execute("orders", "key-1", "fp", OrderFormDTO.class,
+                () -> order(1L));
+        IdempotencyService.Outcome<OrderFormDTO> second = service.execute("orders", "key-1", "fp", OrderFormDTO.class,
+                () -> order(2L));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.response()).isSameAs(first.response());
+        assertThat(second.response().getId()).isEqualTo(1L);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void sameKeyWithDifferentFingerprintIsRejected() {
+        service.execute("orders", "key-1", "fp-1", OrderFormDTO.class, () -> order(1L));
+
+        assertThatThrownBy(() -> service.execute("orders", "key-1", "fp-2", OrderFormDTO.class, () -> order(2L)))
+                .isInstanceOf(ValidationException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keyInFlightIsRejectedWithConflict() {
+        service.execute("orders", "key-1", "fp", OrderFormDTO.class, () -> {
+            // 首次请求尚未完成时同一键再次到达
+            assertThatThrownBy(() -> service.execute("orders", "key-1", "fp", OrderFormDTO.class, () -> order(2L)))
+                    .isInstanceOf(ConflictException.class);
+            return order(1L);
+        });
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keyIsReleasedWhenActionThrows() {
+        assertThatThrownBy(() -> service.execute("orders", "key-1", "fp", OrderFormDTO.class, () -> {
+            throw new IllegalStateException("库存不足");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyService.Outcome<OrderFormDTO> retry = service.execute("orders", "key-1", "fp", OrderFormDTO.class,
+                () -> order(1L));
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void keysAreScopedAndOptional() {
+        service.execute("orders", "key-1", "fp", OrderFormDTO.class, () -> order(1L));
+        IdempotencyService.Outcome<OrderFormDTO> otherScope = service.execute("submissions", "key-1", "fp",
+                OrderFormDTO.class, () -> order(2L));
+        service.execute("orders", null, "fp", OrderFormDTO.class, () -> order(3L));
+        service.execute("orders", null, "fp", OrderFormDTO.class, () -> order(4L));
+
+        assertThat(otherScope.replayed()).isFalse();
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void malformedKeyIsRejected() {
+        assertThatThrownBy(() -> service.execute("orders", " ", "fp", OrderFormDTO.class, () -> order(1L)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.execute("orders", "k".repeat(129), "fp", OrderFormDTO.class, () -> order(1L)))
+                .isInstanceOf(ValidationException.class);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void fingerprintSeparatesFields() {
+        assertThat(IdempotencyService.fingerprint("ab", "c")).isNotEqualTo(IdempotencyService.fingerprint("a", "bc"));
+        assertThat(IdempotencyService.fingerprint(1L, null)).isEqualTo(IdempotencyService.fingerprint(1L, null));
+    }
+
+    private OrderFormDTO order(Long id) {
+        calls.incrementAndGet();
+        OrderFormDTO dto = new OrderFormDTO();
+        dto.setId(id);
+        return dto;
+    }
+}
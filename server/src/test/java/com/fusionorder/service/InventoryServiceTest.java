@@ -0,0 +1,137 @@
+package com.fusionorder.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * InventoryService 单元测试
+ * 覆盖热点产品按批次领取库存、设置库存后旧代次余量作废
+ */
+class InventoryServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+
+    private static final int LEASE_SIZE = 10;
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionManager = new DataSourceTransactionManager(database);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, stock INT, "
+                + "stock_generation BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.update("INSERT INTO products (id, stock) VALUES (?, ?)", PRODUCT_ID, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void reserveClaimsLeaseAndFlushReturnsSurplus() {
+        InventoryService node = newNode();
+
+        node.reserve(PRODUCT_ID, 3);
+
+        assertThat(databaseStock()).isEqualTo(100 - 3 - LEASE_SIZE);
+        assertThat(node.getStock(PRODUCT_ID)).isEqualTo(97);
+
+        node.flush();
+
+        assertThat(databaseStock()).isEqualTo(97);
+    }
+
+    @Test
+    void leaseIsAvailableBeforeCallerTransactionEnds() throws Exception {
+        InventoryService node = newNode();
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> caller = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    node.reserve(PRODUCT_ID, 1);
+                    reserved.countDown();
+                    await(release);
+                }));
+        try {
+            assertThat(reserved.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 领取事务已提交，其他请求直接从本地余量扣减，不等调用方事务结束
+            node.reserve(PRODUCT_ID, 1);
+
+            assertThat(databaseStock()).isEqualTo(100 - 1 - LEASE_SIZE);
+        } finally {
+            release.countDown();
+            caller.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void rolledBackReservationReturnsToLocalStock() {
+        InventoryService node = newNode();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            node.reserve(PRODUCT_ID, 4);
+            status.setRollbackOnly();
+        });
+
+        assertThat(node.getStock(PRODUCT_ID)).isEqualTo(100);
+        node.flush();
+        assertThat(databaseStock()).isEqualTo(100);
+    }
+
+    @Test
+    void setStockDiscardsLeasesOfAllNodes() {
+        InventoryService local = newNode();
+        InventoryService remote = newNode();
+        local.reserve(PRODUCT_ID, 1);
+        remote.reserve(PRODUCT_ID, 1);
+
+        local.setStock(PRODUCT_ID, 50);
+
+        assertThat(local.getStock(PRODUCT_ID)).isEqualTo(50);
+        remote.flush();
+        local.flush();
+        assertThat(databaseStock()).isEqualTo(50);
+
+        // 旧代次的余量作废后按新代次重新领取
+        remote.reserve(PRODUCT_ID, 5);
+        assertThat(databaseStock()).isEqualTo(50 - 5 - LEASE_SIZE);
+    }
+
+    private InventoryService newNode() {
+        return new InventoryService(jdbcTemplate, transactionManager, List.of(PRODUCT_ID), LEASE_SIZE, 4, 200);
+    }
+
+    private Integer databaseStock() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, PRODUCT_ID);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderArchiveService 单元测试
+ * 在 H2 的 MySQL 兼容模式下覆盖分批归档、终止条件和互斥执行，以及是否需要查询归档表的判断
+ */
+class OrderArchiveServiceTest {
+
+    private static final String COLUMNS = "id BIGINT PRIMARY KEY, intake_ref VARCHAR(64), product_id BIGINT NOT NULL, "
+            + "submission_id BIGINT, quantity INT NOT NULL, contact_name VARCHAR(50), contact_phone VARCHAR(20), "
+            + "contact_email VARCHAR(100), requirements TEXT, status VARCHAR(20) NOT NULL, version BIGINT NOT NULL, "
+            + "created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CountingTransactionTemplate transactionTemplate;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE order_forms (" + COLUMNS + ")");
+        jdbcTemplate.execute("CREATE TABLE order_forms_archive (" + COLUMNS + ", archived_at TIMESTAMP NOT NULL)");
+        transactionTemplate = new CountingTransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void archivesEligibleOrdersInBatchesUntilNoneRemain() {
+        LocalDateTime old = LocalDateTime.now().minusDays(120);
+        for (int i = 0; i < 25; i++) {
+            insert(i % 2 == 0 ? "COMPLETED" : "CANCELLED", old);
+        }
+        // 未结束的订单和保留期内更新过的订单留在在线表
+        insert("PENDING", old);
+        insert("PROCESSING", old);
+        insert("COMPLETED", LocalDateTime.now().minusDays(10));
+
+        int archived = newService(10).archive();
+
+        assertThat(archived).isEqualTo(25);
+        assertThat(transactionTemplate.batches).containsExactly(10, 10, 5);
+        assertThat(count("order_forms_archive")).isEqualTo(25);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM order_forms ORDER BY id", String.class))
+                .containsExactly("PENDING", "PROCESSING", "COMPLETED");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_forms_archive WHERE archived_at IS NOT NULL", Integer.class)).isEqualTo(25);
+    }
+
+    @Test
+    void exactMultipleOfBatchSizeStopsAfterEmptyBatch() {
+        LocalDateTime old = LocalDateTime.now().minusDays(120);
+        for (int i = 0; i < 20; i++) {
+            insert("COMPLETED", old);
+        }
+        OrderArchiveService service = newService(10);
+
+        assertThat(service.archive()).isEqualTo(20);
+        assertThat(transactionTemplate.batches).containsExactly(10, 10, 0);
+        assertThat(service.archive()).isZero();
+    }
+
+    @Test
+    void concurrentRunIsSkipped() {
+        insert("COMPLETED", LocalDateTime.now().minusDays(120));
+        OrderArchiveService service = newService(10);
+        List<Integer> nested = new ArrayList<>();
+        transactionTemplate.beforeBatch = () -> nested.add(service.archive());
+
+        assertThat(service.archive()).isEqualTo(1);
+        assertThat(nested).containsOnly(-1);
+    }
+
+    @Test
+    void includesArchiveOnlyWhenRangeReachesBeforeHorizon() {
+        OrderArchiveService service = newService(10);
+        LocalDateTime horizon = LocalDateTime.now().minusDays(90);
+
+        assertThat(service.includesArchive(query(null, null))).isFalse();
+        assertThat(service.includesArchive(query(null, horizon.plusDays(30)))).isTrue();
+        assertThat(service.includesArchive(query(horizon.minusDays(1), null))).isTrue();
+        assertThat(service.includesArchive(query(horizon.minusDays(1), horizon.plusDays(30)))).isTrue();
+        assertThat(service.includesArchive(query(horizon.plusDays(1), null))).isFalse();
+        assertThat(service.includesArchive(query(horizon.plusDays(1), LocalDateTime.now()))).isFalse();
+    }
+
+    private OrderArchiveService newService(int batchSize) {
+        return new OrderArchiveService(jdbcTemplate, transactionTemplate, true, 90, batchSize, 0);
+    }
+
+    private void insert(String status, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO order_forms (id, product_id, quantity, status, version, created_at, updated_at) "
+                + "VALUES (?, 1, 1, ?, 0, ?, ?)", nextId++, status, Timestamp.valueOf(updatedAt.minusDays(1)),
+                Timestamp.valueOf(updatedAt));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private static OrderQuery query(LocalDateTime from, LocalDateTime to) {
+        OrderQuery query = new OrderQuery();
+        query.setCreatedFrom(from);
+        query.setCreatedTo(to);
+        return query;
+    }
+
+    /**
+     * 记录每个批次事务归档的订单数
+     */
+    private static class CountingTransactionTemplate extends TransactionTemplate {
+
+        private final List<Integer> batches = new ArrayList<>();
+
+        private Supplier<Object> beforeBatch = () -> null;
+
+        CountingTransactionTemplate(DataSourceTransactionManager transactionManager) {
+            super(transactionManager);
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            beforeBatch.get();
+            T result = super.execute(action);
+            batches.add((Integer) result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.CursorPage;
+import com.fusionorder.dto.OrderFormSummaryDTO;
+import com.fusionorder.dto.OrderQuery;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.repository.OrderFormArchiveRepository;
+import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.ProductRepository;
+import com.fusionorder.util.CursorCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderFormService 单元测试
+ * 覆盖分页查询合并在线订单和归档订单时的排序、截断和游标
+ */
+class OrderFormServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final OrderFormRepository orderFormRepository = mock(OrderFormRepository.class);
+
+    private final OrderFormArchiveRepository archiveRepository = mock(OrderFormArchiveRepository.class);
+
+    private final OrderArchiveService archiveService = mock(OrderArchiveService.class);
+
+    private final OrderFormService service = new OrderFormService(orderFormRepository, mock(ProductRepository.class),
+            mock(OrderStatsService.class), archiveRepository, archiveService, mock(InventoryService.class));
+
+    @Test
+    void mergedPageIsOrderedByCreatedAtThenIdDescending() {
+        when(archiveService.includesArchive(any())).thenReturn(true);
+        when(orderFormRepository.findNewestSummaries(any(), anyInt())).thenReturn(List.of(
+                summary(9L, BASE.plusHours(5)), summary(7L, BASE.plusHours(3)), summary(4L, BASE.plusHours(1))));
+        when(archiveRepository.findNewestSummaries(any(), anyInt())).thenReturn(List.of(
+                summary(8L, BASE.plusHours(3)), summary(6L, BASE.plusHours(2)), summary(3L, BASE)));
+
+        CursorPage<OrderFormSummaryDTO> page = service.getOrderFormPage(query(BASE.minusDays(1)), null, 4);
+
+        assertThat(page.getItems()).extracting(OrderFormSummaryDTO::getId).containsExactly(9L, 8L, 7L, 6L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(CursorCodec.decode(page.getNextCursor())).isEqualTo(new CursorCodec.Cursor(BASE.plusHours(2), 6L));
+    }
+
+    @Test
+    void mergedPageWithoutMoreRowsHasNoCursor() {
+        when(archiveService.includesArchive(any())).thenReturn(true);
+        when(orderFormRepository.findNewestSummaries(any(), anyInt())).thenReturn(List.of(summary(5L, BASE.plusHours(1))));
+        when(archiveRepository.findNewestSummaries(any(), anyInt())).thenReturn(List.of(summary(2L, BASE)));
+
+        CursorPage<OrderFormSummaryDTO> page = service.getOrderFormPage(query(BASE.minusDays(1)), null, 4);
+
+        assertThat(page.getItems()).extracting(OrderFormSummaryDTO::getId).containsExactly(5L, 2L);
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void archiveIsNotQueriedOutsideArchiveRange() {
+        when(archiveService.includesArchive(any())).thenReturn(false);
+        when(orderFormRepository.findNewestSummaries(any(), anyInt())).thenReturn(List.of(summary(1L, BASE)));
+
+        CursorPage<OrderFormSummaryDTO> page = service.getOrderFormPage(new OrderQuery(), null, 4);
+
+        assertThat(page.getItems()).extracting(OrderFormSummaryDTO::getId).containsExactly(1L);
+        verify(archiveRepository, never()).findNewestSummaries(any(), anyInt());
+    }
+
+    private static OrderQuery query(LocalDateTime createdFrom) {
+        OrderQuery query = new OrderQuery();
+        query.setCreatedFrom(createdFrom);
+        return query;
+    }
+
+    private static OrderFormSummaryDTO summary(Long id, LocalDateTime createdAt) {
+        return new OrderFormSummaryDTO(id, 1L, "产品", 1, "联系人", "13800000000", "a@example.com",
+                OrderForm.OrderStatus.COMPLETED, 0L, createdAt);
+    }
+}
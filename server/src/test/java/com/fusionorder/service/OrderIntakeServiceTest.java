@@ -0,0 +1,199 @@
+package com.fusionorder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.dto.IntakeStatusDTO;
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.Product;
+import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.util.FileJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderIntakeService 单元测试
+ * 覆盖异步写入失败时永久性错误与暂时性错误的处理，以及按受理编号查询受理状态
+ */
+class OrderIntakeServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private final InventoryService inventoryService = mock(InventoryService.class);
+
+    private final IdAllocator idAllocator = mock(IdAllocator.class);
+
+    private OrderIntakeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of());
+        when(idAllocator.next(eq(OrderForm.class), anyInt()))
+                .thenAnswer(invocation -> new long[(int) invocation.getArgument(1)]);
+        ProductDTO product = new ProductDTO();
+        product.setId(1L);
+        product.setName("产品");
+        when(productService.getProductById(1L)).thenReturn(product);
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    void permanentRowErrorIsRejectedAndStockReleased() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        service.accept(order(3));
+
+        service.drain();
+        service.close();
+
+        verify(inventoryService).release(1L, 3);
+        assertThat(pending("orders")).isEmpty();
+        assertThat(pending("rejected")).hasSize(1);
+    }
+
+    @Test
+    void rejectedIntakeIsReportedByRef() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        String ref = service.accept(order(3)).getIntakeRef();
+
+        service.drain();
+
+        assertThat(service.getIntakeStatus(ref).getState()).isEqualTo(IntakeStatusDTO.State.REJECTED);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void intakeRefResolvesToOrderAfterWrite() {
+        OrderFormDTO accepted = service.accept(order(2));
+        String ref = accepted.getIntakeRef();
+
+        assertThat(service.getIntakeStatus(ref).getState()).isEqualTo(IntakeStatusDTO.State.PENDING);
+
+        service.drain();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(ref), eq(ref))).thenReturn(List.of(
+                new IntakeStatusDTO(ref, IntakeStatusDTO.State.CREATED, 42L, OrderForm.OrderStatus.PENDING)));
+
+        IntakeStatusDTO status = service.getIntakeStatus(ref);
+        assertThat(status.getState()).isEqualTo(IntakeStatusDTO.State.CREATED);
+        assertThat(status.getOrderId()).isEqualTo(42L);
+    }
+
+    @Test
+    void unknownIntakeRefIsNotFound() {
+        assertThatThrownBy(() -> service.getIntakeStatus("unknown")).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void pendingRefsSurviveRestart() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new TransientDataAccessResourceException("connection reset"));
+        String ref = service.accept(order(1)).getIntakeRef();
+        service.close();
+
+        OrderIntakeService restarted = newService();
+        try {
+            assertThat(restarted.getIntakeStatus(ref).getState()).isEqualTo(IntakeStatusDTO.State.PENDING);
+        } finally {
+            restarted.close();
+        }
+    }
+
+    @Test
+    void transientErrorKeepsCheckpointForReplay() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new TransientDataAccessResourceException("connection reset"));
+        service.accept(order(3));
+
+        service.drain();
+        service.close();
+
+        verify(inventoryService, never()).release(any(), anyInt());
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        assertThat(pending("orders")).hasSize(1);
+        assertThat(pending("rejected")).isEmpty();
+    }
+
+    @Test
+    void transientErrorDuringRowRetryStopsWithoutRejecting() throws IOException {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new TransientDataAccessResourceException("connection reset"));
+        service.accept(order(3));
+
+        service.drain();
+        service.close();
+
+        verify(inventoryService, never()).release(any(), anyInt());
+        assertThat(pending("orders")).hasSize(1);
+        assertThat(pending("rejected")).isEmpty();
+    }
+
+    private List<String> pending(String name) throws IOException {
+        try (FileJournal journal = new FileJournal(directory, name)) {
+            return journal.readPending(100).records();
+        }
+    }
+
+    private OrderIntakeService newService() throws IOException {
+        OrderIntakeService intake = new OrderIntakeService(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new ObjectMapper().findAndRegisterModules(), productService, mock(OrderStatsService.class),
+                idAllocator, inventoryService, "async", directory.toString(), 100);
+        intake.open();
+        return intake;
+    }
+
+    private static OrderForm order(int quantity) {
+        Product product = new Product();
+        product.setId(1L);
+        OrderForm orderForm = new OrderForm();
+        orderForm.setProduct(product);
+        orderForm.setQuantity(quantity);
+        orderForm.setContactName("联系人");
+        orderForm.setContactPhone("13800000000");
+        return orderForm;
+    }
+}
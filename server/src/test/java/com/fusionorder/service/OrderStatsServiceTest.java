@@ -0,0 +1,234 @@
+package com.fusionorder.service;
+
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.Product;
+import com.fusionorder.exception.BusinessException;
+import com.fusionorder.repository.OrderFormArchiveRepository;
+import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderStatsService 单元测试
+ * 在 H2 的 MySQL 兼容模式下混合执行创建、异步受理写入、单个及批量状态变更、删除和归档，
+ * 比较增量维护的汇总行与全量重建的汇总行
+ */
+class OrderStatsServiceTest {
+
+    private static final String ORDER_COLUMNS = "(id BIGINT PRIMARY KEY, product_id BIGINT NOT NULL, "
+            + "quantity INT NOT NULL, status VARCHAR(20) NOT NULL, version BIGINT NOT NULL, "
+            + "created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL)";
+
+    private static final String INSERT_SQL = "INSERT INTO order_forms "
+            + "(id, product_id, quantity, status, version, created_at, updated_at) VALUES (?, ?, ?, ?, 0, ?, ?)";
+
+    private static final String STATS_SQL = "SELECT stat_date, product_id, status, order_count, total_quantity "
+            + "FROM order_stats_daily WHERE order_count <> 0 OR total_quantity <> 0 "
+            + "ORDER BY stat_date, product_id, status";
+
+    private final OrderFormRepository orderFormRepository = mock(OrderFormRepository.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderStatsService statsService;
+
+    private OrderFormService orderFormService;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE order_forms " + ORDER_COLUMNS);
+        jdbcTemplate.execute("CREATE TABLE order_forms_archive " + ORDER_COLUMNS);
+        jdbcTemplate.execute("CREATE TABLE order_stats_daily (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "stat_date DATE NOT NULL, product_id BIGINT NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "order_count BIGINT NOT NULL, total_quantity BIGINT NOT NULL, updated_at TIMESTAMP NOT NULL, "
+                + "UNIQUE (stat_date, product_id, status))");
+        statsService = new OrderStatsService(jdbcTemplate);
+        orderFormService = new OrderFormService(orderFormRepository, mock(ProductRepository.class), statsService,
+                mock(OrderFormArchiveRepository.class), mock(OrderArchiveService.class), mock(InventoryService.class));
+        stubRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void incrementalRowsMatchRebuildAfterMixedOperations() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 23, 30);
+        for (int step = 0; step < 200; step++) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM order_forms ORDER BY id", Long.class);
+            int op = random.nextInt(100);
+            if (op < 25 || ids.isEmpty()) {
+                create(random, base);
+            } else if (op < 35) {
+                intake(random, base);
+            } else if (op < 65) {
+                OrderForm.OrderStatus target = randomStatus(random);
+                try {
+                    orderFormService.updateOrderFormStatus(ids.get(random.nextInt(ids.size())), target, null);
+                } catch (BusinessException e) {
+                    // 不允许的状态变更不影响统计
+                }
+            } else if (op < 80) {
+                List<Long> chunk = new ArrayList<>();
+                for (Long id : ids) {
+                    if (random.nextInt(3) == 0) {
+                        chunk.add(id);
+                    }
+                }
+                // 混入不存在的ID
+                chunk.add(-1L);
+                orderFormService.updateOrderFormStatuses(chunk, randomStatus(random));
+            } else if (op < 93) {
+                orderFormService.deleteOrderForm(ids.get(random.nextInt(ids.size())));
+            } else {
+                archive(ids.get(random.nextInt(ids.size())));
+            }
+        }
+
+        List<String> incremental = statsRows();
+        statsService.rebuild();
+
+        assertThat(incremental).isNotEmpty();
+        assertThat(incremental).isEqualTo(statsRows());
+    }
+
+    @Test
+    void bulkTransitionCountsEachOrderFromItsOwnSource() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+        long pending = insert(1L, 2, OrderForm.OrderStatus.PENDING, createdAt);
+        long confirmed = insert(1L, 3, OrderForm.OrderStatus.CONFIRMED, createdAt);
+        long completed = insert(1L, 4, OrderForm.OrderStatus.COMPLETED, createdAt);
+        statsService.recordCreated(List.of(fact(pending), fact(confirmed), fact(completed)));
+
+        orderFormService.updateOrderFormStatuses(List.of(pending, confirmed, completed), OrderForm.OrderStatus.CANCELLED);
+
+        List<String> incremental = statsRows();
+        assertThat(incremental).containsExactly(
+                "2026-03-01|1|CANCELLED|2|5",
+                "2026-03-01|1|COMPLETED|1|4");
+        statsService.rebuild();
+        assertThat(statsRows()).isEqualTo(incremental);
+    }
+
+    private void create(Random random, LocalDateTime base) {
+        long id = insert(1L + random.nextInt(3), 1 + random.nextInt(5), OrderForm.OrderStatus.PENDING,
+                base.plusMinutes(random.nextInt(24 * 60)));
+        statsService.recordCreated(List.of(fact(id)));
+    }
+
+    private void intake(Random random, LocalDateTime base) {
+        // 异步受理按批写入后一次记录整批
+        List<OrderStatsService.OrderFact> facts = new ArrayList<>();
+        for (int i = 0, n = 1 + random.nextInt(5); i < n; i++) {
+            long id = insert(1L + random.nextInt(3), 1 + random.nextInt(5), OrderForm.OrderStatus.PENDING,
+                    base.plusMinutes(random.nextInt(24 * 60)));
+            facts.add(fact(id));
+        }
+        statsService.recordCreated(facts);
+    }
+
+    private void archive(long id) {
+        // 归档只搬移订单，统计保持不变
+        jdbcTemplate.update("INSERT INTO order_forms_archive SELECT * FROM order_forms WHERE id = ?", id);
+        jdbcTemplate.update("DELETE FROM order_forms WHERE id = ?", id);
+    }
+
+    private long insert(Long productId, int quantity, OrderForm.OrderStatus status, LocalDateTime createdAt) {
+        long id = nextId++;
+        jdbcTemplate.update(INSERT_SQL, id, productId, quantity, status.name(),
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+        return id;
+    }
+
+    private OrderStatsService.OrderFact fact(long id) {
+        return OrderStatsService.OrderFact.of(load(id).orElseThrow());
+    }
+
+    private static OrderForm.OrderStatus randomStatus(Random random) {
+        OrderForm.OrderStatus[] values = OrderForm.OrderStatus.values();
+        return values[random.nextInt(values.length)];
+    }
+
+    private List<String> statsRows() {
+        return jdbcTemplate.query(STATS_SQL, (rs, rowNum) -> rs.getDate("stat_date") + "|" + rs.getLong("product_id")
+                + "|" + rs.getString("status") + "|" + rs.getLong("order_count") + "|" + rs.getLong("total_quantity"));
+    }
+
+    /**
+     * 以 H2 中的订单表模拟 OrderFormRepository 的条件更新、查询和删除
+     */
+    private void stubRepository(NamedParameterJdbcTemplate named) {
+        when(orderFormRepository.transitionStatus(anyLong(), any(), anyCollection(), isNull(), any()))
+                .thenAnswer(invocation -> named.update("UPDATE order_forms SET status = :status, updated_at = :now, "
+                        + "version = version + 1 WHERE id = :id AND status IN (:sources)", new MapSqlParameterSource()
+                        .addValue("id", invocation.getArgument(0))
+                        .addValue("status", invocation.<OrderForm.OrderStatus>getArgument(1).name())
+                        .addValue("sources", names(invocation.getArgument(2)))
+                        .addValue("now", Timestamp.valueOf(invocation.<LocalDateTime>getArgument(4)))));
+        when(orderFormRepository.transitionStatuses(anyCollection(), any(), anyCollection(), any()))
+                .thenAnswer(invocation -> named.update("UPDATE order_forms SET status = :status, updated_at = :now, "
+                        + "version = version + 1 WHERE id IN (:ids) AND status IN (:sources)", new MapSqlParameterSource()
+                        .addValue("ids", invocation.getArgument(0))
+                        .addValue("status", invocation.<OrderForm.OrderStatus>getArgument(1).name())
+                        .addValue("sources", names(invocation.getArgument(2)))
+                        .addValue("now", Timestamp.valueOf(invocation.<LocalDateTime>getArgument(3)))));
+        when(orderFormRepository.findWithProductById(anyLong())).thenAnswer(invocation -> load(invocation.getArgument(0)));
+        when(orderFormRepository.findForUpdateById(anyLong())).thenAnswer(invocation -> load(invocation.getArgument(0)));
+        when(orderFormRepository.findById(anyLong())).thenAnswer(invocation -> load(invocation.getArgument(0)));
+        doAnswer(invocation -> jdbcTemplate.update("DELETE FROM order_forms WHERE id = ?",
+                invocation.<OrderForm>getArgument(0).getId()))
+                .when(orderFormRepository).delete(any(OrderForm.class));
+    }
+
+    private Optional<OrderForm> load(long id) {
+        return jdbcTemplate.query("SELECT * FROM order_forms WHERE id = ?", (rs, rowNum) -> {
+            Product product = new Product();
+            product.setId(rs.getLong("product_id"));
+            OrderForm orderForm = new OrderForm();
+            orderForm.setId(rs.getLong("id"));
+            orderForm.setProduct(product);
+            orderForm.setQuantity(rs.getInt("quantity"));
+            orderForm.setStatus(OrderForm.OrderStatus.valueOf(rs.getString("status")));
+            orderForm.setVersion(rs.getLong("version"));
+            orderForm.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+            orderForm.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+            return orderForm;
+        }, id).stream().findFirst();
+    }
+
+    private static List<String> names(Collection<OrderForm.OrderStatus> statuses) {
+        return statuses.stream().map(Enum::name).toList();
+    }
+}
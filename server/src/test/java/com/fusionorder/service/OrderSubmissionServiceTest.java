@@ -0,0 +1,134 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.OrderFormDTO;
+import com.fusionorder.dto.OrderLineRequest;
+import com.fusionorder.dto.OrderSubmissionDTO;
+import com.fusionorder.dto.OrderSubmissionRequest;
+import com.fusionorder.entity.OrderForm;
+import com.fusionorder.entity.OrderSubmission;
+import com.fusionorder.entity.Product;
+import com.fusionorder.exception.ConflictException;
+import com.fusionorder.exception.ResourceNotFoundException;
+import com.fusionorder.repository.OrderFormArchiveRepository;
+import com.fusionorder.repository.OrderFormRepository;
+import com.fusionorder.repository.OrderSubmissionRepository;
+import com.fusionorder.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderSubmissionService 单元测试
+ * 覆盖多产品订单的产品校验、库存预占和订单行写入
+ */
+class OrderSubmissionServiceTest {
+
+    private final OrderSubmissionRepository submissionRepository = mock(OrderSubmissionRepository.class);
+
+    private final OrderFormRepository orderFormRepository = mock(OrderFormRepository.class);
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private final OrderStatsService orderStatsService = mock(OrderStatsService.class);
+
+    private final InventoryService inventoryService = mock(InventoryService.class);
+
+    private OrderSubmissionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new OrderSubmissionService(submissionRepository, orderFormRepository,
+                mock(OrderFormArchiveRepository.class), productRepository, orderStatsService, inventoryService);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(1L), product(2L)));
+        when(submissionRepository.save(any(OrderSubmission.class))).thenAnswer(invocation -> {
+            OrderSubmission submission = invocation.getArgument(0);
+            submission.setId(100L);
+            return submission;
+        });
+        when(orderFormRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OrderForm> orders = new ArrayList<>((List<OrderForm>) invocation.getArgument(0));
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(10L + i);
+                orders.get(i).setStatus(OrderForm.OrderStatus.PENDING);
+                orders.get(i).setCreatedAt(LocalDateTime.now());
+            }
+            return orders;
+        });
+    }
+
+    @Test
+    void submitReservesMergedQuantitiesAndSavesAllLines() {
+        OrderSubmissionDTO result = service.submit(request(line(1L, 2, "加急"), line(2L, 1, null), line(1L, 3, null)));
+
+        verify(inventoryService).reserveAll(Map.of(1L, 5, 2L, 1));
+        assertThat(result.getId()).isEqualTo(100L);
+        assertThat(result.getLines()).extracting(OrderFormDTO::getProductId).containsExactly(1L, 2L, 1L);
+        assertThat(result.getLines()).extracting(OrderFormDTO::getSubmissionId).containsOnly(100L);
+        assertThat(result.getLines()).extracting(OrderFormDTO::getRequirements).containsExactly("加急", "整单备注", "整单备注");
+        verify(orderStatsService).recordCreated(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void missingProductFailsBeforeReservingOrWriting() {
+        assertThatThrownBy(() -> service.submit(request(line(1L, 1, null), line(3L, 1, null))))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(productRepository).findAllById(ids.capture());
+        assertThat(ids.getValue()).containsExactly(1L, 3L);
+        verify(inventoryService, never()).reserveAll(any());
+        verify(submissionRepository, never()).save(any());
+        verify(orderFormRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void insufficientStockFailsWithoutWriting() {
+        doThrow(new ConflictException("产品库存不足, productId: 2")).when(inventoryService).reserveAll(any());
+
+        assertThatThrownBy(() -> service.submit(request(line(2L, 1, null)))).isInstanceOf(ConflictException.class);
+
+        verify(submissionRepository, never()).save(any());
+        verify(orderFormRepository, never()).saveAll(anyList());
+    }
+
+    private static OrderSubmissionRequest request(OrderLineRequest... lines) {
+        OrderSubmissionRequest request = new OrderSubmissionRequest();
+        request.setContactName("张三");
+        request.setContactPhone("13800000000");
+        request.setRequirements("整单备注");
+        request.setLines(List.of(lines));
+        return request;
+    }
+
+    private static OrderLineRequest line(Long productId, int quantity, String requirements) {
+        OrderLineRequest line = new OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(quantity);
+        line.setRequirements(requirements);
+        return line;
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("产品" + id);
+        return product;
+    }
+}
@@ -0,0 +1,54 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ProductCache 单元测试
+ */
+class ProductCacheTest {
+
+    private final ProductCache cache = new ProductCache(100, 10, 600);
+
+    @Test
+    void callerChangesDoNotLeakIntoCachedProduct() {
+        ProductDTO first = cache.getProduct(1L, id -> product(id, "原名"));
+        first.setName("被调用方修改");
+
+        assertThat(cache.getProduct(1L, id -> product(id, "重新加载")).getName()).isEqualTo("原名");
+    }
+
+    @Test
+    void listReadsShareCachedListWithoutCopying() {
+        List<ProductDTO> first = cache.getAll(() -> List.of(product(1L, "原名")));
+        List<ProductDTO> second = cache.getAll(List::of);
+
+        assertThat(second).isSameAs(first);
+        assertThatThrownBy(() -> second.add(product(2L, "新增")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void evictDropsProductAndLists() {
+        cache.getProduct(1L, id -> product(id, "原名"));
+        cache.getAll(() -> List.of(product(1L, "原名")));
+
+        cache.evict(1L, "分类");
+
+        assertThat(cache.getProduct(1L, id -> product(id, "新名")).getName()).isEqualTo("新名");
+        assertThat(cache.getAll(List::of)).isEmpty();
+    }
+
+    private static ProductDTO product(Long id, String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setCategory("分类");
+        return dto;
+    }
+}
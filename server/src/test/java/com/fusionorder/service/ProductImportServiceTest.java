@@ -0,0 +1,147 @@
+package com.fusionorder.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fusionorder.dto.ProductImportResult;
+import com.fusionorder.entity.Product;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProductImportService 单元测试
+ * 在 H2 的 MySQL 兼容模式下执行按SKU新增或更新的导入语句
+ */
+class ProductImportServiceTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ProductImportService service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, sku VARCHAR(64) UNIQUE, "
+                + "name VARCHAR(100) NOT NULL, category VARCHAR(50) NOT NULL, price DECIMAL(10, 2) NOT NULL, "
+                + "description TEXT, image_url VARCHAR(255), available BOOLEAN NOT NULL, stock INT, "
+                + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        IdAllocator idAllocator = mock(IdAllocator.class);
+        AtomicLong nextId = new AtomicLong(1);
+        when(idAllocator.next(eq(Product.class), anyInt())).thenAnswer(invocation ->
+                LongStream.range(0, (int) invocation.getArgument(1)).map(i -> nextId.getAndIncrement()).toArray());
+        service = new ProductImportService(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                validatorFactory.getValidator(), new ObjectMapper(), productService, idAllocator, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        validatorFactory.close();
+    }
+
+    @Test
+    void csvImportInsertsNewProductsInBatches() {
+        ProductImportResult result = importCsv("sku,name,category,price,description,image_url,available\n"
+                + "A1,产品A,分类,10.00,描述A,/a.png,false\n"
+                + "B1,产品B,分类,20.00,,,\n"
+                + "C1,产品C,分类,30.00,,,yes\n");
+
+        assertThat(result.getImportedRows()).isEqualTo(3);
+        assertThat(result.getFailedRows()).isZero();
+        assertThat(product("A1")).containsEntry("DESCRIPTION", "描述A").containsEntry("AVAILABLE", false);
+        assertThat(product("B1")).containsEntry("DESCRIPTION", null).containsEntry("AVAILABLE", true);
+        verify(productService).refreshCatalog();
+    }
+
+    @Test
+    void minimalCsvKeepsOptionalColumnsOfExistingProducts() {
+        importCsv("sku,name,category,price,description,image_url,available\n"
+                + "A1,产品A,分类,10.00,描述A,/a.png,false\n");
+
+        ProductImportResult result = importCsv("sku,name,category,price\nA1,新名称,新分类,12.50\n");
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(product("A1"))
+                .containsEntry("NAME", "新名称")
+                .containsEntry("CATEGORY", "新分类")
+                .containsEntry("DESCRIPTION", "描述A")
+                .containsEntry("IMAGE_URL", "/a.png")
+                .containsEntry("AVAILABLE", false);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void emptyCellsKeepExistingValuesAndGivenValuesOverwrite() {
+        importCsv("sku,name,category,price,description,image_url,available\n"
+                + "A1,产品A,分类,10.00,描述A,/a.png,false\n");
+
+        importCsv("sku,name,category,price,description,image_url,available\n"
+                + "A1,产品A,分类,10.00,,/b.png,true\n");
+
+        assertThat(product("A1"))
+                .containsEntry("DESCRIPTION", "描述A")
+                .containsEntry("IMAGE_URL", "/b.png")
+                .containsEntry("AVAILABLE", true);
+    }
+
+    @Test
+    void ndjsonWithoutOptionalFieldsKeepsExistingValues() {
+        importCsv("sku,name,category,price,description,image_url,available\n"
+                + "A1,产品A,分类,10.00,描述A,/a.png,false\n");
+
+        ProductImportResult result = service.importProducts(stream(
+                "{\"sku\":\"A1\",\"name\":\"产品A\",\"category\":\"分类\",\"price\":11}\n"),
+                ProductImportService.Format.NDJSON);
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(product("A1")).containsEntry("DESCRIPTION", "描述A").containsEntry("AVAILABLE", false);
+    }
+
+    @Test
+    void invalidRowsAreReportedWithoutStoppingImport() {
+        ProductImportResult result = importCsv("sku,name,category,price\nA1,产品A,分类,abc\nB1,产品B,分类,5\n");
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getFailedRows()).isEqualTo(1);
+        assertThat(result.getErrors().get(0).getLine()).isEqualTo(2);
+    }
+
+    private ProductImportResult importCsv(String csv) {
+        return service.importProducts(stream(csv), ProductImportService.Format.CSV);
+    }
+
+    private Map<String, Object> product(String sku) {
+        return jdbcTemplate.queryForMap("SELECT name, category, description, image_url, available FROM products "
+                + "WHERE sku = ?", sku);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
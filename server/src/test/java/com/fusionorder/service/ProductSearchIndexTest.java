@@ -0,0 +1,84 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ProductSearchIndex 单元测试
+ */
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex(mock(ProductRepository.class), 200);
+
+    @Test
+    void matchesSubstringInsideWord() {
+        index.index(product(1L, "iPhone 15", "手机", null));
+        index.index(product(2L, "Headphone", "耳机", null));
+        index.index(product(3L, "Pixel", "手机", null));
+
+        assertThat(index.matchingIds("phone")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void scatteredTrigramsDoNotMatch() {
+        index.index(product(1L, "phonone", "配件", null));
+
+        assertThat(index.matchingIds("phone")).isEmpty();
+    }
+
+    @Test
+    void descriptionAndCategoryAreSearched() {
+        index.index(product(1L, "保护套", "配件", "适用于 smartphone"));
+        index.index(product(2L, "数据线", "配件", null));
+
+        assertThat(index.matchingIds("phone")).containsExactly(1L);
+        assertThat(index.matchingIds("配件")).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void pagesAreRankedByScoreThenId() {
+        for (long id = 1; id <= 10; id++) {
+            index.index(product(id, "Cable " + id, "配件", null));
+        }
+        index.index(product(11L, "Charger", "配件", "cable included"));
+
+        ProductSearchIndex.SearchResult first = index.search("cable", 0, 3);
+        ProductSearchIndex.SearchResult second = index.search("cable", 3, 3);
+        ProductSearchIndex.SearchResult tail = index.search("cable", 9, Integer.MAX_VALUE);
+
+        assertThat(first.total()).isEqualTo(11);
+        assertThat(first.items()).extracting(ProductDTO::getId).containsExactly(10L, 9L, 8L);
+        assertThat(second.items()).extracting(ProductDTO::getId).containsExactly(7L, 6L, 5L);
+        assertThat(tail.items()).extracting(ProductDTO::getId).containsExactly(1L, 11L);
+        assertThat(index.search("cable", 20, 5).items()).isEmpty();
+    }
+
+    @Test
+    void bulkChangeIsAppliedToIndexedCopies() {
+        ProductDTO original = product(1L, "iPhone", "手机", null);
+        index.index(original);
+        index.index(product(2L, "Pixel", "手机", null));
+
+        index.update(List.of(1L, 99L), product -> product.setCategory("二手"));
+
+        assertThat(index.matchingIds("二手")).containsExactly(1L);
+        assertThat(index.matchingIds("手机")).containsExactly(2L);
+        assertThat(index.search("iphone", 0, 1).items().get(0).getCategory()).isEqualTo("二手");
+        assertThat(original.getCategory()).isEqualTo("手机");
+    }
+
+    private static ProductDTO product(Long id, String name, String category, String description) {
+        ProductDTO dto = new ProductDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setCategory(category);
+        dto.setDescription(description);
+        return dto;
+    }
+}
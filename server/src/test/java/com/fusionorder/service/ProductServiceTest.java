@@ -0,0 +1,177 @@
+package com.fusionorder.service;
+
+import com.fusionorder.dto.BulkUpdateResult;
+import com.fusionorder.dto.ProductBulkUpdateRequest;
+import com.fusionorder.dto.ProductDTO;
+import com.fusionorder.dto.ProductQuery;
+import com.fusionorder.exception.ValidationException;
+import com.fusionorder.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ProductService 单元测试
+ * 覆盖批量更新的参数校验、按ID分块更新，以及提交后失效缓存、改写搜索索引
+ */
+class ProductServiceTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    private final ProductCache productCache = mock(ProductCache.class);
+
+    private final ProductSearchIndex productSearchIndex = mock(ProductSearchIndex.class);
+
+    private final CatalogVersion catalogVersion = mock(CatalogVersion.class);
+
+    private final ProductService service = new ProductService(productRepository, productCache, productSearchIndex,
+            catalogVersion, mock(InventoryService.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void requiresExactlyOneOfIdsAndFilter() {
+        ProductBulkUpdateRequest neither = request(null, null);
+        ProductBulkUpdateRequest both = request(List.of(1L), filter("分类"));
+        ProductBulkUpdateRequest emptyIds = request(List.of(), null);
+
+        assertThatThrownBy(() -> service.bulkUpdateProducts(neither)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.bulkUpdateProducts(both)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.bulkUpdateProducts(emptyIds)).isInstanceOf(ValidationException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void rejectsEmptyFilterAndMissingChanges() {
+        ProductBulkUpdateRequest emptyFilter = request(null, new ProductQuery());
+        ProductBulkUpdateRequest noChanges = new ProductBulkUpdateRequest();
+        noChanges.setIds(List.of(1L));
+
+        assertThatThrownBy(() -> service.bulkUpdateProducts(emptyFilter))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("筛选条件不能为空");
+        assertThatThrownBy(() -> service.bulkUpdateProducts(noChanges)).isInstanceOf(ValidationException.class);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void updatesDistinctIdsInChunks() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 2500).boxed().toList());
+        ids.add(1L);
+        ids.add(null);
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(productRepository.bulkUpdate(anyCollection(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk.size();
+        });
+
+        BulkUpdateResult result = service.bulkUpdateProducts(request(ids, null));
+
+        assertThat(chunkSizes).containsExactly(1000, 1000, 500);
+        assertThat(result.getMatchedCount()).isEqualTo(2500);
+        assertThat(result.getUpdatedCount()).isEqualTo(2500);
+    }
+
+    @Test
+    void filterSelectsIdsInDatabase() {
+        when(productRepository.findIds(any())).thenReturn(List.of(3L, 4L));
+        when(productRepository.bulkUpdate(anyCollection(), any(), any(), any(), any())).thenReturn(2);
+
+        BulkUpdateResult result = service.bulkUpdateProducts(request(null, filter("旧分类")));
+
+        verify(productRepository).bulkUpdate(eq(List.of(3L, 4L)), eq(new BigDecimal("9.90")), eq(false),
+                eq("新分类"), any());
+        assertThat(result.getMatchedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cacheAndIndexAreUpdatedOnlyAfterCommit() {
+        when(productRepository.findDistinctCategoriesByIdIn(anyList())).thenReturn(List.of("旧分类"));
+        when(productRepository.bulkUpdate(anyCollection(), any(), any(), any(), any())).thenReturn(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.bulkUpdateProducts(request(List.of(1L, 2L), null));
+
+        verify(productCache, never()).evict(anyCollection(), anyCollection());
+        verify(productSearchIndex, never()).update(anyCollection(), any());
+        verify(catalogVersion).bump();
+        commit();
+
+        verify(productCache).evict(List.of(1L, 2L), Set.of("旧分类", "新分类"));
+        ArgumentCaptor<Consumer<ProductDTO>> change = ArgumentCaptor.forClass(Consumer.class);
+        verify(productSearchIndex).update(eq(List.of(1L, 2L)), change.capture());
+        ProductDTO product = new ProductDTO();
+        product.setName("产品");
+        product.setCategory("旧分类");
+        product.setPrice(new BigDecimal("1.00"));
+        product.setAvailable(true);
+        change.getValue().accept(product);
+        assertThat(product.getCategory()).isEqualTo("新分类");
+        assertThat(product.getPrice()).isEqualByComparingTo("9.90");
+        assertThat(product.getAvailable()).isFalse();
+        assertThat(product.getName()).isEqualTo("产品");
+        assertThat(product.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void nothingUpdatedLeavesCacheAndVersionAlone() {
+        when(productRepository.bulkUpdate(anyCollection(), any(), any(), any(), any())).thenReturn(0);
+
+        BulkUpdateResult result = service.bulkUpdateProducts(request(List.of(99L), null));
+
+        assertThat(result.getUpdatedCount()).isZero();
+        verifyNoInteractions(productCache, catalogVersion);
+        verify(productSearchIndex, never()).update(anyCollection(), any());
+    }
+
+    private static ProductBulkUpdateRequest request(List<Long> ids, ProductQuery filter) {
+        ProductBulkUpdateRequest request = new ProductBulkUpdateRequest();
+        request.setIds(ids);
+        request.setFilter(filter);
+        request.setPrice(new BigDecimal("9.90"));
+        request.setAvailable(false);
+        request.setCategory("新分类");
+        return request;
+    }
+
+    private static ProductQuery filter(String category) {
+        ProductQuery query = new ProductQuery();
+        query.setCategory(category);
+        return query;
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fusionorder.service;
+
+import com.fusionorder.entity.TokenRevocation;
+import com.fusionorder.repository.TokenRevocationRepository;
+import com.fusionorder.util.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * TokenRevocationService 单元测试
+ * 覆盖吊销记录在事务提交后才对请求生效
+ */
+class TokenRevocationServiceTest {
+
+    private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(repository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new TokenRevocationService(repository, TimeUnit.MINUTES.toMillis(15));
+        service.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revocationAppliesOnlyAfterCommit() {
+        JwtPrincipal principal = principal("alice", "token-1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.revokeToken(principal);
+
+        assertThat(service.isRevoked(principal)).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(service.isRevoked(principal)).isTrue();
+    }
+
+    @Test
+    void rolledBackUserRevocationIsNotApplied() {
+        JwtPrincipal principal = principal("bob", "token-2");
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.revokeUser("bob");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(service.isRevoked(principal)).isFalse();
+    }
+
+    @Test
+    void revocationWithoutTransactionAppliesImmediately() {
+        JwtPrincipal principal = principal("carol", "token-3");
+
+        service.revokeUser("carol");
+
+        assertThat(service.isRevoked(principal)).isTrue();
+    }
+
+    private static JwtPrincipal principal(String username, String tokenId) {
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(60);
+        return new JwtPrincipal(username, "USER", tokenId, issuedAt, issuedAt.plus(15, ChronoUnit.MINUTES));
+    }
+}
@@ -0,0 +1,134 @@
+package com.fusionorder.service;
+
+import com.fusionorder.entity.TokenRevocation;
+import com.fusionorder.repository.TokenRevocationRepository;
+import com.fusionorder.util.JwtPrincipal;
+import com.fusionorder.util.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * VerifiedTokenCache 单元测试
+ * 覆盖缓存到Token过期时间为止、命中缓存不绕过吊销检查，以及缓存条目数有上限
+ */
+class VerifiedTokenCacheTest {
+
+    private static final long EXPIRATION = TimeUnit.MINUTES.toMillis(15);
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+
+    @Test
+    void repeatedTokenIsParsedOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 100, EXPIRATION);
+        JwtPrincipal principal = principal("token-1", Instant.now().plus(15, ChronoUnit.MINUTES));
+        when(jwtUtil.parseToken("a")).thenReturn(principal);
+
+        assertThat(cache.resolve("a")).isEqualTo(principal);
+        assertThat(cache.resolve("a")).isEqualTo(principal);
+
+        verify(jwtUtil, times(1)).parseToken("a");
+    }
+
+    @Test
+    void entryExpiresAtTokenExp() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 100, EXPIRATION);
+        JwtPrincipal principal = principal("token-1", Instant.now().plusMillis(300));
+        when(jwtUtil.parseToken("a"))
+                .thenReturn(principal)
+                .thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        assertThat(cache.resolve("a")).isEqualTo(principal);
+        assertThat(cache.resolve("a")).isEqualTo(principal);
+
+        // 缓存存活时间取Token剩余有效期而不是 jwt.expiration，过期后重新验签并被拒绝
+        Thread.sleep(400);
+        assertThatThrownBy(() -> cache.resolve("a")).isInstanceOf(ExpiredJwtException.class);
+        verify(jwtUtil, times(2)).parseToken("a");
+    }
+
+    @Test
+    void alreadyExpiredPrincipalIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 100, EXPIRATION);
+        when(jwtUtil.parseToken("a")).thenReturn(principal("token-1", Instant.now().minusSeconds(1)));
+
+        cache.resolve("a");
+        cache.resolve("a");
+
+        verify(jwtUtil, times(2)).parseToken("a");
+    }
+
+    @Test
+    void cachedPrincipalIsStillCheckedForRevocation() {
+        TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        when(repository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TokenRevocationService revocationService = new TokenRevocationService(repository, EXPIRATION);
+        revocationService.load();
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 100, EXPIRATION);
+        when(jwtUtil.parseToken("a")).thenReturn(principal("token-1", Instant.now().plus(15, ChronoUnit.MINUTES)));
+        assertThat(revocationService.isRevoked(cache.resolve("a"))).isFalse();
+
+        revocationService.revokeToken(cache.resolve("a"));
+
+        // 命中缓存返回的身份与首次解析相同，吊销检查照常生效
+        JwtPrincipal cached = cache.resolve("a");
+        assertThat(revocationService.isRevoked(cached)).isTrue();
+        verify(jwtUtil, times(1)).parseToken("a");
+    }
+
+    @Test
+    void invalidateForcesReverification() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 100, EXPIRATION);
+        when(jwtUtil.parseToken("a")).thenReturn(principal("token-1", Instant.now().plus(15, ChronoUnit.MINUTES)));
+
+        cache.resolve("a");
+        cache.invalidate("a");
+        cache.resolve("a");
+
+        verify(jwtUtil, times(2)).parseToken("a");
+    }
+
+    @Test
+    void cacheSizeIsBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, true, 16, EXPIRATION);
+        when(jwtUtil.parseToken(anyString())).thenAnswer(invocation ->
+                principal(invocation.getArgument(0), Instant.now().plus(15, ChronoUnit.MINUTES)));
+
+        for (int i = 0; i < 1000; i++) {
+            cache.resolve("token-" + i);
+        }
+
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(16);
+        assertThat(cache.stats().getEvictionCount()).isGreaterThanOrEqualTo(1000 - 16);
+    }
+
+    @Test
+    void disabledCacheAlwaysParses() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, false, 100, EXPIRATION);
+        when(jwtUtil.parseToken("a")).thenReturn(principal("token-1", Instant.now().plus(15, ChronoUnit.MINUTES)));
+
+        cache.resolve("a");
+        cache.resolve("a");
+
+        verify(jwtUtil, times(2)).parseToken("a");
+        assertThat(cache.stats().getSize()).isZero();
+    }
+
+    private static JwtPrincipal principal(String tokenId, Instant expiresAt) {
+        return new JwtPrincipal("alice", "USER", tokenId, expiresAt.minus(15, ChronoUnit.MINUTES), expiresAt);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdaptivePasswordEncoder 单元测试
+ */
+class AdaptivePasswordEncoderTest {
+
+    private final AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(5);
+
+    @Test
+    void encodedPasswordMatches() {
+        String encoded = encoder.encode("secret");
+
+        assertThat(encoded).startsWith("$2a$05$");
+        assertThat(encoder.matches("secret", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+    }
+
+    @Test
+    void hashWithDifferentCostNeedsUpgrade() {
+        String weaker = new BCryptPasswordEncoder(4).encode("secret");
+        String stronger = new BCryptPasswordEncoder(6).encode("secret");
+
+        assertThat(encoder.matches("secret", weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(stronger)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void nonBcryptValuesAreNotUpgraded() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("plain-text")).isFalse();
+    }
+}
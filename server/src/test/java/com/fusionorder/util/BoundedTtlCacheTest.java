@@ -0,0 +1,127 @@
+package com.fusionorder.util;
+
+import com.fusionorder.dto.CacheStatsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BoundedTtlCache 单元测试
+ */
+class BoundedTtlCacheTest {
+
+    @Test
+    void getOrLoadCachesLoadedValue() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.getOrLoad("a", key -> key + loads.incrementAndGet())).isEqualTo("a1");
+        assertThat(cache.getOrLoad("a", key -> key + loads.incrementAndGet())).isEqualTo("a1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void nullLoadIsNotCached() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+
+        assertThat(cache.getOrLoad("a", key -> null)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>("test", 1, Duration.ofMinutes(1));
+
+        cache.put(1, 1);
+        cache.put(2, 2);
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isEqualTo(2);
+        assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMillis(20));
+
+        cache.put("a", "1");
+        Thread.sleep(40);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.stats().getExpirationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expireAfterAccessKeepsEntriesInUse() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMillis(60), true);
+
+        cache.put("a", "1");
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(30);
+            assertThat(cache.get("a")).isEqualTo("1");
+        }
+        Thread.sleep(120);
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void perEntryTtlIsCappedByDefaultTtl() throws InterruptedException {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMillis(20));
+
+        cache.put("a", "1", Duration.ofHours(1));
+        Thread.sleep(40);
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void putIfAbsentKeepsExistingValue() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+
+        assertThat(cache.putIfAbsent("a", "1")).isNull();
+        assertThat(cache.putIfAbsent("a", "2")).isEqualTo("1");
+        assertThat(cache.get("a")).isEqualTo("1");
+    }
+
+    @Test
+    void removeDuringLoadDiscardsLoadedValue() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+
+        String loaded = cache.getOrLoad("a", key -> {
+            cache.remove("a");
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void removeInOtherSegmentDoesNotDiscardLoad() {
+        BoundedTtlCache<Integer, String> cache = new BoundedTtlCache<>("test", 1024, Duration.ofMinutes(1));
+        // 0 和 1 的哈希落在不同分段
+        cache.getOrLoad(0, key -> {
+            cache.remove(1);
+            return "fresh";
+        });
+
+        assertThat(cache.get(0)).isEqualTo("fresh");
+    }
+
+    @Test
+    void statsReportHitRate() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("b");
+
+        CacheStatsDTO stats = cache.stats();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,54 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CsvReader、CsvWriter 单元测试
+ */
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsEscapedQuotesAndEmbeddedNewlines() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("﻿name,desc\r\n\"a,b\",\"say \"\"hi\"\"\nnext\"\nx,\n"));
+
+        assertThat(reader.readRecord()).containsExactly("name", "desc");
+        assertThat(reader.readRecord()).containsExactly("a,b", "say \"hi\"\nnext");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).containsExactly("x", "");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void lastRecordWithoutLineBreakIsRead() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b"));
+
+        assertThat(reader.readRecord()).containsExactly("a", "b");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void unclosedQuoteFails() {
+        CsvReader reader = new CsvReader(new StringReader("\"abc"));
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class).hasMessageContaining("第1行");
+    }
+
+    @Test
+    void writtenRowsReadBackUnchanged() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter.writeRow(out, "plain", "with,comma", "with \"quote\"", "multi\nline", null, 12);
+
+        assertThat(out.toString()).endsWith("\r\n");
+        List<String> fields = new CsvReader(new StringReader(out.toString())).readRecord();
+        assertThat(fields).containsExactly("plain", "with,comma", "with \"quote\"", "multi\nline", "", "12");
+    }
+}
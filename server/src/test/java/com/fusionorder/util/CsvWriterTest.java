@@ -0,0 +1,49 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CsvWriter 单元测试
+ */
+class CsvWriterTest {
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(row("plain", "a,b", "say \"hi\"", "two\nlines", "cr\rhere", null, 7))
+                .isEqualTo("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\"cr\rhere\",,7\r\n");
+    }
+
+    @Test
+    void plainRowLeavesFormulaCharactersUntouched() throws IOException {
+        assertThat(row("=1+1", "-5")).isEqualTo("=1+1,-5\r\n");
+    }
+
+    @Test
+    void spreadsheetRowNeutralizesFormulaCells() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter.writeSpreadsheetRow(out, "=HYPERLINK(\"http://evil\")", "+1", "-2", "@SUM(A1)", "\tx", "\rx", "普通", "");
+
+        assertThat(out.toString()).isEqualTo(
+                "\"'=HYPERLINK(\"\"http://evil\"\")\",'+1,'-2,'@SUM(A1),'\tx,\"'\rx\",普通,\r\n");
+    }
+
+    @Test
+    void spreadsheetRowKeepsNumbersAsIs() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter.writeSpreadsheetRow(out, -3, new BigDecimal("-1.50"), null);
+
+        assertThat(out.toString()).isEqualTo("-3,-1.50,\r\n");
+    }
+
+    private static String row(Object... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter.writeRow(out, fields);
+        return out.toString();
+    }
+}
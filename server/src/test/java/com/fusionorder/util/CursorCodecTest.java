@@ -0,0 +1,59 @@
+package com.fusionorder.util;
+
+import com.fusionorder.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CursorCodec 单元测试
+ */
+class CursorCodecTest {
+
+    @Test
+    void timeCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+
+        CursorCodec.Cursor cursor = CursorCodec.decode(CursorCodec.encode(createdAt, 42L));
+
+        assertThat(cursor.createdAt()).isEqualTo(createdAt);
+        assertThat(cursor.id()).isEqualTo(42L);
+    }
+
+    @Test
+    void keyCursorRoundTripsAndChecksSortName() {
+        String cursor = CursorCodec.encodeKey("price", "19.90", 7L);
+
+        CursorCodec.KeyCursor decoded = CursorCodec.decodeKey(cursor, "price");
+
+        assertThat(decoded.sortValue()).isEqualTo("19.90");
+        assertThat(decoded.id()).isEqualTo(7L);
+        assertThatThrownBy(() -> CursorCodec.decodeKey(cursor, "name"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("分页游标与排序方式不匹配");
+    }
+
+    @Test
+    void offsetCursorRoundTripsAndDefaultsToZero() {
+        assertThat(CursorCodec.decodeOffset(CursorCodec.encodeOffset(40))).isEqualTo(40);
+        assertThat(CursorCodec.decodeOffset(null)).isZero();
+        assertThat(CursorCodec.decodeOffset("")).isZero();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String negativeOffset = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("o|-1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorCodec.decode("不是游标")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(CursorCodec.encodeOffset(1))).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeKey(CursorCodec.encodeOffset(1), "price"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeOffset(negativeOffset)).isInstanceOf(ValidationException.class);
+    }
+}
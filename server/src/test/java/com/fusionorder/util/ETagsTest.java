@@ -0,0 +1,42 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETags 单元测试
+ */
+class ETagsTest {
+
+    @Test
+    void listETagDependsOnVersionAndParameters() {
+        String etag = ETags.forList(7L, "list", "手机");
+
+        assertThat(etag).startsWith("\"c7-").endsWith("\"");
+        assertThat(ETags.forList(7L, "list", "手机")).isEqualTo(etag);
+        assertThat(ETags.forList(8L, "list", "手机")).isNotEqualTo(etag);
+        assertThat(ETags.forList(7L, "list", "电脑")).isNotEqualTo(etag);
+        assertThat(ETags.forList(7L, "lis", "t手机")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void resourceETagChangesWithUpdateTime() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+
+        assertThat(ETags.forResource(1L, updatedAt)).isEqualTo(ETags.forResource(1L, updatedAt));
+        assertThat(ETags.forResource(1L, updatedAt.plusNanos(1_000))).isNotEqualTo(ETags.forResource(1L, updatedAt));
+        assertThat(ETags.forResource(1L, null)).isEqualTo("\"r1-0\"");
+    }
+
+    @Test
+    void ifNoneMatchSupportsListsWildcardAndWeakTags() {
+        assertThat(ETags.matches("\"a\", \"b\"", "\"b\"")).isTrue();
+        assertThat(ETags.matches("W/\"b\"", "\"b\"")).isTrue();
+        assertThat(ETags.matches("*", "\"b\"")).isTrue();
+        assertThat(ETags.matches("\"a\"", "\"b\"")).isFalse();
+        assertThat(ETags.matches(null, "\"b\"")).isFalse();
+    }
+}
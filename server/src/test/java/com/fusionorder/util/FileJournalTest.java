@@ -0,0 +1,133 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FileJournal 单元测试
+ */
+class FileJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsPendingRecordsInBatches() throws IOException {
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            journal.append("a");
+            journal.append("订单b");
+            journal.append("c");
+
+            FileJournal.Batch first = journal.readPending(2);
+            assertThat(first.records()).containsExactly("a", "订单b");
+            journal.commit(first.endPosition());
+
+            FileJournal.Batch second = journal.readPending(2);
+            assertThat(second.records()).containsExactly("c");
+        }
+    }
+
+    @Test
+    void uncommittedRecordsAreReplayedAfterReopen() throws IOException {
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            journal.append("a");
+            journal.append("b");
+            journal.commit(journal.readPending(1).endPosition());
+        }
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            assertThat(journal.readPending(10).records()).containsExactly("b");
+        }
+    }
+
+    @Test
+    void fullyCommittedJournalIsTruncated() throws IOException {
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            journal.append("a");
+            journal.commit(journal.readPending(10).endPosition());
+
+            assertThat(Files.size(journal.getJournalFile())).isZero();
+            assertThat(journal.pendingBytes()).isZero();
+            journal.append("b");
+            assertThat(journal.readPending(10).records()).containsExactly("b");
+        }
+    }
+
+    @Test
+    void concurrentAppendsShareFsync() throws Exception {
+        int threads = 16;
+        int perThread = 100;
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            try {
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            journal.append(thread + "-" + i);
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            List<String> records = journal.readPending(Integer.MAX_VALUE).records();
+            assertThat(records).hasSize(threads * perThread).doesNotHaveDuplicates();
+            // 每个线程的记录保持追加顺序
+            assertThat(records.stream().filter(record -> record.startsWith("3-")).toList())
+                    .isSortedAccordingTo((a, b) -> Integer.compare(
+                            Integer.parseInt(a.substring(2)), Integer.parseInt(b.substring(2))));
+            assertThat(journal.getSyncCount()).isLessThan(threads * perThread);
+        }
+    }
+
+    @Test
+    void appendAfterCloseFails() throws IOException {
+        FileJournal journal = new FileJournal(directory, "orders");
+        journal.append("a");
+        journal.close();
+
+        assertThatThrownBy(() -> journal.append("b")).isInstanceOf(IOException.class);
+        try (FileJournal reopened = new FileJournal(directory, "orders")) {
+            assertThat(reopened.readPending(10).records()).containsExactly("a");
+        }
+    }
+
+    @Test
+    void tornLastLineIsDiscardedOnOpen() throws IOException {
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            journal.append("a");
+        }
+        Files.writeString(directory.resolve("orders.ndjson"), "{\"half", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        try (FileJournal journal = new FileJournal(directory, "orders")) {
+            assertThat(journal.readPending(10).records()).containsExactly("a");
+            journal.append("b");
+            assertThat(journal.readPending(10).records()).containsExactly("a", "b");
+        }
+    }
+}
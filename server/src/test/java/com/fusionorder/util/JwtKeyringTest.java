@@ -0,0 +1,119 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * JwtKeyring 单元测试
+ * 覆盖密钥持久化、文件权限，以及多个节点共用密钥目录时的轮换与移除
+ */
+class JwtKeyringTest {
+
+    private static final long TOKEN_LIFETIME = TimeUnit.MINUTES.toMillis(15);
+
+    private static final long RELOAD_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void hmacIsDefaultAndDisablesKeyring() {
+        JwtKeyring keyring = new JwtKeyring("HS256", "", TOKEN_LIFETIME, 0, RELOAD_INTERVAL);
+
+        assertThat(keyring.isEnabled()).isFalse();
+    }
+
+    @Test
+    void keysSurviveRestartWhenDirectoryConfigured() throws IOException {
+        JwtKeyring first = keyring();
+        JwtKeyring restarted = keyring();
+
+        assertThat(restarted.active().kid()).isEqualTo(first.active().kid());
+        assertThat(restarted.verificationKey(first.active().kid())).isEqualTo(first.active().publicKey());
+    }
+
+    @Test
+    void keyFilesAreOwnerReadableOnly() throws IOException {
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        JwtKeyring keyring = keyring();
+        keyring.rotate();
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.toList();
+        }
+        assertThat(files).hasSize(2);
+        for (Path file : files) {
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file))).isEqualTo("rw-------");
+        }
+    }
+
+    @Test
+    void nodesSharingDirectorySignWithRotatedKeyAfterRefresh() throws IOException {
+        JwtKeyring rotating = keyring();
+        JwtKeyring other = keyring();
+
+        String kid = rotating.rotate();
+        other.refresh();
+
+        assertThat(other.active().kid()).isEqualTo(kid);
+    }
+
+    @Test
+    void refreshDoesNotRestoreKeysRemovedByOtherNodes() throws IOException {
+        JwtKeyring rotating = keyring();
+        JwtKeyring other = keyring();
+        String retiredKid = rotating.active().kid();
+        rotating.rotate();
+
+        // 模拟轮换节点在保留期过后移除退役密钥文件
+        Files.delete(directory.resolve(retiredKid + ".key"));
+        other.refresh();
+
+        assertThat(directory.resolve(retiredKid + ".key")).doesNotExist();
+        assertThat(other.jwks().get("keys")).asList().hasSize(1);
+    }
+
+    @Test
+    void retiredKeyIsKeptForTokenLifetimePlusReloadInterval() throws IOException {
+        JwtKeyring keyring = keyring(0, RELOAD_INTERVAL);
+        String retiredKid = keyring.active().kid();
+
+        keyring.rotate();
+
+        assertThat(keyring.verificationKey(retiredKid)).isNotNull();
+        assertThat(directory.resolve(retiredKid + ".key")).exists();
+    }
+
+    @Test
+    void retiredKeyIsRemovedAfterRetention() throws IOException {
+        JwtKeyring keyring = keyring(0, 0);
+        String retiredKid = keyring.active().kid();
+
+        keyring.rotate();
+
+        assertThat(directory.resolve(retiredKid + ".key")).doesNotExist();
+        assertThat(keyring.jwks().get("keys")).asList().hasSize(1);
+    }
+
+    private JwtKeyring keyring() throws IOException {
+        return keyring(TOKEN_LIFETIME, RELOAD_INTERVAL);
+    }
+
+    private JwtKeyring keyring(long tokenLifetime, long reloadInterval) throws IOException {
+        JwtKeyring keyring = new JwtKeyring("ES256", directory.toString(), tokenLifetime, 0, reloadInterval);
+        keyring.init();
+        return keyring;
+    }
+}
@@ -0,0 +1,42 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchTokenizer 单元测试
+ */
+class SearchTokenizerTest {
+
+    @Test
+    void substringQueryTokensAreIndexed() {
+        assertThat(SearchTokenizer.indexTokens("iPhone 15").keySet())
+                .containsAll(SearchTokenizer.queryTokens("phone"))
+                .containsAll(SearchTokenizer.queryTokens("IPHONE"));
+    }
+
+    @Test
+    void shortQueryMatchesWordPrefix() {
+        assertThat(SearchTokenizer.queryTokens("ip")).containsExactly("ip");
+        assertThat(SearchTokenizer.indexTokens("iPhone").keySet()).contains("i", "ip");
+    }
+
+    @Test
+    void cjkQueryUsesBigrams() {
+        assertThat(SearchTokenizer.queryTokens("手机壳")).containsExactly("手机", "机壳");
+        assertThat(SearchTokenizer.queryTokens("壳")).containsExactly("壳");
+        assertThat(SearchTokenizer.indexTokens("防摔手机壳").keySet()).contains("手机", "机壳", "壳");
+    }
+
+    @Test
+    void queryWordsAreNormalizedRuns() {
+        assertThat(SearchTokenizer.queryWords("ＡＢＣ-Phone 手机")).containsExactly("abc", "phone", "手机");
+        assertThat(SearchTokenizer.queryTokens("  ,. ")).isEmpty();
+    }
+
+    @Test
+    void repeatedTokensAreCounted() {
+        assertThat(SearchTokenizer.indexTokens("pro pro").get("pro")).isEqualTo(2);
+    }
+}
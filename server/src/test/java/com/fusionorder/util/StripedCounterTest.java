@@ -0,0 +1,131 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StripedCounter 单元测试
+ * 覆盖扣减、清空、并发扣减不超卖，以及整批增加后各分段都有余量可供不同线程扣减
+ */
+class StripedCounterTest {
+
+    @Test
+    void acquireTakesFromAddedAmount() {
+        StripedCounter counter = new StripedCounter(4);
+        counter.add(10);
+
+        assertThat(counter.tryAcquire(7)).isTrue();
+        assertThat(counter.tryAcquire(4)).isFalse();
+        assertThat(counter.sum()).isEqualTo(3);
+    }
+
+    @Test
+    void addSpreadDividesAmountAcrossStripes() {
+        StripedCounter counter = new StripedCounter(4);
+        counter.addSpread(10);
+
+        // 各分段为 3、3、2、2，单个分段最多扣减3
+        assertThat(counter.tryAcquire(4)).isFalse();
+        assertThat(counter.tryAcquire(3)).isTrue();
+        assertThat(counter.tryAcquire(3)).isTrue();
+        assertThat(counter.tryAcquire(3)).isFalse();
+        assertThat(counter.sum()).isEqualTo(4);
+    }
+
+    @Test
+    void threadsAcquireFromOwnStripeAfterSpreadRefill() throws Exception {
+        int threads = 8;
+        int perThread = 100;
+        StripedCounter counter = new StripedCounter(threads);
+        // 模拟某个线程领取一整批库存后放回
+        counter.addSpread((long) threads * perThread);
+        // 整批没有集中在领取线程的分段上
+        assertThat(counter.tryAcquire(perThread + 1)).isFalse();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    // 每个分段恰好有 perThread 个，一次扣减 perThread 只能整段取走
+                    while (counter.tryAcquire(perThread)) {
+                        acquired += perThread;
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(total).isEqualTo(threads * perThread);
+            assertThat(counter.sum()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void drainEmptiesAllStripes() throws Exception {
+        StripedCounter counter = new StripedCounter(8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> counter.add(5)));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.drain()).isEqualTo(20);
+        assertThat(counter.sum()).isZero();
+        assertThat(counter.tryAcquire(1)).isFalse();
+    }
+
+    @Test
+    void concurrentAcquiresNeverOversell() throws Exception {
+        StripedCounter counter = new StripedCounter(16);
+        counter.add(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (counter.tryAcquire(1)) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(total).isEqualTo(1000);
+            assertThat(counter.sum()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
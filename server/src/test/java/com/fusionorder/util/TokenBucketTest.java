@@ -0,0 +1,51 @@
+package com.fusionorder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TokenBucket 单元测试
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void newBucketAllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tokensRefillAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryConsume(SECOND / 2)).isZero();
+    }
+
+    @Test
+    void refillIsCappedByCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        long later = 100 * SECOND;
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isZero();
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void rejectsNonPositiveSettings() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}